@@ -0,0 +1,35 @@
+package com.saket.rxjavasampleapp;
+
+import android.util.Log;
+
+/**
+ * Writes pipeline events to logcat, which is what the samples did before the
+ * {@link EventSink} was introduced.
+ */
+public class LogcatEventSink implements EventSink {
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void event(String tag, String message) {
+        Log.d(tag, message);
+    }
+
+    @Override
+    public void event(String tag, String message, long value) {
+        Log.d(tag, message + value);
+    }
+
+    @Override
+    public void event(String tag, String message, Object value) {
+        Log.d(tag, message + value);
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable throwable) {
+        Log.e(tag, message, throwable);
+    }
+}
@@ -10,6 +10,10 @@ import com.saket.rxjavasampleapp.Observable.CombineObservables;
 import com.saket.rxjavasampleapp.Observable.CreateObservables;
 import com.saket.rxjavasampleapp.Observable.FilterObservables;
 import com.saket.rxjavasampleapp.Observable.TransformObservables;
+import com.saket.rxjavasampleapp.Scheduler.SchedulerInstrumentation;
+import com.saket.rxjavasampleapp.Tracing.OperatorTracing;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 
 /**
  * ReactiveX - An API for Asynchronous programming with Observable streams.
@@ -24,10 +28,24 @@ public class MainActivity extends AppCompatActivity implements
 
     private static final String TAG = "MainActivity";
     TextView mTextView;
+    //Pipelines in the core module report their events here instead of calling Log directly.
+    private final EventSink mEventSink = new LogcatEventSink();
+    //Wraps the standard schedulers to record queueing latency, execution time and worker counts.
+    //The numbers are dumped to mEventSink in onStop.
+    private static final boolean INSTRUMENT_SCHEDULERS = false;
+    //Wraps every operator assembled after onCreate to record items/s and per item processing
+    //time, named by operator and assembly site. Also dumped in onStop.
+    private static final boolean TRACE_OPERATORS = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        if (INSTRUMENT_SCHEDULERS) {
+            SchedulerInstrumentation.install();
+        }
+        if (TRACE_OPERATORS) {
+            OperatorTracing.install();
+        }
         setContentView(R.layout.activity_main);
         mTextView = findViewById(R.id.textView);
         //workWithObservables();
@@ -39,10 +57,13 @@ public class MainActivity extends AppCompatActivity implements
     }
 
     void createFlowables() {
-        CreateFlowable createFlowable = new CreateFlowable();
+        CreateFlowable createFlowable = new CreateFlowable(mEventSink);
         //createFlowable.createFlowableJust();
         //createFlowable.createFlowable();
         //createFlowable.createFlowableFrom();
+        //createFlowable.createFlowableFromChunks(64);
+        //createFlowable.compareBackpressureStrategies();  //blocks, run it off the main thread
+        //createFlowable.createFlowableWithBuffer(CreateFlowable.SourceMode.PRIMITIVE);
         createFlowable.createFlowableWithBuffer();
     }
 
@@ -55,46 +76,74 @@ public class MainActivity extends AppCompatActivity implements
     }
 
     private void createObservables() {
-        CreateObservables createObservables = new CreateObservables();
-        //createObservables.useCreateforObservable(MainActivity.this);
+        CreateObservables createObservables = new CreateObservables(mEventSink, AndroidSchedulers.mainThread());
+        //createObservables.useCreateforObservable(this);
         //createObservables.useJustforObservable();
         //createObservables.useFromforObservable();
         //createObservables.useRangeforObservables(this);
         //createObservables.useTimerforObservable();
         //createObservables.usedelayforObservable();
+        //createObservables.usedeferforObservable();
         createObservables.useintervalforObservable(MainActivity.this);
     }
 
     private void transformObservables() {
-        TransformObservables transformObservables = new TransformObservables();
+        TransformObservables transformObservables = new TransformObservables(mEventSink);
         //transformObservables.useBufferforObservable();
+        //transformObservables.useAdaptiveBufferforObservable();
         //transformObservables.useGroupByforObservables();
+        //transformObservables.useCarBatchforObservable();
+        //transformObservables.useDenseGroupByforObservables();
         //transformObservables.useMapforObservable();
+        //transformObservables.useParallelMapforObservable(4, 64, ParallelRails.Merge.ORDERED);
         //transformObservables.useFlatmapforObservable();
         //transformObservables.useConcatMapforObservable();
+        //transformObservables.useConcatMapEagerforObservable(4, 16);
+        //transformObservables.useScanforObservable();
         transformObservables.useSwitchMapforObservable();
     }
 
     private void filterObservables() {
-        FilterObservables filterObservables = new FilterObservables();
+        FilterObservables filterObservables = new FilterObservables(mEventSink);
         //filterObservables.useDeboucetoFilterEmits();
+        //filterObservables.useCoalescingDebouncetoFilterEmits();
         //filterObservables.useDistinctToFilterEmits();
+        //filterObservables.useBoundedDistinctToFilterEmits();
+        //filterObservables.useParallelFiltertoFilterEmits(4, 64, ParallelRails.Merge.UNORDERED);
         filterObservables.useFiltertoFilterEmits();
     }
 
     private void combineObservables() {
-        CombineObservables combineObservables = new CombineObservables();
+        CombineObservables combineObservables = new CombineObservables(mEventSink);
         //combineObservables.combineUsingCombineLatest();
+        //combineObservables.combineManySourcesUsingCombineLatest(16);
         //combineObservables.useMergeToCombineObservables();
+        //combineObservables.useCollapsedRequestsToCombineObservables();
+        //combineObservables.useJointoCombineObservables();
+        //combineObservables.useSortedMergeToCombineObservables();
         //combineObservables.useConcatToCombineObservables();
+        //combineObservables.useManySourceZipToCombineObservables(16);
         combineObservables.useZipToCombineObservables();
     }
 
     private void useSchedulers() {
-        TestSchedulers testSchedulers = new TestSchedulers();
+        TestSchedulers testSchedulers = new TestSchedulers(mEventSink);
+        //testSchedulers.compareFlatMapExecution(1000, 10);  //blocks, run it off the main thread
+        //testSchedulers.useHashedWheelScheduler();
         testSchedulers.useSchedulersio();
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        if (INSTRUMENT_SCHEDULERS) {
+            SchedulerInstrumentation.dump(mEventSink);
+        }
+        if (TRACE_OPERATORS) {
+            OperatorTracing.dump(mEventSink);
+        }
+    }
+
     @Override
     public void updateUI(String val) {
         mTextView.setText(val);
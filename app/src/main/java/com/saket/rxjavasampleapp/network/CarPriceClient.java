@@ -0,0 +1,88 @@
+package com.saket.rxjavasampleapp.network;
+
+import com.saket.rxjavasampleapp.Observable.RequestCollapser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.ResponseBody;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
+
+/**
+ * Car prices over {@link CarPriceService}, one request per car for the callers, few calls on the
+ * wire: identical requests in flight share one call, and the ids asked for within 10ms go out
+ * together in one GET, up to 50 ids per call (see RequestCollapser in :core).
+ *
+ * <pre>
+ * CarPriceClient client = new CarPriceClient("https://example.com/api/");
+ * client.prices(Arrays.asList(1, 2, 1, 3)).subscribe(...);  //one GET cars/prices?ids=1,2,3
+ * </pre>
+ */
+public class CarPriceClient {
+
+    private final RequestCollapser<Integer, Integer> mPrices;
+
+    public CarPriceClient(String baseUrl) {
+        this(new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                //async calls, the OkHttp dispatcher runs them
+                .addCallAdapterFactory(RxJava3CallAdapterFactory.create())
+                .build()
+                .create(CarPriceService.class));
+    }
+
+    public CarPriceClient(CarPriceService service) {
+        mPrices = new RequestCollapser<>(carIds -> service.prices(join(carIds)).map(CarPriceClient::parse),
+                10, TimeUnit.MILLISECONDS, 50, Schedulers.computation());
+    }
+
+    public Observable<Integer> price(int carId) {
+        return mPrices.get(carId);
+    }
+
+    //Merges one request per car, in the order the responses come in
+    public Observable<Integer> prices(List<Integer> carIds) {
+        List<Observable<Integer>> lstObservables = new ArrayList<>(carIds.size());
+        for (int carId : carIds) {
+            lstObservables.add(price(carId));
+        }
+        return Observable.merge(lstObservables);
+    }
+
+    public RequestCollapser.Report report() {
+        return mPrices.report();
+    }
+
+    private static String join(List<Integer> carIds) {
+        StringBuilder ids = new StringBuilder();
+        for (int carId : carIds) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(carId);
+        }
+        return ids.toString();
+    }
+
+    //"id=price" lines
+    static Map<Integer, Integer> parse(ResponseBody body) throws IOException {
+        Map<Integer, Integer> prices = new HashMap<>();
+        try (ResponseBody closing = body) {
+            for (String line : closing.string().split("\n")) {
+                int separator = line.indexOf('=');
+                if (separator > 0) {
+                    prices.put(Integer.parseInt(line.substring(0, separator).trim()),
+                            Integer.parseInt(line.substring(separator + 1).trim()));
+                }
+            }
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,17 @@
+package com.saket.rxjavasampleapp.network;
+
+import io.reactivex.rxjava3.core.Observable;
+import okhttp3.ResponseBody;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+/**
+ * Retrofit interface of the car price endpoint. The body is one "id=price" line per car, so no
+ * converter is needed on top of the built in ResponseBody one.
+ */
+public interface CarPriceService {
+
+    //ids is a comma separated list of car ids
+    @GET("cars/prices")
+    Observable<ResponseBody> prices(@Query("ids") String ids);
+}
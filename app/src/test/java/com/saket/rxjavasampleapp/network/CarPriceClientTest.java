@@ -0,0 +1,106 @@
+package com.saket.rxjavasampleapp.network;
+
+import com.saket.rxjavasampleapp.Observable.RequestCollapser;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Function;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * CarPriceClient against a fake CarPriceService, no network involved.
+ */
+public class CarPriceClientTest {
+
+    private final List<String> mCalls = new CopyOnWriteArrayList<>();
+
+    //Answers every call with the body built from the ids it was asked for
+    private CarPriceService service(Function<String, String> body) {
+        return ids -> Observable.fromCallable(() -> {
+            mCalls.add(ids);
+            return ids;
+        }).map(asked -> ResponseBody.create(MediaType.get("text/plain"), body.apply(asked)));
+    }
+
+    //"id=price" lines, price = 100 x id
+    private static String prices(String ids) {
+        StringBuilder body = new StringBuilder();
+        for (String id : ids.split(",")) {
+            body.append(id).append('=').append(Integer.parseInt(id) * 100).append("\r\n");
+        }
+        return body.toString();
+    }
+
+    @Test
+    public void prices_joinsDistinctIdsIntoOneCall() {
+        CarPriceClient client = new CarPriceClient(service(CarPriceClientTest::prices));
+
+        List<Integer> prices = new ArrayList<>(client.prices(Arrays.asList(1, 2, 1, 3))
+                .toList()
+                .blockingGet());
+        Collections.sort(prices);
+
+        assertEquals(Arrays.asList(100, 100, 200, 300), prices);
+        assertEquals(Collections.singletonList("1,2,3"), mCalls);
+        RequestCollapser.Report report = client.report();
+        assertEquals(4, report.requests);
+        assertEquals(1, report.deduplicated);
+        assertEquals(1, report.upstreamCalls);
+        assertEquals(3, report.callsSaved());
+    }
+
+    @Test
+    public void prices_splitsMoreThanFiftyIdsIntoSeveralCalls() {
+        CarPriceClient client = new CarPriceClient(service(CarPriceClientTest::prices));
+        List<Integer> carIds = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            carIds.add(i);
+        }
+
+        long count = client.prices(carIds).count().blockingGet();
+
+        assertEquals(120, count);
+        assertEquals(3, mCalls.size());
+        assertEquals(50, mCalls.get(0).split(",").length);
+        assertEquals(117, client.report().callsSaved());
+    }
+
+    @Test
+    public void prices_skipsLinesThatAreNotAnIdAndAPrice() {
+        CarPriceClient client = new CarPriceClient(service(ids ->
+                "\r\n1=100\r\nnot a price\r\n=7\r\n 2 = 200 \r\n\r\n"));
+
+        List<Integer> prices = new ArrayList<>(client.prices(Arrays.asList(1, 2))
+                .toList()
+                .blockingGet());
+        Collections.sort(prices);
+
+        assertEquals(Arrays.asList(100, 200), prices);
+    }
+
+    @Test
+    public void price_failsForAnIdMissingFromTheResponse() {
+        CarPriceClient client = new CarPriceClient(service(ids -> "1=100\n"));
+
+        client.price(3)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(NoSuchElementException.class);
+        client.price(1)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertResult(100);
+    }
+}
@@ -0,0 +1,111 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.LatencyHistogram;
+import com.saket.rxjavasampleapp.Observable.AdaptiveBuffer;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.IterationParams;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Throughput per item of stock buffer(count) against AdaptiveBuffer for a consumer that pays a
+ * fixed cost per batch, over a range of batch sizes; the sweep over maxCount is the throughput
+ * curve. latencyTargetMicros only applies to adaptive (0 = fixed maxCount), stock ignores it.
+ * The item latency percentiles, from the emission of an item to the end of the consumer call
+ * that got it, come out as the latencyP50Micros and latencyP99Micros counters, the mean of the
+ * per iteration percentiles.
+ */
+@State(Scope.Benchmark)
+public class AdaptiveBufferBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    /**
+     * Item latency percentiles of each iteration, reported next to the score. JMH adds the
+     * counters of all iterations up, so each iteration reports its share of the mean.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ItemLatency {
+        public double latencyP50Micros;
+        public double latencyP99Micros;
+
+        final LatencyHistogram mHistogram = new LatencyHistogram();
+        private int mIterations;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams params) {
+            mHistogram.reset();
+            latencyP50Micros = 0;
+            latencyP99Micros = 0;
+            mIterations = params.getCount();
+        }
+
+        void update() {
+            LatencyHistogram.Snapshot snapshot = mHistogram.snapshot();
+            latencyP50Micros = snapshot.percentile(50) / 1000d / mIterations;
+            latencyP99Micros = snapshot.percentile(99) / 1000d / mIterations;
+        }
+    }
+
+    @Param({"stock", "adaptive"})
+    public String operator;
+
+    @Param({"2", "16", "256", "4096"})
+    public int maxCount;
+
+    @Param({"0", "200"})
+    public long latencyTargetMicros;
+
+    //Cost of one consumer call, think of a write
+    @Param({"5"})
+    public long batchCostMicros;
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void batch(ItemLatency latency) {
+        long batchCostNanos = TimeUnit.MICROSECONDS.toNanos(batchCostMicros);
+        //Every item is its emission time, recording its latency also consumes it
+        Observable<Long> source = Observable.range(0, ITEMS).map(i -> System.nanoTime());
+        if (operator.equals("adaptive")) {
+            source.compose(new AdaptiveBuffer<Long>(maxCount, 10_000, TimeUnit.MICROSECONDS,
+                    Schedulers.computation(), 0, null, latencyTargetMicros))
+                    .subscribe(batch -> {
+                        spin(batchCostNanos);
+                        long end = System.nanoTime();
+                        for (int i = 0; i < batch.size(); i++) {
+                            latency.mHistogram.record(end - batch.get(i));
+                        }
+                        batch.release();
+                    });
+        } else {
+            source.buffer(maxCount)
+                    .subscribe(batch -> {
+                        spin(batchCostNanos);
+                        long end = System.nanoTime();
+                        for (int i = 0; i < batch.size(); i++) {
+                            latency.mHistogram.record(end - batch.get(i));
+                        }
+                    });
+        }
+        latency.update();
+    }
+
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            //busy wait
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.CachedSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.functions.Supplier;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * `subscribers` subscribers asking for the same fetch at once, from the computation threads,
+ * through plain defer (one fetch each) or a cold CachedSource (one fetch shared by all). The
+ * fetch blocks for fetchMillis on a backend of backendSlots threads, like calls over a small
+ * connection pool, so plain defer queues subscribers / backendSlots fetches per slot.
+ * Use the sample mode for the time until the last subscriber is done, p0.99 etc.
+ */
+@State(Scope.Benchmark)
+public class CachedSourceBenchmark {
+
+    @Param({"defer", "cached"})
+    public String source;
+
+    @Param({"1000"})
+    public int subscribers;
+
+    @Param({"2"})
+    public long fetchMillis;
+
+    @Param({"4"})
+    public int backendSlots;
+
+    private ExecutorService mBackend;
+    private Supplier<Observable<Integer>> mFetch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mBackend = Executors.newFixedThreadPool(backendSlots);
+        Scheduler backend = Schedulers.from(mBackend);
+        mFetch = () -> Observable.fromCallable(() -> {
+            Thread.sleep(fetchMillis);
+            return 42;
+        }).subscribeOn(backend);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mBackend.shutdown();
+    }
+
+    @Benchmark
+    public void subscribeAll() {
+        //A new cache every time, each invocation starts cold
+        Observable<Integer> fetch = source.equals("cached")
+                ? new CachedSource<>(mFetch, 1, TimeUnit.MINUTES, Schedulers.computation()).observable()
+                : Observable.defer(mFetch);
+        Observable.range(0, subscribers)
+                .flatMap(i -> fetch.subscribeOn(Schedulers.computation()), subscribers)
+                .ignoreElements()
+                .blockingAwait();
+    }
+}
@@ -0,0 +1,87 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.CarBatches;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * 1M cars through price conversion, a price filter and the MODELTYPE price tiers of
+ * TransformObservables, summing the price per tier. perObject is the current shape, one Car per
+ * onNext and groupBy per car; batched uses CarBatch columns of batchSize cars.
+ */
+@State(Scope.Benchmark)
+public class CarBatchBenchmark {
+
+    //Same fields as the Car classes of the demos, which are private to them
+    static final class Car {
+        final String carModel;
+        final int carPrice;
+
+        Car(String model, int price) {
+            carModel = model;
+            carPrice = price;
+        }
+    }
+
+    @Param({"1000000"})
+    public int cars;
+
+    @Param({"256", "4096"})
+    public int batchSize;
+
+    private List<Car> mCars;
+    private String[] mModels;
+    private int[] mPrices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mCars = new ArrayList<>(cars);
+        mModels = new String[cars];
+        mPrices = new int[cars];
+        for (int i = 0; i < cars; i++) {
+            String model = "Model " + i;
+            int price = i % 10_000;
+            mCars.add(new Car(model, price));
+            mModels[i] = model;
+            mPrices[i] = price;
+        }
+    }
+
+    @Benchmark
+    public long[] perObject() {
+        long[] totals = new long[3];
+        Observable.fromIterable(mCars)
+                .map(car -> new Car(car.carModel, car.carPrice * 25))
+                .filter(car -> car.carPrice % 2 == 0)
+                .groupBy(car -> car.carPrice < 5000 * 25 ? 0 : car.carPrice < 8000 * 25 ? 1 : 2)
+                .flatMapSingle(group -> group
+                        .reduce(0L, (sum, car) -> sum + car.carPrice)
+                        .doOnSuccess(sum -> totals[group.getKey()] = sum))
+                .blockingSubscribe();
+        return totals;
+    }
+
+    @Benchmark
+    public long[] batched() {
+        long[] totals = new long[3];
+        CarBatches.fromArrays(mModels, mPrices, batchSize)
+                .compose(CarBatches.mapPrices(price -> price * 25))
+                .compose(CarBatches.filterPrices(price -> price % 2 == 0))
+                .compose(CarBatches.groupByPriceTier(5000 * 25, 8000 * 25))
+                .flatMapSingle(group -> group
+                        .to(CarBatches.sumPrices())
+                        .doOnSuccess(sum -> totals[group.getKey()] = sum))
+                .blockingSubscribe();
+        return totals;
+    }
+}
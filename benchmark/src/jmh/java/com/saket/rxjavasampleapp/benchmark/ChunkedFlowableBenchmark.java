@@ -0,0 +1,57 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Flowable.ChunkedFlowables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Per element Flowable.fromArray(sampleData) as in {@code CreateFlowable.createFlowableFrom}
+ * versus the chunked variant, for the same map/filter/reduce pipeline.
+ */
+@State(Scope.Benchmark)
+public class ChunkedFlowableBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"16", "256", "4096"})
+    public int chunkSize;
+
+    private Integer[] mBoxedSamples;
+    private int[] mSamples;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mBoxedSamples = new Integer[size];
+        mSamples = new int[size];
+        for (int i = 0; i < size; i++) {
+            mBoxedSamples[i] = i;
+            mSamples[i] = i;
+        }
+    }
+
+    @Benchmark
+    public Integer perElement() {
+        return Flowable.fromArray(mBoxedSamples)
+                .map(value -> value * 25)
+                .filter(value -> value % 2 == 0)
+                .reduce(0, Integer::sum)
+                .blockingGet();
+    }
+
+    @Benchmark
+    public Integer chunked() {
+        return ChunkedFlowables.fromArray(mSamples, chunkSize)
+                .compose(ChunkedFlowables.map(value -> value * 25))
+                .compose(ChunkedFlowables.filter(value -> value % 2 == 0))
+                .to(ChunkedFlowables.reduce(0, Integer::sum))
+                .blockingGet();
+    }
+}
@@ -0,0 +1,98 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.Coalesce;
+import com.saket.rxjavasampleapp.Scheduler.InstrumentedScheduler;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.IterationParams;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * CPU cost per item on the upstream thread of debounce, throttleLatest and sample, stock
+ * against Coalesce. Each invocation pushes 100K items, one second worth of input at 100K
+ * items/s, as fast as possible; the timers run on computation(). Stock debounce pays for a
+ * timer insert and cancel per item here. The scheduledTasks counter is the mean number of
+ * timer tasks one invocation scheduled.
+ */
+@State(Scope.Benchmark)
+public class CoalesceBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    /**
+     * Timer tasks scheduled per invocation, reported next to the score. JMH adds the counters of
+     * all iterations up, so each iteration reports its share of the mean.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Timers {
+        public double scheduledTasks;
+
+        private long mTasks;
+        private long mInvocations;
+        private int mIterations;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams params) {
+            scheduledTasks = 0;
+            mTasks = 0;
+            mInvocations = 0;
+            mIterations = params.getCount();
+        }
+
+        void add(long tasks) {
+            mTasks += tasks;
+            mInvocations++;
+            scheduledTasks = (double) mTasks / mInvocations / mIterations;
+        }
+    }
+
+    //Only counts, the timers still run on computation()
+    private final InstrumentedScheduler mTimers = new InstrumentedScheduler("timers", Schedulers.computation());
+
+    @Param({"DEBOUNCE", "THROTTLE_LATEST", "SAMPLE"})
+    public Coalesce.Mode mode;
+
+    @Param({"stock", "coalescing"})
+    public String operator;
+
+    private ObservableTransformer<Integer, Integer> transformer() {
+        if (operator.equals("coalescing")) {
+            return new Coalesce<>(mode, 50, TimeUnit.MILLISECONDS, mTimers);
+        }
+        switch (mode) {
+            case DEBOUNCE:
+                return upstream -> upstream.debounce(50, TimeUnit.MILLISECONDS, mTimers);
+            case THROTTLE_LATEST:
+                return upstream -> upstream.throttleLatest(50, TimeUnit.MILLISECONDS, mTimers);
+            default:
+                return upstream -> upstream.sample(50, TimeUnit.MILLISECONDS, mTimers);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void push(Timers timers, Blackhole bh) {
+        long submitted = mTimers.snapshot().submitted;
+        PublishSubject<Integer> subject = PublishSubject.create();
+        subject.compose(transformer()).subscribe(bh::consume);
+        for (int i = 0; i < ITEMS; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+        timers.add(mTimers.snapshot().submitted - submitted);
+    }
+}
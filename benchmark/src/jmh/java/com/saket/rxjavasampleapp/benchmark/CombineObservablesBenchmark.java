@@ -0,0 +1,46 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * Pipeline shapes from {@code CombineObservables}. Each benchmark combines the two halves
+ * of the input, so every benchmark handles the same number of elements.
+ */
+public class CombineObservablesBenchmark {
+
+    @Benchmark
+    public void merge(ElementSource source, Blackhole bh) {
+        Observable.merge(Observable.fromArray(source.firstHalf),
+                Observable.fromArray(source.secondHalf))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void concat(ElementSource source, Blackhole bh) {
+        Observable.concat(Observable.fromArray(source.firstHalf),
+                Observable.fromArray(source.secondHalf))
+                .subscribe(bh::consume);
+    }
+
+    //Same shape as useZipToCombineObservables: a list of sources and an Object[] combiner.
+    @Benchmark
+    public void zip(ElementSource source, Blackhole bh) {
+        Observable.zip(Arrays.asList(Observable.fromArray(source.firstHalf),
+                Observable.fromArray(source.secondHalf)),
+                objects -> (Integer) objects[0] + (Integer) objects[1])
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void combineLatest(ElementSource source, Blackhole bh) {
+        Observable.combineLatest(Observable.fromArray(source.firstHalf),
+                Observable.fromArray(source.secondHalf),
+                (first, second) -> first + second)
+                .subscribe(bh::consume);
+    }
+}
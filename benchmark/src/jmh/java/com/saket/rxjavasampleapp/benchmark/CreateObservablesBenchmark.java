@@ -0,0 +1,25 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * Pipeline shapes from {@code CreateObservables}: creating an observable from an iterable or
+ * an array and draining it.
+ */
+public class CreateObservablesBenchmark {
+
+    @Benchmark
+    public void fromIterable(ElementSource source, Blackhole bh) {
+        Observable.fromIterable(source.list)
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void fromArray(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .subscribe(bh::consume);
+    }
+}
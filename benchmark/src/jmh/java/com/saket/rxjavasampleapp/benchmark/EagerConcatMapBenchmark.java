@@ -0,0 +1,73 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.EagerConcatMap;
+import com.saket.rxjavasampleapp.SimulatedWork;
+import com.saket.rxjavasampleapp.benchmark.CarBatchBenchmark.Car;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Function;
+
+/**
+ * CARS cars, each gets a price update after 0-4ms of simulated work; setUp seeds the delays, so
+ * every operator sees the same ones. concatMap takes the sum of the delays, the others about
+ * sum / maxConcurrency; flatMap emits out of order, the eager variants in order. Use the sample
+ * mode for the time per run.
+ */
+@State(Scope.Benchmark)
+public class EagerConcatMapBenchmark {
+
+    private static final int CARS = 64;
+
+    @Param({"concatMap", "flatMap", "eager", "stockEager"})
+    public String operator;
+
+    @Param({"8"})
+    public int maxConcurrency;
+
+    @Param({"16"})
+    public int maxBuffered;
+
+    private int[] mDelays;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        mDelays = new int[CARS];
+        for (int i = 0; i < CARS; i++) {
+            mDelays[i] = random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public List<Car> convertCars() {
+        Function<Integer, Observable<Car>> inner = i ->
+                SimulatedWork.after(new Car("Model " + i, 1000 * i + 25), mDelays[i]);
+        Observable<Integer> source = Observable.range(0, CARS);
+        Observable<Car> cars;
+        switch (operator) {
+            case "concatMap":
+                cars = source.concatMap(inner);
+                break;
+            case "flatMap":
+                cars = source.flatMap(inner, maxConcurrency);
+                break;
+            case "eager":
+                cars = source.compose(new EagerConcatMap<>(inner, maxConcurrency, maxBuffered));
+                break;
+            default:
+                cars = source.concatMapEager(inner, maxConcurrency, 1);
+                break;
+        }
+        return cars.toList().blockingGet();
+    }
+}
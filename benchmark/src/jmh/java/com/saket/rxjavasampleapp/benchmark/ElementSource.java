@@ -0,0 +1,39 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shared input for the operator benchmarks.
+ * The elements are boxed once per trial so that the benchmarks measure the cost of the
+ * operator chain and not the cost of building the input.
+ */
+@State(Scope.Benchmark)
+public class ElementSource {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    public Integer[] array;
+    public List<Integer> list;
+    //First and second half of the input, used by the combine benchmarks.
+    public Integer[] firstHalf;
+    public Integer[] secondHalf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        array = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i;
+        }
+        list = Arrays.asList(array);
+        firstHalf = Arrays.copyOfRange(array, 0, size / 2);
+        secondHalf = Arrays.copyOfRange(array, size / 2, size);
+    }
+}
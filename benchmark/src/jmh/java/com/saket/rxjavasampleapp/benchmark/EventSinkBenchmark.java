@@ -0,0 +1,36 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.EventSink;
+import com.saket.rxjavasampleapp.NoOpEventSink;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * Cost of per element logging with logging disabled: building the message eagerly (what the
+ * samples did with Log.d) versus passing the value to the {@link EventSink}.
+ */
+@State(Scope.Benchmark)
+public class EventSinkBenchmark {
+
+    private static final String TAG = "EventSinkBenchmark";
+    private final EventSink mEventSink = NoOpEventSink.INSTANCE;
+
+    @Benchmark
+    public void concatenatedMessage(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .doOnNext(integer -> mEventSink.event(TAG, "onNext: " + integer))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void deferredMessage(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .doOnNext(integer -> mEventSink.event(TAG, "onNext: ", integer))
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,64 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.DistinctKeySets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Pipeline shapes from {@code FilterObservables}.
+ */
+public class FilterObservablesBenchmark {
+
+    //Every value is seen twice, so half of the elements are filtered out as duplicates.
+    @Benchmark
+    public void distinct(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .distinct(value -> value >> 1)
+                .subscribe(bh::consume);
+    }
+
+    //Same input with bounded key sets. Each remembers 1024 keys, enough for adjacent duplicates,
+    //so they emit the same items as distinct() (bloom drops ~1% more) while their memory stays
+    //flat for any size.
+    @Benchmark
+    public void distinctLru(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .distinct(value -> value >> 1, DistinctKeySets.lru(1024))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void distinctTtl(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .distinct(value -> value >> 1,
+                        DistinctKeySets.ttl(1, TimeUnit.SECONDS, Schedulers.computation(), 1024))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void distinctInts(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .distinct(value -> value >> 1, DistinctKeySets.ints(1024))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void distinctBloom(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .distinct(value -> value >> 1, DistinctKeySets.bloom(1024, 0.01))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void filter(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .filter(value -> value % 2 == 0)
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,111 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.IncrementalStats;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * Sliding window mean, min, max and variance of 1M car prices. incremental is
+ * IncrementalStats.over(window): O(1) per price, no allocation. recompute is the usual immutable
+ * scan: every price copies the window into a new state and recomputes the stats over it, so
+ * O(window) per price and a window sized array per price. Throughput is per price; run with
+ * -prof gc to see the allocation side.
+ */
+@State(Scope.Benchmark)
+public class IncrementalStatsBenchmark {
+
+    private static final int PRICES = 1_000_000;
+
+    @Param({"16", "256", "4096"})
+    public int window;
+
+    private Observable<Integer> mPrices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Integer[] prices = new Integer[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            prices[i] = 1000 + random.nextInt(9000);
+        }
+        mPrices = Observable.fromArray(prices);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRICES)
+    public void incremental(Blackhole bh) {
+        mPrices.compose(IncrementalStats.over(window))
+                .subscribe(stats -> {
+                    bh.consume(stats.windowMean());
+                    bh.consume(stats.windowMin());
+                    bh.consume(stats.windowMax());
+                    bh.consume(stats.windowVariance());
+                });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRICES)
+    public void recompute(Blackhole bh) {
+        mPrices.scan(new RecomputedStats(new int[0]), (stats, price) -> stats.add(price, window))
+                .skip(1)
+                .subscribe(stats -> {
+                    bh.consume(stats.mMean);
+                    bh.consume(stats.mMin);
+                    bh.consume(stats.mMax);
+                    bh.consume(stats.mVariance);
+                });
+    }
+
+    //Immutable window state, built from scratch for every price
+    static final class RecomputedStats {
+        final int[] mValues;
+        final double mMean;
+        final int mMin;
+        final int mMax;
+        final double mVariance;
+
+        RecomputedStats(int[] values) {
+            mValues = values;
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int value : values) {
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            double mean = values.length == 0 ? 0 : (double) sum / values.length;
+            double squares = 0;
+            for (int value : values) {
+                squares += (value - mean) * (value - mean);
+            }
+            mMean = mean;
+            mMin = min;
+            mMax = max;
+            mVariance = values.length == 0 ? 0 : squares / values.length;
+        }
+
+        RecomputedStats add(int price, int window) {
+            int[] values;
+            if (mValues.length < window) {
+                values = Arrays.copyOf(mValues, mValues.length + 1);
+            } else {
+                values = new int[window];
+                System.arraycopy(mValues, 1, values, 0, window - 1);
+            }
+            values[values.length - 1] = price;
+            return new RecomputedStats(values);
+        }
+    }
+}
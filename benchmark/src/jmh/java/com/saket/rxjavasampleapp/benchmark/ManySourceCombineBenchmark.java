@@ -0,0 +1,90 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.ManySourceCombine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * zip and combineLatest over 2 to 64 interleaved sources, like sensor streams: the same 64K
+ * items per invocation, handed to the sources round robin. Throughput is per item. stock is the
+ * Observable.zip / combineLatest(Iterable, Function) of useZipToCombineObservables, many is
+ * ManySourceCombine with a new array per row, manyReuse with one reused array.
+ */
+@State(Scope.Benchmark)
+public class ManySourceCombineBenchmark {
+
+    private static final int ITEMS = 1 << 16;
+
+    @Param({"2", "4", "8", "16", "32", "64"})
+    public int sources;
+
+    @Param({"stock", "many", "manyReuse"})
+    public String operator;
+
+    private Integer[] mValues;
+
+    @Setup
+    public void setUp() {
+        mValues = new Integer[ITEMS / sources];
+        for (int i = 0; i < mValues.length; i++) {
+            mValues[i] = i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void zip(Blackhole bh) {
+        run(bh, true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void combineLatest(Blackhole bh) {
+        run(bh, false);
+    }
+
+    private void run(Blackhole bh, boolean zip) {
+        List<PublishSubject<Integer>> subjects = new ArrayList<>(sources);
+        for (int i = 0; i < sources; i++) {
+            subjects.add(PublishSubject.create());
+        }
+        Function<Object[], Integer> sum = row -> {
+            int total = 0;
+            for (Object value : row) {
+                total += (Integer) value;
+            }
+            return total;
+        };
+        Observable<Integer> combined;
+        if (operator.equals("stock")) {
+            combined = zip ? Observable.zip(subjects, sum) : Observable.combineLatest(subjects, sum);
+        } else {
+            boolean reuse = operator.equals("manyReuse");
+            combined = zip ? ManySourceCombine.zip(subjects, sum, reuse)
+                    : ManySourceCombine.combineLatest(subjects, sum, reuse);
+        }
+        combined.subscribe(bh::consume);
+
+        for (Integer value : mValues) {
+            for (PublishSubject<Integer> subject : subjects) {
+                subject.onNext(value);
+            }
+        }
+        for (PublishSubject<Integer> subject : subjects) {
+            subject.onComplete();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Flowable.ParallelRails;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Scaling of a CPU heavy price conversion over 1, 2, 4, 8 and N (available processors, the 0
+ * param) rails, with ordered and unordered merge. Throughput is reported per converted item.
+ * The serial baseline is the plain map.
+ */
+@State(Scope.Benchmark)
+public class ParallelRailsBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    @Param({"1", "2", "4", "8", "0"})
+    public int rails;
+
+    @Param({"ORDERED", "UNORDERED"})
+    public ParallelRails.Merge merge;
+
+    @Param({"64"})
+    public int prefetch;
+
+    //Iterations of the conversion per item
+    @Param({"1000"})
+    public int work;
+
+    private ParallelRails mRails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int railCount = rails == 0 ? Runtime.getRuntime().availableProcessors() : rails;
+        mRails = new ParallelRails(railCount, prefetch, Schedulers.computation(), merge);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public Integer serialMap() {
+        return Flowable.range(0, ITEMS)
+                .map(this::convert)
+                .blockingLast();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public Integer parallelMap() {
+        return Flowable.range(0, ITEMS)
+                .compose(mRails.<Integer, Integer>map(this::convert))
+                .blockingLast();
+    }
+
+    private int convert(int price) {
+        int result = price;
+        for (int i = 0; i < work; i++) {
+            result = result * 31 + i;
+            result ^= result >>> 7;
+        }
+        return result;
+    }
+}
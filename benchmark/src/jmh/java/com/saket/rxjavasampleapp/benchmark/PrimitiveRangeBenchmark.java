@@ -0,0 +1,51 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Flowable.PrimitiveFlowables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * The two source modes of {@code CreateFlowable.createFlowableWithBuffer}: boxing the range
+ * into a list versus the chunked primitive range. Run with the gc profiler to compare the
+ * allocation rate.
+ */
+@State(Scope.Benchmark)
+public class PrimitiveRangeBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"64", "256", "4096"})
+    public int chunkSize;
+
+    @Benchmark
+    public void boxedRange(Blackhole bh) {
+        List<Integer> testList = IntStream.range(0, size)
+                .boxed()
+                .collect(Collectors.toList());
+        Observable.fromIterable(testList)
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void primitiveRange(Blackhole bh) {
+        PrimitiveFlowables.intRange(0, size, chunkSize)
+                .subscribe(PrimitiveFlowables.forEachInt(bh::consume));
+    }
+
+    @Benchmark
+    public void primitiveLongRange(Blackhole bh) {
+        PrimitiveFlowables.longRange(0, size, chunkSize)
+                .subscribe(PrimitiveFlowables.forEachLong(bh::consume));
+    }
+}
@@ -0,0 +1,83 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Scheduler.ForkJoinScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * ForkJoinScheduler versus Schedulers.computation() and Schedulers.io() for a CPU bound map and
+ * a fan out flatMap where every element gets its own inner source.
+ */
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+    @Param({"forkjoin", "computation", "io"})
+    public String scheduler;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    //Iterations of the CPU bound function per element
+    @Param({"100"})
+    public int work;
+
+    private Scheduler mScheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (scheduler) {
+            case "forkjoin":
+                mScheduler = new ForkJoinScheduler(Runtime.getRuntime().availableProcessors());
+                break;
+            case "computation":
+                mScheduler = Schedulers.computation();
+                break;
+            default:
+                mScheduler = Schedulers.io();
+                break;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (mScheduler instanceof ForkJoinScheduler) {
+            mScheduler.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Integer cpuBoundMap() {
+        return Observable.range(0, size)
+                .subscribeOn(mScheduler)
+                .map(this::cpuWork)
+                .observeOn(mScheduler)
+                .blockingLast();
+    }
+
+    @Benchmark
+    public Integer fanOutFlatMap() {
+        return Observable.range(0, size)
+                .flatMap(value -> Observable.fromCallable(() -> cpuWork(value))
+                        .subscribeOn(mScheduler))
+                .blockingLast();
+    }
+
+    private int cpuWork(int value) {
+        int result = value;
+        for (int i = 0; i < work; i++) {
+            result = result * 31 + i;
+            result ^= result >>> 7;
+        }
+        return result;
+    }
+}
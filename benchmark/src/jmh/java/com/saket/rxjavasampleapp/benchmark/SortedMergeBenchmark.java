@@ -0,0 +1,68 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Flowable.SortedMerge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * 10M elements spread over 2 to 128 sorted sources, source i emitting i, i + sources, ...
+ * sortedMerge streams them through SortedMerge, collectThenSort is what a consumer of the
+ * arrival order merge has to do today: collect everything, sort, then emit. Throughput is per
+ * element; the gc profiler shows the memory side, 10M boxed elements held against
+ * sources x prefetch.
+ */
+@State(Scope.Benchmark)
+public class SortedMergeBenchmark {
+
+    private static final int ELEMENTS = 10_000_000;
+
+    @Param({"2", "8", "32", "128"})
+    public int sources;
+
+    @Param({"128"})
+    public int prefetch;
+
+    private List<Flowable<Integer>> mSources;
+
+    @Setup
+    public void setUp() {
+        mSources = new ArrayList<>(sources);
+        int perSource = ELEMENTS / sources;
+        for (int i = 0; i < sources; i++) {
+            int source = i;
+            mSources.add(Flowable.range(0, perSource).map(j -> j * sources + source));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void sortedMerge(Blackhole bh) {
+        SortedMerge.merge(mSources, Comparator.<Integer>naturalOrder(), prefetch)
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public void collectThenSort(Blackhole bh) {
+        Flowable.merge(mSources)
+                .toList()
+                .flattenAsFlowable(list -> {
+                    Collections.sort(list);
+                    return list;
+                })
+                .subscribe(bh::consume);
+    }
+}
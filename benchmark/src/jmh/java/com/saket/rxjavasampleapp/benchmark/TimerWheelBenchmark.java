@@ -0,0 +1,74 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Scheduler.HashedWheelScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Cost of scheduling and cancelling a delayed task on HashedWheelScheduler versus
+ * Schedulers.computation() while `pending` other timers are waiting, like a flatMap with tens
+ * of thousands of inner delay()s in flight. The pending timers are due in one hour so none of
+ * them fires during the run.
+ */
+@State(Scope.Benchmark)
+public class TimerWheelBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"wheel", "computation"})
+    public String scheduler;
+
+    @Param({"0", "100000"})
+    public int pending;
+
+    private static final Runnable NOOP = () -> { };
+
+    private Scheduler mScheduler;
+    private Scheduler.Worker mWorker;
+    private final Disposable[] mBatch = new Disposable[BATCH];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mScheduler = scheduler.equals("wheel")
+                ? new HashedWheelScheduler(1, TimeUnit.MILLISECONDS)
+                : Schedulers.computation();
+        mWorker = mScheduler.createWorker();
+        for (int i = 0; i < pending; i++) {
+            //spread over the hour, so the heap and the wheel buckets are both populated
+            mWorker.schedule(NOOP, 3_600_000 + i, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mWorker.dispose();
+        if (mScheduler instanceof HashedWheelScheduler) {
+            mScheduler.shutdown();
+        }
+    }
+
+    //What delay() and timeout() do for every item that gets disposed before it fires
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void scheduleThenCancel() {
+        for (int i = 0; i < BATCH; i++) {
+            mBatch[i] = mWorker.schedule(NOOP, 10 + i, TimeUnit.SECONDS);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            mBatch[i].dispose();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.DenseGroupBy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.internal.functions.Functions;
+import io.reactivex.rxjava3.internal.observers.LambdaObserver;
+
+/**
+ * Pipeline shapes from {@code TransformObservables}. The simulated work (sleeps and delays)
+ * of the demos is left out, so only the operator overhead per element is measured.
+ */
+public class TransformObservablesBenchmark {
+
+    @Benchmark
+    public void map(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .map(price -> price * 25)
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void flatMap(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .flatMap(price -> Observable.just(price + 25))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void concatMap(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .concatMap(price -> Observable.just(price + 25))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void switchMap(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .switchMap(price -> Observable.just(price + 25))
+                .subscribe(bh::consume);
+    }
+
+    //Same three price tiers as useGroupByforObservables
+    @Benchmark
+    public void groupBy(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .groupBy(price -> price % 10 < 5 ? 0 : price % 10 < 8 ? 1 : 2)
+                .flatMap(group -> group)
+                .subscribe(bh::consume);
+    }
+
+    //Same tiers routed by array index to one Observer per tier. The groupBy above still pays for
+    //the boxed key, the HashMap lookup and the queue of each group; the gc profiler's
+    //alloc.rate.norm shows the difference per element.
+    @Benchmark
+    public void denseGroupBy(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .subscribe(new DenseGroupBy<Integer>(3,
+                        price -> price % 10 < 5 ? 0 : price % 10 < 8 ? 1 : 2,
+                        key -> new LambdaObserver<>(bh::consume, Functions.ON_ERROR_MISSING,
+                                Functions.EMPTY_ACTION, Functions.emptyConsumer())));
+    }
+
+    @Benchmark
+    public void buffer(ElementSource source, Blackhole bh) {
+        Observable.fromArray(source.array)
+                .buffer(2)
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,53 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Scheduler.VirtualThreadScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * 10K+ concurrent blocking inner sources (the useSchedulersio shape) on virtual threads versus
+ * the elastic io() pool. Run with the gc profiler for the memory side.
+ *
+ * Virtual threads need the forked JVM to be Java 21+, otherwise "virtual" falls back to io()
+ * and both rows measure the same thing.
+ */
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    @Param({"virtual", "io"})
+    public String scheduler;
+
+    @Param({"10000", "50000"})
+    public int concurrentSources;
+
+    //How long each inner source blocks
+    @Param({"20"})
+    public long blockMillis;
+
+    private Scheduler mScheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mScheduler = "virtual".equals(scheduler) ? VirtualThreadScheduler.get() : Schedulers.io();
+    }
+
+    @Benchmark
+    public Long blockingInnerSources() {
+        return Observable.range(0, concurrentSources)
+                .flatMap(value -> Observable.fromCallable(() -> {
+                    Thread.sleep(blockMillis);
+                    return value;
+                }).subscribeOn(mScheduler), false, concurrentSources)
+                .count()
+                .blockingGet();
+    }
+}
@@ -0,0 +1,85 @@
+package com.saket.rxjavasampleapp.benchmark;
+
+import com.saket.rxjavasampleapp.Observable.WindowedJoin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * Two keyed streams, one event per side every virtual ms with a random key out of 1000, joined
+ * on the key within window ms. stockJoin is Observable.join with timer(window) durations and the
+ * key check in the result selector, windowedJoin is WindowedJoin. Both find the same matches;
+ * the stock join pairs every event with the 2 x window events in the window, so the gap grows
+ * with the window. Throughput is per event.
+ */
+@State(Scope.Benchmark)
+public class WindowedJoinBenchmark {
+
+    private static final int EVENTS_PER_SIDE = 100_000;
+    private static final int KEYS = 1000;
+
+    @Param({"10", "100", "1000"})
+    public long window;
+
+    private final int[] mLeftKeys = new int[EVENTS_PER_SIDE];
+    private final int[] mRightKeys = new int[EVENTS_PER_SIDE];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < EVENTS_PER_SIDE; i++) {
+            mLeftKeys[i] = random.nextInt(KEYS);
+            mRightKeys[i] = random.nextInt(KEYS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * EVENTS_PER_SIDE)
+    public void stockJoin(Blackhole bh) {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> left = PublishSubject.create();
+        PublishSubject<Integer> right = PublishSubject.create();
+        Function<Integer, Observable<Long>> duration = value -> Observable.timer(window, TimeUnit.MILLISECONDS,
+                scheduler);
+        left.join(right, duration, duration, (l, r) -> l.equals(r) ? l : -1)
+                .filter(key -> key >= 0)
+                .subscribe(bh::consume);
+        run(scheduler, left, right);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * EVENTS_PER_SIDE)
+    public void windowedJoin(Blackhole bh) {
+        TestScheduler scheduler = new TestScheduler();
+        PublishSubject<Integer> left = PublishSubject.create();
+        PublishSubject<Integer> right = PublishSubject.create();
+        new WindowedJoin<Integer, Integer, Integer, Integer>(l -> l, r -> r, (l, r) -> l,
+                WindowedJoin.Window.SLIDING, window, TimeUnit.MILLISECONDS, scheduler)
+                .join(left, right)
+                .subscribe(bh::consume);
+        run(scheduler, left, right);
+    }
+
+    private void run(TestScheduler scheduler, PublishSubject<Integer> left, PublishSubject<Integer> right) {
+        for (int i = 0; i < EVENTS_PER_SIDE; i++) {
+            scheduler.advanceTimeTo(i, TimeUnit.MILLISECONDS);
+            left.onNext(mLeftKeys[i]);
+            right.onNext(mRightKeys[i]);
+        }
+        left.onComplete();
+        right.onComplete();
+    }
+}
@@ -0,0 +1,67 @@
+package com.saket.rxjavasampleapp;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ThreadFactory that counts the threads it creates and how many of them are alive at once.
+ * Used to compare how many OS threads a scheduler setup really spawns.
+ */
+public class CountingThreadFactory implements ThreadFactory {
+
+    private final String mPrefix;
+    private final boolean mDaemon;
+    //When set, threads come from this factory (e.g. virtual threads) and keep its settings.
+    private final ThreadFactory mDelegate;
+    private final AtomicInteger mCreated = new AtomicInteger();
+    private final AtomicInteger mLive = new AtomicInteger();
+    private final AtomicInteger mPeakLive = new AtomicInteger();
+
+    public CountingThreadFactory(String prefix) {
+        this(prefix, true);
+    }
+
+    public CountingThreadFactory(String prefix, boolean daemon) {
+        mPrefix = prefix;
+        mDaemon = daemon;
+        mDelegate = null;
+    }
+
+    public CountingThreadFactory(ThreadFactory delegate) {
+        mPrefix = null;
+        mDaemon = true;
+        mDelegate = delegate;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        int id = mCreated.incrementAndGet();
+        Runnable counted = () -> {
+            int live = mLive.incrementAndGet();
+            mPeakLive.accumulateAndGet(live, Math::max);
+            try {
+                runnable.run();
+            } finally {
+                mLive.decrementAndGet();
+            }
+        };
+        if (mDelegate != null) {
+            return mDelegate.newThread(counted);
+        }
+        Thread thread = new Thread(counted, mPrefix + "-" + id);
+        thread.setDaemon(mDaemon);
+        return thread;
+    }
+
+    public int created() {
+        return mCreated.get();
+    }
+
+    public int live() {
+        return mLive.get();
+    }
+
+    public int peakLive() {
+        return mPeakLive.get();
+    }
+}
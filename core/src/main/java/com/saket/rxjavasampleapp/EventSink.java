@@ -0,0 +1,25 @@
+package com.saket.rxjavasampleapp;
+
+/**
+ * Receives the events (onSubscribe, onNext, onError...) emitted by the sample pipelines.
+ *
+ * The pipelines no longer talk to android.util.Log directly, so they can run on a plain JVM
+ * (unit tests, benchmarks) and pay nothing for logging when it is disabled.
+ *
+ * The message is a constant prefix and the value is passed separately, so an implementation
+ * only has to build a string when it actually writes the event somewhere.
+ * Callers that need to build a composite message should check {@link #isEnabled()} first.
+ */
+public interface EventSink {
+
+    boolean isEnabled();
+
+    void event(String tag, String message);
+
+    //Primitive overload so int/long values are not boxed on the way in.
+    void event(String tag, String message, long value);
+
+    void event(String tag, String message, Object value);
+
+    void error(String tag, String message, Throwable throwable);
+}
@@ -0,0 +1,195 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Runs the same fast producer against a slow consumer once per backpressure strategy and
+ * reports what each strategy cost, so a strategy can be picked from data.
+ *
+ * The producer emits itemCount longs on an io() thread as fast as it can, without looking at
+ * the downstream demand. The consumer runs on the calling thread and spins for
+ * consumerDelayNanos per item.
+ *
+ * Queue depth is the number of items held by the backpressure operator itself
+ * (produced - delivered - dropped), sampled by the producer after every emission.
+ * The consumer's own prefetch buffer is bounded by the prefetch size and is not counted.
+ */
+public class BackpressureEngine {
+
+    public enum Strategy {
+        BUFFER,         //onBackpressureBuffer(), unbounded
+        DROP,           //onBackpressureDrop()
+        LATEST,         //keep only the newest undelivered item
+        ERROR,          //MissingBackpressureException once the consumer falls behind
+        BOUNDED_BUFFER  //onBackpressureBuffer(capacity, onOverflow, overflowStrategy)
+    }
+
+    //Used heap is sampled every this many emissions, Runtime calls are not free.
+    private static final int HEAP_SAMPLE_INTERVAL = 1024;
+
+    private final long mItemCount;
+    private final long mConsumerDelayNanos;
+    private final int mPrefetch;
+    private final long mBufferCapacity;
+    private final BackpressureOverflowStrategy mOverflowStrategy;
+
+    /**
+     * @param itemCount          items emitted by the producer per run.
+     * @param consumerDelayNanos time the consumer spends on each item.
+     * @param prefetch           consumer side request batch size.
+     * @param bufferCapacity     capacity used by {@link Strategy#BOUNDED_BUFFER}.
+     * @param overflowStrategy   what {@link Strategy#BOUNDED_BUFFER} does once it is full.
+     */
+    public BackpressureEngine(long itemCount, long consumerDelayNanos, int prefetch,
+                              long bufferCapacity,
+                              BackpressureOverflowStrategy overflowStrategy) {
+        if (itemCount <= 0 || prefetch <= 0 || bufferCapacity <= 0) {
+            throw new IllegalArgumentException("itemCount, prefetch and bufferCapacity must be > 0");
+        }
+        mItemCount = itemCount;
+        mConsumerDelayNanos = consumerDelayNanos;
+        mPrefetch = prefetch;
+        mBufferCapacity = bufferCapacity;
+        mOverflowStrategy = overflowStrategy;
+    }
+
+    public List<Report> runAll() {
+        List<Report> reports = new ArrayList<>();
+        for (Strategy strategy : Strategy.values()) {
+            reports.add(run(strategy));
+        }
+        return reports;
+    }
+
+    public Report run(Strategy strategy) {
+        AtomicLong produced = new AtomicLong();
+        AtomicLong delivered = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        long[] peakQueueDepth = new long[1];
+        long[] peakHeap = new long[1];
+        Throwable[] error = new Throwable[1];
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baselineHeap = runtime.totalMemory() - runtime.freeMemory();
+        peakHeap[0] = baselineHeap;
+
+        //Only the producer thread writes the peaks, they are read after the run completes.
+        Flowable<Long> source = Flowable.create(emitter -> {
+            for (long i = 0; i < mItemCount && !emitter.isCancelled(); i++) {
+                emitter.onNext(i);
+                long count = produced.incrementAndGet();
+                long depth = count - delivered.get() - dropped.get();
+                if (depth > peakQueueDepth[0]) {
+                    peakQueueDepth[0] = depth;
+                }
+                if (count % HEAP_SAMPLE_INTERVAL == 0) {
+                    long used = runtime.totalMemory() - runtime.freeMemory();
+                    if (used > peakHeap[0]) {
+                        peakHeap[0] = used;
+                    }
+                }
+            }
+            emitter.onComplete();
+        }, strategy == Strategy.ERROR ? BackpressureStrategy.ERROR : BackpressureStrategy.MISSING);
+
+        long start = System.nanoTime();
+        applyStrategy(source.subscribeOn(Schedulers.io()), strategy, dropped)
+                .doOnNext(value -> delivered.incrementAndGet())
+                .blockingSubscribe(value -> {
+                    spin(mConsumerDelayNanos);
+                    consumed.incrementAndGet();
+                }, throwable -> error[0] = throwable, () -> { }, mPrefetch);
+        long elapsed = System.nanoTime() - start;
+
+        //Whatever was produced but never consumed was dropped, this also covers LATEST.
+        return new Report(strategy, produced.get(), consumed.get(),
+                Math.max(dropped.get(), produced.get() - consumed.get()),
+                peakQueueDepth[0], peakHeap[0] - baselineHeap, elapsed, error[0]);
+    }
+
+    private Flowable<Long> applyStrategy(Flowable<Long> source, Strategy strategy,
+                                         AtomicLong dropped) {
+        switch (strategy) {
+            case BUFFER:
+                return source.onBackpressureBuffer();
+            case DROP:
+                return source.onBackpressureDrop(value -> dropped.incrementAndGet());
+            case LATEST:
+                //onBackpressureLatest() has no drop callback in RxJava 3.0, a single slot buffer
+                //that drops the oldest item keeps exactly the same "newest wins" semantics.
+                return source.onBackpressureBuffer(1, dropped::incrementAndGet,
+                        BackpressureOverflowStrategy.DROP_OLDEST);
+            case BOUNDED_BUFFER:
+                return source.onBackpressureBuffer(mBufferCapacity, dropped::incrementAndGet,
+                        mOverflowStrategy);
+            case ERROR:
+            default:
+                return source;
+        }
+    }
+
+    private static void spin(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            //busy wait, sleeping is far too coarse for per item delays
+        }
+    }
+
+    /**
+     * Result of one run.
+     */
+    public static class Report {
+        public final Strategy strategy;
+        public final long produced;
+        public final long consumed;
+        public final long dropped;
+        public final long peakQueueDepth;
+        //Peak used heap above the baseline measured right before the run.
+        public final long heapHighWaterBytes;
+        public final long elapsedNanos;
+        //Non null when the run ended with an error, e.g. MissingBackpressureException.
+        public final Throwable error;
+
+        Report(Strategy strategy, long produced, long consumed, long dropped,
+               long peakQueueDepth, long heapHighWaterBytes, long elapsedNanos,
+               Throwable error) {
+            this.strategy = strategy;
+            this.produced = produced;
+            this.consumed = consumed;
+            this.dropped = dropped;
+            this.peakQueueDepth = peakQueueDepth;
+            this.heapHighWaterBytes = heapHighWaterBytes;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+
+        //Consumed items per second.
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : consumed * 1_000_000_000d / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return strategy
+                    + " produced=" + produced
+                    + " consumed=" + consumed
+                    + " dropped=" + dropped
+                    + " peakQueueDepth=" + peakQueueDepth
+                    + " heapHighWater=" + (heapHighWaterBytes / 1024) + "KB"
+                    + " throughput=" + (long) throughput() + "/s"
+                    + (error != null ? " error=" + error.getClass().getSimpleName() : "");
+        }
+    }
+}
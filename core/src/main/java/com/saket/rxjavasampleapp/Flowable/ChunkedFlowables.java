@@ -0,0 +1,98 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableConverter;
+import io.reactivex.rxjava3.core.FlowableTransformer;
+import io.reactivex.rxjava3.core.Single;
+
+/**
+ * Batched emission: the source emits {@link IntChunk}s of a fixed size and the operators work
+ * on a whole chunk per onNext, looping over the primitive array.
+ *
+ * Usage:
+ * <pre>
+ * ChunkedFlowables.fromArray(samples, 256)
+ *         .compose(ChunkedFlowables.map(value -> value * 25))
+ *         .compose(ChunkedFlowables.filter(value -> value % 2 == 0))
+ *         .to(ChunkedFlowables.reduce(0, Integer::sum))
+ * </pre>
+ * Chunks are never modified in place, map and filter emit new chunks.
+ */
+public final class ChunkedFlowables {
+
+    private ChunkedFlowables() {
+    }
+
+    /**
+     * Splits data into chunks of chunkSize values, the last chunk may be smaller.
+     * Each chunk gets its own copy of the values, so data can be reused once this completes.
+     */
+    public static Flowable<IntChunk> fromArray(int[] data, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        //Rounds up without data.length + chunkSize, which overflows for a large chunkSize
+        int chunkCount = data.length / chunkSize + (data.length % chunkSize == 0 ? 0 : 1);
+        return Flowable.range(0, chunkCount)
+                .map(index -> {
+                    int from = index * chunkSize;
+                    int to = from + Math.min(chunkSize, data.length - from);
+                    return new IntChunk(Arrays.copyOfRange(data, from, to), to - from);
+                });
+    }
+
+    public static FlowableTransformer<IntChunk, IntChunk> map(IntUnaryOperator mapper) {
+        return upstream -> upstream.map(chunk -> {
+            int size = chunk.size();
+            int[] source = chunk.array();
+            int[] mapped = new int[size];
+            for (int i = 0; i < size; i++) {
+                mapped[i] = mapper.applyAsInt(source[i]);
+            }
+            return new IntChunk(mapped, size);
+        });
+    }
+
+    /**
+     * Keeps the values matching predicate. Chunks left empty are dropped, so downstream
+     * chunks can be smaller than the source chunk size.
+     */
+    public static FlowableTransformer<IntChunk, IntChunk> filter(IntPredicate predicate) {
+        return upstream -> upstream.map(chunk -> {
+            int size = chunk.size();
+            int[] source = chunk.array();
+            int[] kept = new int[size];
+            int keptCount = 0;
+            for (int i = 0; i < size; i++) {
+                int value = source[i];
+                if (predicate.test(value)) {
+                    kept[keptCount++] = value;
+                }
+            }
+            return new IntChunk(kept, keptCount);
+        }).filter(chunk -> chunk.size() > 0);
+    }
+
+    /**
+     * Folds every value of every chunk into a single result. Only the final result is boxed.
+     */
+    public static FlowableConverter<IntChunk, Single<Integer>> reduce(int identity,
+                                                                      IntBinaryOperator reducer) {
+        return upstream -> upstream
+                .collect(() -> new int[]{identity}, (accumulator, chunk) -> {
+                    int size = chunk.size();
+                    int[] source = chunk.array();
+                    int result = accumulator[0];
+                    for (int i = 0; i < size; i++) {
+                        result = reducer.applyAsInt(result, source[i]);
+                    }
+                    accumulator[0] = result;
+                })
+                .map(accumulator -> accumulator[0]);
+    }
+}
@@ -0,0 +1,209 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import com.saket.rxjavasampleapp.EventSink;
+
+import org.reactivestreams.Subscription;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.core.FlowableOnSubscribe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Flowables:
+ * 0..N flows, supporting Reactive-Streams and backpressure
+ */
+public class CreateFlowable {
+
+    private static final String TAG = "CreateFlowable";
+    private final EventSink mEventSink;
+    Subscription mSubscription;
+
+    public CreateFlowable(EventSink eventSink) {
+        mEventSink = eventSink;
+    }
+
+    public void createFlowableJust() {
+        Flowable.just("Hello World")
+                .delay(1000, TimeUnit.MILLISECONDS)
+                .subscribeOn(Schedulers.io())
+                .doOnSubscribe(subscription -> {
+                    mSubscription = subscription;
+                    mEventSink.event(TAG, "onSubscribed");
+                })
+                .doOnNext(value -> mEventSink.event(TAG, value))
+        .doOnError(throwable -> mEventSink.error(TAG, "Error: ", throwable))
+        .doOnComplete(() -> mEventSink.event(TAG, "doOnComplete"))
+                .doOnCancel(() -> mEventSink.event(TAG, "doOnCancel called."))
+        .subscribe();
+        sleep(2000);
+        mSubscription.cancel();
+        //.subscribe(value -> mEventSink.event(TAG, value));
+    }
+
+
+    public void createFlowable() {
+        //Now we create a flowable
+        Flowable<String> source = Flowable.create(emitter -> {
+            emitter.onNext("Hello");
+
+            //Some blocking operation
+            sleep(1000);
+
+            if (emitter.isCancelled()) {
+                return;
+            }
+            emitter.onNext("World");
+
+            sleep(1000);
+
+            // the end-of-sequence has to be signaled, otherwise the
+            // consumers may never finish
+            emitter.onComplete();
+        }, BackpressureStrategy.BUFFER);
+
+        source.subscribe(s -> mEventSink.event(TAG, "Create flowable subscribe - ", s));
+    }
+
+    public void createFlowableFrom() {
+        //First we create an imaginary collection
+        Integer[] sampleData = new Integer[1000];
+        for (int i = 0; i < 1000; i++) {
+            sampleData[i] = i;
+        }
+
+        Flowable.fromArray(sampleData)
+                .debounce(1, TimeUnit.MICROSECONDS)  //Backpressure Strategy debounce
+                .subscribeOn(Schedulers.computation())
+                .subscribe(integer -> mEventSink.event(TAG, "Flowable from : ", integer));
+    }
+
+    //Runs one fast producer against a slow consumer for every backpressure strategy and reports
+    //peak queue depth, dropped items, heap high water mark and throughput for each of them.
+    //Blocks the calling thread until all runs are done.
+    public void compareBackpressureStrategies() {
+        BackpressureEngine engine = new BackpressureEngine(100_000, 10_000, 128,
+                1024, BackpressureOverflowStrategy.DROP_OLDEST);
+        for (BackpressureEngine.Report report : engine.runAll()) {
+            mEventSink.event(TAG, "Backpressure ", report);
+        }
+    }
+
+    //Batched variant of createFlowableFrom: the same 1000 samples travel as int[] chunks, and
+    //map/filter/reduce run once per chunk instead of once per element.
+    public void createFlowableFromChunks(int chunkSize) {
+        int[] sampleData = new int[1000];
+        for (int i = 0; i < 1000; i++) {
+            sampleData[i] = i;
+        }
+
+        ChunkedFlowables.fromArray(sampleData, chunkSize)
+                .compose(ChunkedFlowables.map(value -> value * 25))
+                .compose(ChunkedFlowables.filter(value -> value % 2 == 0))
+                .to(ChunkedFlowables.reduce(0, Integer::sum))
+                .subscribeOn(Schedulers.computation())
+                .subscribe(sum -> mEventSink.event(TAG, "Flowable from chunks, sum : ", sum));
+    }
+
+    //Source used by createFlowableWithBuffer
+    public enum SourceMode {
+        BOXED,      //IntStream.boxed() + Observable.fromIterable(), one Integer per value
+        PRIMITIVE   //PrimitiveFlowables.intRange(), one int[] chunk per DEFAULT_CHUNK_SIZE values
+    }
+
+    public void createFlowableWithBuffer() {
+        createFlowableWithBuffer(SourceMode.BOXED);
+    }
+
+    /*
+    If we use the BackpressureStrategy.BUFFER,
+    the source will buffer all the events until the subscriber can consume them:
+     */
+    public void createFlowableWithBuffer(SourceMode mode) {
+        if (mode == SourceMode.PRIMITIVE) {
+            //Same 10000 values without boxing. The chunks are unpacked in doOnNext and each value
+            //reaches the event sink as a primitive.
+            PrimitiveFlowables.intRange(0, 10000, PrimitiveFlowables.DEFAULT_CHUNK_SIZE)
+                    .subscribeOn(Schedulers.io())
+                    .doOnSubscribe(subscription -> mEventSink.event(TAG, "onSubscribe"))
+                    .doOnNext(PrimitiveFlowables.forEachInt(val -> mEventSink.event(TAG, "onNext: ", val)))
+                    .doOnComplete(() -> mEventSink.event(TAG, "onComplete"))
+                    .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                    .subscribe();
+            return;
+        }
+
+        List<Integer> testList = IntStream.range(0, 10000)
+                .boxed()
+                .collect(Collectors.toList());
+
+/*
+        Flowable<Integer> flowable = Observable.fromIterable(testList)
+                .toFlowable(BackpressureStrategy.MISSING)
+                .subscribeOn(Schedulers.single())
+                .doOnSubscribe(subscription -> mEventSink.event(TAG, "onSubscribe"))
+                .doOnNext(val -> {
+                    //Perform some heavy tasks.
+                    sleep(1000);
+                    mEventSink.event(TAG, "onNext: ", val);
+                })
+                .doOnComplete(() -> mEventSink.event(TAG, "onComplete"))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable));
+
+        flowable.subscribe();
+*/
+
+
+        Observable.fromIterable(testList)
+                .subscribeOn(Schedulers.io())
+                .doOnSubscribe(subscription -> mEventSink.event(TAG, "onSubscribe"))
+                .doOnNext(val -> {
+                    //Perform some heavy tasks.
+                    //sleep(100000);
+                    mEventSink.event(TAG, "onNext: ", val);
+                })
+                .doOnComplete(() -> mEventSink.event(TAG, "onComplete"))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .subscribe();
+
+/*
+        Flowable.fromIterable(testList)
+                .subscribeOn(Schedulers.single())
+                .doOnSubscribe(subscription -> mEventSink.event(TAG, "onSubscribe"))
+                .doOnNext(val -> mEventSink.event(TAG, "onNext: ", val))
+                .doOnComplete(() -> mEventSink.event(TAG, "onComplete"))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .subscribe();
+*/
+    }
+
+    //Same behaviour as android.os.SystemClock.sleep(), which is not available on a plain JVM:
+    //sleeps for the given time and ignores interrupts.
+    private static void sleep(long ms) {
+        long end = System.currentTimeMillis() + ms;
+        boolean interrupted = false;
+        long remaining = ms;
+        while (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            remaining = end - System.currentTimeMillis();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
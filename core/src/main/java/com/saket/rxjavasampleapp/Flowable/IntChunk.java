@@ -0,0 +1,47 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A batch of primitive ints emitted as a single Flowable item.
+ * Only the first {@link #size()} slots of the backing array are valid. A chunk must not be
+ * modified once it has been emitted.
+ */
+public final class IntChunk {
+
+    private final int[] mValues;
+    private final int mSize;
+
+    public IntChunk(int[] values, int size) {
+        if (size < 0 || size > values.length) {
+            throw new IllegalArgumentException("size " + size + " out of bounds for length "
+                    + values.length);
+        }
+        mValues = values;
+        mSize = size;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int get(int index) {
+        if (index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + " >= size " + mSize);
+        }
+        return mValues[index];
+    }
+
+    /**
+     * @return the backing array. Read only, and only up to {@link #size()}.
+     */
+    public int[] array() {
+        return mValues;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < mSize; i++) {
+            consumer.accept(mValues[i]);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A batch of primitive longs emitted as a single Flowable item.
+ * Only the first {@link #size()} slots of the backing array are valid. A chunk must not be
+ * modified once it has been emitted.
+ */
+public final class LongChunk {
+
+    private final long[] mValues;
+    private final int mSize;
+
+    public LongChunk(long[] values, int size) {
+        if (size < 0 || size > values.length) {
+            throw new IllegalArgumentException("size " + size + " out of bounds for length "
+                    + values.length);
+        }
+        mValues = values;
+        mSize = size;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public long get(int index) {
+        if (index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + " >= size " + mSize);
+        }
+        return mValues[index];
+    }
+
+    /**
+     * @return the backing array. Read only, and only up to {@link #size()}.
+     */
+    public long[] array() {
+        return mValues;
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < mSize; i++) {
+            consumer.accept(mValues[i]);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableTransformer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.functions.Predicate;
+import io.reactivex.rxjava3.parallel.ParallelFlowable;
+
+/**
+ * Runs CPU bound map and filter stages on parallel rails:
+ * <pre>
+ * source.parallel(rails, prefetch).runOn(scheduler, prefetch).map(mapper).sequential(prefetch)
+ * </pre>
+ * and merges the rails back into one Flowable, either as results come (UNORDERED) or in source
+ * order (ORDERED).
+ *
+ * ORDERED tags every item with its position before the rails and holds early results until the
+ * ones before them are done. That buffer is bounded by how far the other rails get ahead of the
+ * slowest item, so it stays small for uniform work and grows if a single item is much slower
+ * than the rest.
+ *
+ * Usage:
+ * <pre>
+ * ParallelRails rails = new ParallelRails(4, 64, Schedulers.computation(), ParallelRails.Merge.ORDERED);
+ * source.compose(rails.map(price -> convert(price)))
+ * </pre>
+ */
+public final class ParallelRails {
+
+    public enum Merge {
+        ORDERED,    //downstream sees the source order
+        UNORDERED   //downstream sees results as the rails produce them
+    }
+
+    private final int mRails;
+    private final int mPrefetch;
+    private final Scheduler mScheduler;
+    private final Merge mMerge;
+
+    /**
+     * @param rails     parallel rails, usually the number of cores for CPU bound work.
+     * @param prefetch  items requested ahead per rail, and by the merge.
+     * @param scheduler runs the rails, one Worker per rail.
+     */
+    public ParallelRails(int rails, int prefetch, Scheduler scheduler, Merge merge) {
+        if (rails <= 0) {
+            throw new IllegalArgumentException("rails > 0 required but it was " + rails);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        mRails = rails;
+        mPrefetch = prefetch;
+        mScheduler = scheduler;
+        mMerge = merge;
+    }
+
+    public int rails() {
+        return mRails;
+    }
+
+    public int prefetch() {
+        return mPrefetch;
+    }
+
+    public Merge merge() {
+        return mMerge;
+    }
+
+    public <T, R> FlowableTransformer<T, R> map(Function<? super T, ? extends R> mapper) {
+        return mapFilter(mapper, null);
+    }
+
+    public <T> FlowableTransformer<T, T> filter(Predicate<? super T> predicate) {
+        return mapFilter(value -> value, predicate);
+    }
+
+    /**
+     * Applies mapper and then, if not null, keeps the results matching predicate, both on the
+     * rails.
+     */
+    public <T, R> FlowableTransformer<T, R> mapFilter(Function<? super T, ? extends R> mapper,
+                                                      Predicate<? super R> predicate) {
+        if (mMerge == Merge.UNORDERED) {
+            return upstream -> {
+                ParallelFlowable<R> rails = rails(upstream).map(mapper);
+                if (predicate != null) {
+                    rails = rails.filter(predicate);
+                }
+                return rails.sequential(mPrefetch);
+            };
+        }
+        return upstream -> Flowable.defer(() -> {
+            //Per subscription: the position counter and the reorder buffer
+            long[] position = new long[1];
+            Reorder<R> reorder = new Reorder<>();
+            return rails(upstream.map(value -> new Indexed<>(position[0]++, value)))
+                    //filtered out items keep their position, so the merge does not wait for them
+                    .map(indexed -> {
+                        R result = mapper.apply(indexed.value);
+                        boolean kept = predicate == null || predicate.test(result);
+                        return new Indexed<>(indexed.position, kept ? result : null);
+                    })
+                    .sequential(mPrefetch)
+                    .concatMapIterable(reorder::offer);
+        });
+    }
+
+    private <T> ParallelFlowable<T> rails(Flowable<T> upstream) {
+        return upstream.parallel(mRails, mPrefetch).runOn(mScheduler, mPrefetch);
+    }
+
+    static final class Indexed<T> {
+        final long position;
+        //null when the item was filtered out
+        final T value;
+
+        Indexed(long position, T value) {
+            this.position = position;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Releases results in position order. Only called from the merged sequence, so one thread at
+     * a time.
+     */
+    static final class Reorder<T> {
+
+        private final Map<Long, Indexed<T>> mEarly = new HashMap<>();
+        private long mNext;
+
+        List<T> offer(Indexed<T> indexed) {
+            if (indexed.position != mNext) {
+                mEarly.put(indexed.position, indexed);
+                return Collections.emptyList();
+            }
+            List<T> ready = new ArrayList<>(1);
+            Indexed<T> current = indexed;
+            while (current != null) {
+                if (current.value != null) {
+                    ready.add(current.value);
+                }
+                mNext++;
+                current = mEarly.isEmpty() ? null : mEarly.remove(mNext);
+            }
+            return ready;
+        }
+    }
+}
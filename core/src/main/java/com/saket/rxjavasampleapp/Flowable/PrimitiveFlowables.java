@@ -0,0 +1,90 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.functions.Consumer;
+
+/**
+ * Range sources that emit primitive chunks instead of one boxed Integer/Long per value.
+ *
+ * Flowable.range() or IntStream.boxed() allocate an Integer for every value (outside of the
+ * small Integer cache). These sources allocate one array per chunk, and each chunk is a single
+ * onNext, so the per item cost of the operator chain is paid once per chunk.
+ * Both sources honour backpressure: a chunk is only generated when it has been requested.
+ */
+public final class PrimitiveFlowables {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private PrimitiveFlowables() {
+    }
+
+    /**
+     * Emits start, start + 1, ..., start + count - 1 in chunks of at most chunkSize values.
+     */
+    public static Flowable<IntChunk> intRange(int start, int count, int chunkSize) {
+        checkArguments(start, count, chunkSize, Integer.MAX_VALUE);
+        return Flowable.generate(() -> new long[]{0L}, (emitted, emitter) -> {
+            long offset = emitted[0];
+            if (offset == count) {
+                emitter.onComplete();
+                return;
+            }
+            int size = (int) Math.min(chunkSize, count - offset);
+            int[] values = new int[size];
+            int first = (int) (start + offset);
+            for (int i = 0; i < size; i++) {
+                values[i] = first + i;
+            }
+            emitted[0] = offset + size;
+            emitter.onNext(new IntChunk(values, size));
+        });
+    }
+
+    /**
+     * Emits start, start + 1, ..., start + count - 1 in chunks of at most chunkSize values.
+     */
+    public static Flowable<LongChunk> longRange(long start, long count, int chunkSize) {
+        checkArguments(start, count, chunkSize, Long.MAX_VALUE);
+        return Flowable.generate(() -> new long[]{0L}, (emitted, emitter) -> {
+            long offset = emitted[0];
+            if (offset == count) {
+                emitter.onComplete();
+                return;
+            }
+            int size = (int) Math.min(chunkSize, count - offset);
+            long[] values = new long[size];
+            long first = start + offset;
+            for (int i = 0; i < size; i++) {
+                values[i] = first + i;
+            }
+            emitted[0] = offset + size;
+            emitter.onNext(new LongChunk(values, size));
+        });
+    }
+
+    /**
+     * Primitive consumer path: unpacks each chunk and hands the values to consumer unboxed.
+     */
+    public static Consumer<IntChunk> forEachInt(IntConsumer consumer) {
+        return chunk -> chunk.forEach(consumer);
+    }
+
+    public static Consumer<LongChunk> forEachLong(LongConsumer consumer) {
+        return chunk -> chunk.forEach(consumer);
+    }
+
+    private static void checkArguments(long start, long count, int chunkSize, long max) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        if (count > 0 && start > max - (count - 1)) {
+            throw new IllegalArgumentException("start + count overflows");
+        }
+    }
+}
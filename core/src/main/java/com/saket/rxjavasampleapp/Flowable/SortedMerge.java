@@ -0,0 +1,329 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.internal.queue.SpscArrayQueue;
+import io.reactivex.rxjava3.internal.subscriptions.EmptySubscription;
+import io.reactivex.rxjava3.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.rxjava3.internal.util.BackpressureHelper;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Merges sources that are each sorted by comparator into one sorted Flowable, as they stream.
+ *
+ * The current head item of every source sits in a binary heap; the smallest one is emitted and
+ * the next item of its source takes its place, so an item costs O(log sources) compares. A
+ * source is only asked for prefetch items at a time, so at most sources x prefetch items are
+ * buffered, however long the sources are. The price: the merge can only emit once every source
+ * that is not done has an item, so one slow source holds back all of them.
+ *
+ * Sorting is only guaranteed if every source is sorted; an unsorted source gives an unsorted
+ * result, not an error. Ties go to the source with the lower index.
+ *
+ * <pre>
+ * SortedMerge.merge(Arrays.asList(evens, odds), Comparator.naturalOrder(), 64)
+ * </pre>
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    public static <T> Flowable<T> merge(List<? extends Publisher<? extends T>> sources,
+                                        Comparator<? super T> comparator, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return new Flowable<T>() {
+            @Override
+            protected void subscribeActual(@NonNull Subscriber<? super T> subscriber) {
+                int count = sources.size();
+                if (count == 0) {
+                    EmptySubscription.complete(subscriber);
+                    return;
+                }
+                MergeSubscription<T> parent = new MergeSubscription<>(subscriber, count, comparator, prefetch);
+                subscriber.onSubscribe(parent);
+                parent.subscribe(sources);
+            }
+        };
+    }
+
+    static final class MergeSubscription<T> extends AtomicInteger implements Subscription {
+
+        private final Subscriber<? super T> mDownstream;
+        private final Comparator<? super T> mComparator;
+        private final SourceSubscriber<T>[] mSources;
+        private final AtomicLong mRequested = new AtomicLong();
+        private final AtomicReference<Throwable> mError = new AtomicReference<>();
+        private volatile boolean mCancelled;
+
+        //Only touched inside drain()
+        //Head item per source, null while it has to be loaded from the queue
+        private final Object[] mHeads;
+        //Min heap of the source indexes whose head is loaded
+        private final int[] mHeap;
+        private int mHeapSize;
+        //Sources whose head has to be loaded before the next emit; after the start it is at most
+        //the source of the last emitted item
+        private final int[] mPending;
+        private int mPendingSize;
+        private long mEmitted;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        MergeSubscription(Subscriber<? super T> downstream, int count, Comparator<? super T> comparator,
+                          int prefetch) {
+            mDownstream = downstream;
+            mComparator = comparator;
+            mSources = new SourceSubscriber[count];
+            mHeads = new Object[count];
+            mHeap = new int[count];
+            mPending = new int[count];
+            for (int i = 0; i < count; i++) {
+                mSources[i] = new SourceSubscriber<>(this, prefetch);
+                mPending[i] = i;
+            }
+            mPendingSize = count;
+        }
+
+        void subscribe(List<? extends Publisher<? extends T>> sources) {
+            for (int i = 0; i < mSources.length && !mCancelled; i++) {
+                sources.get(i).subscribe(mSources[i]);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(mRequested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!mCancelled) {
+                mCancelled = true;
+                cancelSources();
+                if (getAndIncrement() == 0) {
+                    clear();
+                }
+            }
+        }
+
+        void fail(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long requested = mRequested.get();
+                for (;;) {
+                    if (mCancelled) {
+                        clear();
+                        return;
+                    }
+                    Throwable error = mError.get();
+                    if (error != null) {
+                        cancelSources();
+                        clear();
+                        mDownstream.onError(error);
+                        return;
+                    }
+                    if (!loadPending()) {
+                        if (mError.get() != null) {
+                            continue;
+                        }
+                        //a source that is not done has nothing yet, wait for it
+                        break;
+                    }
+                    if (mHeapSize == 0) {
+                        mDownstream.onComplete();
+                        return;
+                    }
+                    if (mEmitted == requested) {
+                        break;
+                    }
+                    int source;
+                    try {
+                        source = pollHeap();
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        mError.compareAndSet(null, ex);
+                        continue;
+                    }
+                    @SuppressWarnings("unchecked")
+                    T value = (T) mHeads[source];
+                    mHeads[source] = null;
+                    mPending[mPendingSize++] = source;
+                    mSources[source].consumed();
+                    mDownstream.onNext(value);
+                    mEmitted++;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        //Loads the heads of the pending sources, false while one of them has nothing queued yet
+        private boolean loadPending() {
+            while (mPendingSize != 0) {
+                int source = mPending[mPendingSize - 1];
+                SourceSubscriber<T> subscriber = mSources[source];
+                boolean done = subscriber.mDone;
+                T value = subscriber.mQueue.poll();
+                if (value != null) {
+                    mHeads[source] = value;
+                    try {
+                        pushHeap(source);
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        mError.compareAndSet(null, ex);
+                        return false;
+                    }
+                } else if (!done) {
+                    return false;
+                }
+                //loaded, or done without items left
+                mPendingSize--;
+            }
+            return true;
+        }
+
+        private void pushHeap(int source) {
+            int index = mHeapSize++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!less(source, mHeap[parent])) {
+                    break;
+                }
+                mHeap[index] = mHeap[parent];
+                index = parent;
+            }
+            mHeap[index] = source;
+        }
+
+        private int pollHeap() {
+            int top = mHeap[0];
+            int last = mHeap[--mHeapSize];
+            int index = 0;
+            int half = mHeapSize >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < mHeapSize && less(mHeap[right], mHeap[child])) {
+                    child = right;
+                }
+                if (!less(mHeap[child], last)) {
+                    break;
+                }
+                mHeap[index] = mHeap[child];
+                index = child;
+            }
+            if (mHeapSize > 0) {
+                mHeap[index] = last;
+            }
+            return top;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean less(int first, int second) {
+            int result = mComparator.compare((T) mHeads[first], (T) mHeads[second]);
+            return result < 0 || (result == 0 && first < second);
+        }
+
+        private void cancelSources() {
+            for (SourceSubscriber<T> subscriber : mSources) {
+                subscriber.cancel();
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < mSources.length; i++) {
+                mSources[i].mQueue.clear();
+                mHeads[i] = null;
+            }
+            mHeapSize = 0;
+        }
+    }
+
+    static final class SourceSubscriber<T> extends AtomicReference<Subscription> implements FlowableSubscriber<T> {
+
+        private final MergeSubscription<T> mParent;
+        private final int mPrefetch;
+        //Request more after this many items were consumed, not after every single one
+        private final int mLimit;
+        final SpscArrayQueue<T> mQueue;
+        volatile boolean mDone;
+        //Only touched inside drain()
+        private int mConsumed;
+
+        SourceSubscriber(MergeSubscription<T> parent, int prefetch) {
+            mParent = parent;
+            mPrefetch = prefetch;
+            mLimit = prefetch - (prefetch >> 2);
+            mQueue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Subscription s) {
+            if (SubscriptionHelper.setOnce(this, s)) {
+                s.request(mPrefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!mQueue.offer(t)) {
+                onError(new IllegalStateException("Source emitted more than requested"));
+                return;
+            }
+            mParent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            mParent.fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+            mDone = true;
+            mParent.drain();
+        }
+
+        void consumed() {
+            if (++mConsumed == mLimit) {
+                mConsumed = 0;
+                get().request(mLimit);
+            }
+        }
+
+        void cancel() {
+            SubscriptionHelper.cancel(this);
+        }
+    }
+}
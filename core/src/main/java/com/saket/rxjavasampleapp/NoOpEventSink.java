@@ -0,0 +1,33 @@
+package com.saket.rxjavasampleapp;
+
+/**
+ * Drops every event. Used when the pipelines run in benchmarks or when logging is off.
+ */
+public final class NoOpEventSink implements EventSink {
+
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void event(String tag, String message) {
+    }
+
+    @Override
+    public void event(String tag, String message, long value) {
+    }
+
+    @Override
+    public void event(String tag, String message, Object value) {
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable throwable) {
+    }
+}
@@ -0,0 +1,479 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import com.saket.rxjavasampleapp.LatencyHistogram;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+
+/**
+ * Batching operator that flushes a batch on whichever comes first: maxCount items, maxAge since
+ * the first item of the batch, or maxBytes by the size estimate of the items.
+ *
+ * Compared to buffer(count):
+ * - a partial batch is not held until completion, it goes out after maxAge at the latest. Like
+ *   Coalesce there is at most one timer per subscriber, re-armed for the age of the current batch.
+ * - batches are {@link Batch} containers instead of a new ArrayList each. A consumer that calls
+ *   {@link Batch#release()} when done hands the container, and its array, back for the next batch.
+ * - with a latency target, the count limit adapts: after every batch the time from its first
+ *   item to the end of the downstream onNext is measured. Above the target the limit halves,
+ *   below half of it the limit grows by an eighth, up to maxCount. Smaller batches when the
+ *   consumer is slow, bigger ones (fewer onNext calls) when it keeps up. The limit starts at
+ *   16 then.
+ *
+ * <pre>
+ * source.compose(new AdaptiveBuffer&lt;&gt;(256, 50, TimeUnit.MILLISECONDS, Schedulers.computation()))
+ *         .subscribe(batch -> {
+ *             write(batch);
+ *             batch.release();
+ *         });
+ * </pre>
+ */
+public final class AdaptiveBuffer<T> implements ObservableTransformer<T, AdaptiveBuffer.Batch<T>> {
+
+    //Released containers kept per subscriber, the rest is left to the GC
+    private static final int POOL_SIZE = 4;
+
+    private final int mMaxCount;
+    private final long mMaxAgeNanos;
+    private final Scheduler mScheduler;
+    private final long mMaxBytes;
+    private final ToIntFunction<? super T> mSizer;
+    private final long mLatencyTargetNanos;
+
+    //Shared by every subscriber of this transformer
+    private final AtomicLong mItems = new AtomicLong();
+    private final AtomicLong mBatches = new AtomicLong();
+    private final AtomicLong mFlushedByCount = new AtomicLong();
+    private final AtomicLong mFlushedByAge = new AtomicLong();
+    private final AtomicLong mFlushedByBytes = new AtomicLong();
+    private final AtomicLong mBatchesAllocated = new AtomicLong();
+    private final AtomicLong mBatchesReused = new AtomicLong();
+    private final AtomicInteger mCountLimit = new AtomicInteger();
+    private final LatencyHistogram mLatency = new LatencyHistogram();
+
+    /**
+     * Flushes on maxCount items or maxAge, without byte limit and latency target.
+     */
+    public AdaptiveBuffer(int maxCount, long maxAge, TimeUnit unit, Scheduler scheduler) {
+        this(maxCount, maxAge, unit, scheduler, 0, null, 0);
+    }
+
+    /**
+     * @param maxAge        0 for no time flush.
+     * @param maxBytes      0 for no byte limit, sizer estimates the bytes of one item otherwise.
+     * @param latencyTarget 0 keeps the count limit at maxCount, otherwise the limit adapts so
+     *                      that a batch is through downstream within latencyTarget of its first
+     *                      item. Same unit as maxAge.
+     */
+    public AdaptiveBuffer(int maxCount, long maxAge, TimeUnit unit, Scheduler scheduler,
+                          long maxBytes, ToIntFunction<? super T> sizer, long latencyTarget) {
+        if (maxCount <= 0) {
+            throw new IllegalArgumentException("maxCount > 0 required but it was " + maxCount);
+        }
+        if (maxBytes > 0 && sizer == null) {
+            throw new IllegalArgumentException("maxBytes needs a sizer");
+        }
+        mMaxCount = maxCount;
+        mMaxAgeNanos = unit.toNanos(maxAge);
+        mScheduler = scheduler;
+        mMaxBytes = maxBytes;
+        mSizer = sizer;
+        mLatencyTargetNanos = unit.toNanos(latencyTarget);
+        mCountLimit.set(initialCountLimit());
+    }
+
+    //With a latency target the limit starts small and grows, so the first batches are not the
+    //slowest ones
+    private int initialCountLimit() {
+        return mLatencyTargetNanos > 0 ? Math.min(mMaxCount, 16) : mMaxCount;
+    }
+
+    @NonNull
+    @Override
+    public ObservableSource<Batch<T>> apply(@NonNull Observable<T> upstream) {
+        return new Observable<Batch<T>>() {
+            @Override
+            protected void subscribeActual(@NonNull Observer<? super Batch<T>> observer) {
+                upstream.subscribe(new BufferObserver<>(observer, AdaptiveBuffer.this,
+                        mScheduler.createWorker()));
+            }
+        };
+    }
+
+    public Report report() {
+        return new Report(mItems.get(), mBatches.get(), mFlushedByCount.get(), mFlushedByAge.get(),
+                mFlushedByBytes.get(), mBatchesAllocated.get(), mBatchesReused.get(),
+                mCountLimit.get(), mLatency.snapshot());
+    }
+
+    static final class BufferObserver<T> extends AtomicInteger implements Observer<T>, Disposable, Runnable {
+
+        private final Observer<? super Batch<T>> mDownstream;
+        private final AdaptiveBuffer<T> mParent;
+        private final Scheduler.Worker mWorker;
+        //Full batches, from the upstream thread and the timer
+        private final Queue<Batch<T>> mReady = new ConcurrentLinkedQueue<>();
+        //Released batches, from whichever thread the consumer releases on
+        private final Queue<Batch<T>> mPool = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger mPoolSize = new AtomicInteger();
+
+        //Guarded by this
+        private Batch<T> mCurrent;
+        private boolean mTimerArmed;
+
+        //Written by drain(), read by onNext
+        private volatile int mCountLimit;
+
+        private volatile boolean mDone;
+        private Throwable mError;
+        private volatile boolean mDisposed;
+        private Disposable mUpstream;
+
+        BufferObserver(Observer<? super Batch<T>> downstream, AdaptiveBuffer<T> parent,
+                       Scheduler.Worker worker) {
+            mDownstream = downstream;
+            mParent = parent;
+            mWorker = worker;
+            mCountLimit = parent.initialCountLimit();
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            if (DisposableHelper.validate(mUpstream, d)) {
+                mUpstream = d;
+                mDownstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(@NonNull T t) {
+            int bytes = mParent.mSizer != null ? mParent.mSizer.applyAsInt(t) : 0;
+            Batch<T> full = null;
+            boolean armTimer = false;
+            synchronized (this) {
+                Batch<T> batch = mCurrent;
+                if (batch == null) {
+                    batch = obtain();
+                    batch.mFirstItemNanos = mWorker.now(TimeUnit.NANOSECONDS);
+                    mCurrent = batch;
+                    if (mParent.mMaxAgeNanos > 0 && !mTimerArmed) {
+                        mTimerArmed = true;
+                        armTimer = true;
+                    }
+                }
+                batch.add(t, bytes);
+                if (batch.mSize >= mCountLimit) {
+                    mParent.mFlushedByCount.incrementAndGet();
+                    full = batch;
+                } else if (mParent.mMaxBytes > 0 && batch.mBytes >= mParent.mMaxBytes) {
+                    mParent.mFlushedByBytes.incrementAndGet();
+                    full = batch;
+                }
+                if (full != null) {
+                    mCurrent = null;
+                    //Offered under the lock, so batches reach mReady in the order they were cut
+                    mReady.offer(full);
+                }
+            }
+            if (armTimer) {
+                mWorker.schedule(this, mParent.mMaxAgeNanos, TimeUnit.NANOSECONDS);
+            }
+            if (full != null) {
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            synchronized (this) {
+                mCurrent = null;
+            }
+            mError = e;
+            mDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                Batch<T> last = mCurrent;
+                mCurrent = null;
+                if (last != null) {
+                    mReady.offer(last);
+                }
+            }
+            mDone = true;
+            drain();
+        }
+
+        //Timer callback: flush the current batch if it is old enough, otherwise wait for the rest
+        @Override
+        public void run() {
+            Batch<T> old = null;
+            long delay = 0;
+            synchronized (this) {
+                Batch<T> batch = mCurrent;
+                if (batch == null) {
+                    mTimerArmed = false;
+                } else {
+                    long age = mWorker.now(TimeUnit.NANOSECONDS) - batch.mFirstItemNanos;
+                    if (age >= mParent.mMaxAgeNanos) {
+                        mParent.mFlushedByAge.incrementAndGet();
+                        old = batch;
+                        mCurrent = null;
+                        mTimerArmed = false;
+                        //Before onComplete can see mCurrent empty and finish without it
+                        mReady.offer(old);
+                    } else {
+                        delay = mParent.mMaxAgeNanos - age;
+                    }
+                }
+            }
+            if (delay > 0) {
+                mWorker.schedule(this, delay, TimeUnit.NANOSECONDS);
+            }
+            if (old != null) {
+                drain();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            mDisposed = true;
+            mUpstream.dispose();
+            mWorker.dispose();
+            if (getAndIncrement() == 0) {
+                mReady.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+
+        private Batch<T> obtain() {
+            Batch<T> batch = mPool.poll();
+            if (batch != null) {
+                mPoolSize.decrementAndGet();
+                mParent.mBatchesReused.incrementAndGet();
+                batch.mReleased = false;
+                return batch;
+            }
+            mParent.mBatchesAllocated.incrementAndGet();
+            return new Batch<>(this, Math.min(mParent.mMaxCount, 16));
+        }
+
+        void recycle(Batch<T> batch) {
+            if (mPoolSize.incrementAndGet() <= POOL_SIZE) {
+                mPool.offer(batch);
+            } else {
+                mPoolSize.decrementAndGet();
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (mDisposed) {
+                    mReady.clear();
+                    return;
+                }
+                boolean done = mDone;
+                Throwable error = mError;
+                if (done && error != null) {
+                    mReady.clear();
+                    mWorker.dispose();
+                    mDownstream.onError(error);
+                    return;
+                }
+
+                Batch<T> batch;
+                while ((batch = mReady.poll()) != null) {
+                    int size = batch.mSize;
+                    long first = batch.mFirstItemNanos;
+                    mDownstream.onNext(batch);
+                    //batch may be released and reused by now, only the copies above are safe
+                    long latency = mWorker.now(TimeUnit.NANOSECONDS) - first;
+                    mParent.mItems.addAndGet(size);
+                    mParent.mBatches.incrementAndGet();
+                    mParent.mLatency.record(latency);
+                    adapt(latency);
+                    if (mDisposed) {
+                        mReady.clear();
+                        return;
+                    }
+                }
+
+                if (mDone && mReady.isEmpty()) {
+                    mWorker.dispose();
+                    mDownstream.onComplete();
+                    return;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        //Multiplicative decrease above the target, additive increase well below it
+        private void adapt(long latencyNanos) {
+            long target = mParent.mLatencyTargetNanos;
+            if (target <= 0) {
+                return;
+            }
+            int limit = mCountLimit;
+            if (latencyNanos > target) {
+                limit = Math.max(1, limit / 2);
+            } else if (latencyNanos < target / 2) {
+                limit = Math.min(mParent.mMaxCount, limit + Math.max(1, limit / 8));
+            }
+            mCountLimit = limit;
+            mParent.mCountLimit.set(limit);
+        }
+    }
+
+    /**
+     * One flushed batch. Read it inside onNext, or call release() once when done with it so the
+     * container can be reused; a released batch must not be read anymore.
+     */
+    public static final class Batch<T> implements Iterable<T> {
+
+        private final BufferObserver<T> mOwner;
+        private Object[] mItems;
+        private int mSize;
+        private long mBytes;
+        private long mFirstItemNanos;
+        private boolean mReleased;
+
+        Batch(BufferObserver<T> owner, int capacity) {
+            mOwner = owner;
+            mItems = new Object[capacity];
+        }
+
+        void add(T item, int bytes) {
+            if (mSize == mItems.length) {
+                Object[] items = new Object[mItems.length * 2];
+                System.arraycopy(mItems, 0, items, 0, mSize);
+                mItems = items;
+            }
+            mItems[mSize++] = item;
+            mBytes += bytes;
+        }
+
+        public int size() {
+            return mSize;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index >= mSize) {
+                throw new IndexOutOfBoundsException("index " + index + " size " + mSize);
+            }
+            return (T) mItems[index];
+        }
+
+        //Size estimate of the items, 0 without a sizer
+        public long bytes() {
+            return mBytes;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int mIndex;
+
+                @Override
+                public boolean hasNext() {
+                    return mIndex < mSize;
+                }
+
+                @Override
+                public T next() {
+                    if (mIndex >= mSize) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(mIndex++);
+                }
+            };
+        }
+
+        public void release() {
+            if (mReleased) {
+                return;
+            }
+            mReleased = true;
+            //drop the references so the items can be collected while the container waits
+            for (int i = 0; i < mSize; i++) {
+                mItems[i] = null;
+            }
+            mSize = 0;
+            mBytes = 0;
+            mOwner.recycle(this);
+        }
+    }
+
+    /**
+     * Metrics of all subscribers of one AdaptiveBuffer.
+     */
+    public static class Report {
+        public final long items;
+        public final long batches;
+        public final long flushedByCount;
+        public final long flushedByAge;
+        public final long flushedByBytes;
+        public final long batchesAllocated;
+        public final long batchesReused;
+        //Count limit after the last batch, maxCount without latency target
+        public final int countLimit;
+        //First item of a batch to the end of its downstream onNext, in ns
+        public final LatencyHistogram.Snapshot latency;
+
+        Report(long items, long batches, long flushedByCount, long flushedByAge, long flushedByBytes,
+               long batchesAllocated, long batchesReused, int countLimit,
+               LatencyHistogram.Snapshot latency) {
+            this.items = items;
+            this.batches = batches;
+            this.flushedByCount = flushedByCount;
+            this.flushedByAge = flushedByAge;
+            this.flushedByBytes = flushedByBytes;
+            this.batchesAllocated = batchesAllocated;
+            this.batchesReused = batchesReused;
+            this.countLimit = countLimit;
+            this.latency = latency;
+        }
+
+        @Override
+        public String toString() {
+            return "items=" + items
+                    + " batches=" + batches
+                    + " flushedByCount=" + flushedByCount
+                    + " flushedByAge=" + flushedByAge
+                    + " flushedByBytes=" + flushedByBytes
+                    + " batchesAllocated=" + batchesAllocated
+                    + " batchesReused=" + batchesReused
+                    + " countLimit=" + countLimit
+                    + " latency[" + latency + "]";
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.functions.Supplier;
+
+/**
+ * defer() with a shared, expiring cache in front of an expensive source, e.g. a data fetch.
+ *
+ * Plain defer() calls the supplier, and so runs the fetch, once per subscriber. Here the
+ * subscribers share one cache entry:
+ * - concurrent subscribers collapse onto one upstream subscription, the fetch runs once.
+ * - the result is replayed to subscribers that come later, without another fetch.
+ * - once the entry is ttl old, counted from when the fetch completed, the next subscriber
+ *   starts a fresh fetch. {@link #invalidate()} does the same right away.
+ * An entry that is still fetching never expires. A failed fetch is not cached: its subscribers
+ * get the error, the next subscriber fetches again.
+ *
+ * Subscribers that already got an entry keep it, invalidating only affects later subscribers.
+ * Disposing a subscriber does not cancel the shared fetch, the other subscribers still wait on it.
+ *
+ * <pre>
+ * CachedSource&lt;List&lt;Car&gt;&gt; cars = new CachedSource&lt;&gt;(() -> api.fetchCars(),
+ *         30, TimeUnit.SECONDS, Schedulers.computation());
+ * cars.observable().subscribe(...);
+ * </pre>
+ */
+public final class CachedSource<T> {
+
+    private final Supplier<? extends ObservableSource<? extends T>> mSupplier;
+    private final long mTtlNanos;
+    private final Scheduler mClock;
+    private final AtomicReference<Entry<T>> mEntry = new AtomicReference<>();
+
+    private final AtomicLong mUpstreamSubscriptions = new AtomicLong();
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+    private final AtomicLong mExpirations = new AtomicLong();
+    private final AtomicLong mInvalidations = new AtomicLong();
+
+    /**
+     * @param supplier creates the expensive source, called once per fetch.
+     * @param clock    only used to read the time the ttl is counted with.
+     */
+    public CachedSource(Supplier<? extends ObservableSource<? extends T>> supplier, long ttl, TimeUnit unit,
+                        Scheduler clock) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl >= 0 required but it was " + ttl);
+        }
+        mSupplier = supplier;
+        mTtlNanos = unit.toNanos(ttl);
+        mClock = clock;
+    }
+
+    /**
+     * The cached source. Picks the entry when subscribed, not when this is called, so one
+     * Observable can be kept and subscribed again and again.
+     */
+    public Observable<T> observable() {
+        return Observable.defer(this::current);
+    }
+
+    /**
+     * Drops the current entry, the next subscriber fetches again.
+     */
+    public void invalidate() {
+        if (mEntry.getAndSet(null) != null) {
+            mInvalidations.incrementAndGet();
+        }
+    }
+
+    public Report report() {
+        return new Report(mUpstreamSubscriptions.get(), mHits.get(), mMisses.get(), mExpirations.get(),
+                mInvalidations.get());
+    }
+
+    private Observable<T> current() {
+        long now = mClock.now(TimeUnit.NANOSECONDS);
+        for (;;) {
+            Entry<T> entry = mEntry.get();
+            boolean expired = entry != null && entry.mCompleted && now - entry.mCompletedAt >= mTtlNanos;
+            if (entry != null && !expired) {
+                mHits.incrementAndGet();
+                return entry.mCached;
+            }
+            Entry<T> fresh = new Entry<>(this);
+            //lost the race: another subscriber put a fresh entry in, use that one
+            if (mEntry.compareAndSet(entry, fresh)) {
+                if (expired) {
+                    mExpirations.incrementAndGet();
+                }
+                mMisses.incrementAndGet();
+                return fresh.mCached;
+            }
+        }
+    }
+
+    static final class Entry<T> {
+
+        final Observable<T> mCached;
+        //mCompletedAt is written before mCompleted, so a reader that sees mCompleted sees both
+        long mCompletedAt;
+        volatile boolean mCompleted;
+
+        Entry(CachedSource<T> parent) {
+            mCached = Observable.<T>defer(parent.mSupplier)
+                    .doOnSubscribe(d -> parent.mUpstreamSubscriptions.incrementAndGet())
+                    .doOnComplete(() -> {
+                        mCompletedAt = parent.mClock.now(TimeUnit.NANOSECONDS);
+                        mCompleted = true;
+                    })
+                    //do not keep the error for later subscribers
+                    .doOnError(e -> parent.mEntry.compareAndSet(this, null))
+                    .cache();
+        }
+    }
+
+    /**
+     * Counters of one CachedSource.
+     */
+    public static class Report {
+        //Fetches that actually ran
+        public final long upstreamSubscriptions;
+        //Subscribers served by an entry that was already there, fetching or done
+        public final long hits;
+        //Subscribers that had to start a fetch
+        public final long misses;
+        public final long expirations;
+        public final long invalidations;
+
+        Report(long upstreamSubscriptions, long hits, long misses, long expirations, long invalidations) {
+            this.upstreamSubscriptions = upstreamSubscriptions;
+            this.hits = hits;
+            this.misses = misses;
+            this.expirations = expirations;
+            this.invalidations = invalidations;
+        }
+
+        @Override
+        public String toString() {
+            return "upstreamSubscriptions=" + upstreamSubscriptions
+                    + " hits=" + hits
+                    + " misses=" + misses
+                    + " expirations=" + expirations
+                    + " invalidations=" + invalidations;
+        }
+    }
+}
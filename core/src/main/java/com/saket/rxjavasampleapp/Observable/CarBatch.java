@@ -0,0 +1,83 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A batch of cars emitted as a single Observable item, stored as columns: one array of models
+ * and one array of prices instead of one object per car. Price operators then run as plain loops
+ * over an int[].
+ *
+ * Only the first {@link #size()} slots of the arrays are valid. A batch must not be modified
+ * once it has been emitted; the operators in {@link CarBatches} always emit new batches, and may
+ * share the models array between them because of that.
+ */
+public final class CarBatch {
+
+    //Batch not split by price tier
+    public static final int NO_TIER = -1;
+
+    private final String[] mModels;
+    private final int[] mPrices;
+    private final int mSize;
+    private final int mTier;
+
+    public CarBatch(String[] models, int[] prices, int size) {
+        this(models, prices, size, NO_TIER);
+    }
+
+    public CarBatch(String[] models, int[] prices, int size, int tier) {
+        if (size < 0 || size > models.length || size > prices.length) {
+            throw new IllegalArgumentException("size " + size + " out of bounds for lengths "
+                    + models.length + ", " + prices.length);
+        }
+        mModels = models;
+        mPrices = prices;
+        mSize = size;
+        mTier = tier;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    //Price tier shared by every car of the batch, or NO_TIER
+    public int tier() {
+        return mTier;
+    }
+
+    public String model(int index) {
+        checkIndex(index);
+        return mModels[index];
+    }
+
+    public int price(int index) {
+        checkIndex(index);
+        return mPrices[index];
+    }
+
+    /**
+     * @return the backing models array. Read only, and only up to {@link #size()}.
+     */
+    public String[] models() {
+        return mModels;
+    }
+
+    /**
+     * @return the backing prices array. Read only, and only up to {@link #size()}.
+     */
+    public int[] prices() {
+        return mPrices;
+    }
+
+    public void forEach(ObjIntConsumer<String> consumer) {
+        for (int i = 0; i < mSize; i++) {
+            consumer.accept(mModels[i], mPrices[i]);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + " >= size " + mSize);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableConverter;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observables.GroupedObservable;
+
+/**
+ * Batch operators for {@link CarBatch}: one onNext per batch, and the per car work is a loop over
+ * the price column.
+ *
+ * Usage:
+ * <pre>
+ * CarBatches.fromArrays(models, prices, 256)
+ *         .compose(CarBatches.mapPrices(price -> price * 25))
+ *         .compose(CarBatches.filterPrices(price -> price > 0))
+ *         .compose(CarBatches.groupByPriceTier(5000 * 25, 8000 * 25))
+ * </pre>
+ * Batches are never modified in place. mapPrices emits a new price column and shares the models
+ * column of its input, since neither is ever written after emission.
+ */
+public final class CarBatches {
+
+    private CarBatches() {
+    }
+
+    /**
+     * Splits the two columns into batches of batchSize cars, the last batch may be smaller.
+     * Each batch gets its own copy, so the arrays can be reused once this completes.
+     */
+    public static Observable<CarBatch> fromArrays(String[] models, int[] prices, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize > 0 required but it was " + batchSize);
+        }
+        if (models.length != prices.length) {
+            throw new IllegalArgumentException("models and prices differ in length: "
+                    + models.length + " != " + prices.length);
+        }
+        int batchCount = (models.length + batchSize - 1) / batchSize;
+        return Observable.range(0, batchCount)
+                .map(index -> {
+                    int from = index * batchSize;
+                    int to = Math.min(from + batchSize, models.length);
+                    return new CarBatch(Arrays.copyOfRange(models, from, to),
+                            Arrays.copyOfRange(prices, from, to), to - from);
+                });
+    }
+
+    //Price conversion for every car of the batch, the models are shared with the input batch
+    public static ObservableTransformer<CarBatch, CarBatch> mapPrices(IntUnaryOperator mapper) {
+        return upstream -> upstream.map(batch -> {
+            int size = batch.size();
+            int[] source = batch.prices();
+            int[] mapped = new int[size];
+            for (int i = 0; i < size; i++) {
+                mapped[i] = mapper.applyAsInt(source[i]);
+            }
+            return new CarBatch(batch.models(), mapped, size, batch.tier());
+        });
+    }
+
+    /**
+     * Keeps the cars whose price matches predicate. Batches left empty are dropped, so
+     * downstream batches can be smaller than the source batch size.
+     */
+    public static ObservableTransformer<CarBatch, CarBatch> filterPrices(IntPredicate predicate) {
+        return upstream -> upstream.map(batch -> {
+            int size = batch.size();
+            String[] models = batch.models();
+            int[] prices = batch.prices();
+            String[] keptModels = new String[size];
+            int[] keptPrices = new int[size];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (predicate.test(prices[i])) {
+                    keptModels[kept] = models[i];
+                    keptPrices[kept] = prices[i];
+                    kept++;
+                }
+            }
+            return new CarBatch(keptModels, keptPrices, kept, batch.tier());
+        }).filter(batch -> batch.size() > 0);
+    }
+
+    /**
+     * Splits every batch into one batch per price tier. Tier i holds the prices below
+     * tierUpperBounds[i] (and at or above the previous bound), the last tier everything above
+     * the last bound. Bounds must be ascending. Order is kept within a tier.
+     */
+    public static ObservableTransformer<CarBatch, CarBatch> splitByPriceTier(int... tierUpperBounds) {
+        for (int i = 1; i < tierUpperBounds.length; i++) {
+            if (tierUpperBounds[i] <= tierUpperBounds[i - 1]) {
+                throw new IllegalArgumentException("tierUpperBounds must be ascending");
+            }
+        }
+        int tierCount = tierUpperBounds.length + 1;
+        return upstream -> upstream.concatMapIterable(batch -> {
+            int size = batch.size();
+            String[] models = batch.models();
+            int[] prices = batch.prices();
+            //first pass counts, so each tier batch is allocated at its exact size
+            int[] tiers = new int[size];
+            int[] counts = new int[tierCount];
+            for (int i = 0; i < size; i++) {
+                int tier = tierOf(prices[i], tierUpperBounds);
+                tiers[i] = tier;
+                counts[tier]++;
+            }
+            String[][] tierModels = new String[tierCount][];
+            int[][] tierPrices = new int[tierCount][];
+            for (int tier = 0; tier < tierCount; tier++) {
+                tierModels[tier] = new String[counts[tier]];
+                tierPrices[tier] = new int[counts[tier]];
+            }
+            int[] filled = new int[tierCount];
+            for (int i = 0; i < size; i++) {
+                int tier = tiers[i];
+                int slot = filled[tier]++;
+                tierModels[tier][slot] = models[i];
+                tierPrices[tier][slot] = prices[i];
+            }
+            List<CarBatch> split = new ArrayList<>(tierCount);
+            for (int tier = 0; tier < tierCount; tier++) {
+                if (counts[tier] > 0) {
+                    split.add(new CarBatch(tierModels[tier], tierPrices[tier], counts[tier], tier));
+                }
+            }
+            return split;
+        });
+    }
+
+    /**
+     * groupBy by price tier, with one group lookup per tier batch instead of one per car.
+     * See {@link #splitByPriceTier(int...)} for the tiers.
+     */
+    public static ObservableTransformer<CarBatch, GroupedObservable<Integer, CarBatch>> groupByPriceTier(
+            int... tierUpperBounds) {
+        return upstream -> upstream
+                .compose(splitByPriceTier(tierUpperBounds))
+                .groupBy(CarBatch::tier);
+    }
+
+    //Sum of every price of every batch, only the final result is boxed
+    public static ObservableConverter<CarBatch, Single<Long>> sumPrices() {
+        return upstream -> upstream
+                .collect(() -> new long[1], (accumulator, batch) -> {
+                    int size = batch.size();
+                    int[] prices = batch.prices();
+                    long sum = accumulator[0];
+                    for (int i = 0; i < size; i++) {
+                        sum += prices[i];
+                    }
+                    accumulator[0] = sum;
+                })
+                .map(accumulator -> accumulator[0]);
+    }
+
+    static int tierOf(int price, int[] tierUpperBounds) {
+        int tier = 0;
+        while (tier < tierUpperBounds.length && price >= tierUpperBounds[tier]) {
+            tier++;
+        }
+        return tier;
+    }
+}
@@ -0,0 +1,281 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+
+/**
+ * debounce, throttleLatest and sample with at most one pending timer per subscriber.
+ *
+ * Stock debounce() schedules a new task for every item and disposes the previous one, so a
+ * busy source costs one timer insert and one cancel per item. Here an item only stores itself
+ * as the latest value and the time it arrived. The single timer checks, when it fires, whether
+ * the window has really passed and otherwise re-arms itself for the remaining time, so timer
+ * work scales with the number of windows, not the number of items.
+ *
+ * Items and timer callbacks meet in a queue-drain loop: whichever thread gets there first emits,
+ * the other one only leaves a note, so the upstream thread never waits on a lock.
+ *
+ * <pre>
+ * source.compose(Coalesce.debounce(2000, TimeUnit.MILLISECONDS, Schedulers.computation()))
+ * </pre>
+ */
+public final class Coalesce<T> implements ObservableTransformer<T, T> {
+
+    public enum Mode {
+        //Emit the latest item once no item arrived for a whole window. The last item is emitted
+        //on completion, like debounce().
+        DEBOUNCE,
+        //Emit the first item right away, then at most the latest item per window, like
+        //throttleLatest(). Pending items are dropped on completion.
+        THROTTLE_LATEST,
+        //Emit the latest item at the end of every window, like sample(). The timer stops while
+        //no items arrive and restarts with the next item, so the windows are not aligned to the
+        //subscription time. Pending items are dropped on completion.
+        SAMPLE
+    }
+
+    private final Mode mMode;
+    private final long mWindowNanos;
+    private final Scheduler mScheduler;
+    //Timers armed by every subscriber of this transformer
+    private final AtomicLong mScheduledTimers = new AtomicLong();
+
+    public Coalesce(Mode mode, long window, TimeUnit unit, Scheduler scheduler) {
+        mMode = mode;
+        mWindowNanos = unit.toNanos(window);
+        mScheduler = scheduler;
+    }
+
+    public static <T> Coalesce<T> debounce(long window, TimeUnit unit, Scheduler scheduler) {
+        return new Coalesce<>(Mode.DEBOUNCE, window, unit, scheduler);
+    }
+
+    public static <T> Coalesce<T> throttleLatest(long window, TimeUnit unit, Scheduler scheduler) {
+        return new Coalesce<>(Mode.THROTTLE_LATEST, window, unit, scheduler);
+    }
+
+    public static <T> Coalesce<T> sample(long window, TimeUnit unit, Scheduler scheduler) {
+        return new Coalesce<>(Mode.SAMPLE, window, unit, scheduler);
+    }
+
+    public long scheduledTimers() {
+        return mScheduledTimers.get();
+    }
+
+    @NonNull
+    @Override
+    public ObservableSource<T> apply(@NonNull Observable<T> upstream) {
+        return new Observable<T>() {
+            @Override
+            protected void subscribeActual(@NonNull Observer<? super T> observer) {
+                upstream.subscribe(new CoalescingObserver<>(observer, mMode, mWindowNanos,
+                        mScheduler.createWorker(), mScheduledTimers));
+            }
+        };
+    }
+
+    static final class CoalescingObserver<T> extends AtomicInteger implements Observer<T>, Disposable, Runnable {
+
+        private final Observer<? super T> mDownstream;
+        private final Mode mMode;
+        private final long mWindowNanos;
+        private final Scheduler.Worker mWorker;
+        private final AtomicLong mScheduledTimers;
+
+        //Written by the upstream thread
+        private final AtomicReference<T> mLatest = new AtomicReference<>();
+        private volatile long mLastItemNanos;
+        //DEBOUNCE only, guarded by this: bumped with every item, so the drain can tell a newer
+        //item from the one it looked at even when it is the same instance
+        private long mGeneration;
+        private volatile boolean mDone;
+        private Throwable mError;
+
+        //Written by the timer
+        private final AtomicBoolean mTimerFired = new AtomicBoolean();
+
+        //Only touched inside drain()
+        private boolean mTimerArmed;
+        private boolean mTerminated;
+
+        private Disposable mUpstream;
+        private volatile boolean mDisposed;
+
+        CoalescingObserver(Observer<? super T> downstream, Mode mode, long windowNanos,
+                           Scheduler.Worker worker, AtomicLong scheduledTimers) {
+            mDownstream = downstream;
+            mMode = mode;
+            mWindowNanos = windowNanos;
+            mWorker = worker;
+            mScheduledTimers = scheduledTimers;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            if (DisposableHelper.validate(mUpstream, d)) {
+                mUpstream = d;
+                mDownstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(@NonNull T t) {
+            if (mMode == Mode.DEBOUNCE) {
+                synchronized (this) {
+                    mLastItemNanos = mWorker.now(TimeUnit.NANOSECONDS);
+                    mLatest.set(t);
+                    mGeneration++;
+                }
+            } else {
+                mLatest.set(t);
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            mError = e;
+            mDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            mDone = true;
+            drain();
+        }
+
+        //Timer callback
+        @Override
+        public void run() {
+            mTimerFired.set(true);
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            mDisposed = true;
+            mUpstream.dispose();
+            mWorker.dispose();
+            if (getAndIncrement() == 0) {
+                mLatest.lazySet(null);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (mDisposed || mTerminated) {
+                    mLatest.lazySet(null);
+                    return;
+                }
+                boolean fired = mTimerFired.getAndSet(false);
+                if (fired) {
+                    mTimerArmed = false;
+                }
+                boolean done = mDone;
+
+                switch (mMode) {
+                    case DEBOUNCE: {
+                        T latest;
+                        long generation;
+                        long lastItemNanos;
+                        synchronized (this) {
+                            latest = mLatest.get();
+                            generation = mGeneration;
+                            lastItemNanos = mLastItemNanos;
+                        }
+                        if (latest != null && !done) {
+                            long quietNanos = mWorker.now(TimeUnit.NANOSECONDS) - lastItemNanos;
+                            if (quietNanos >= mWindowNanos) {
+                                boolean quiet;
+                                synchronized (this) {
+                                    //false if a newer item just arrived, it is looked at in the next round
+                                    quiet = mGeneration == generation;
+                                    if (quiet) {
+                                        mLatest.set(null);
+                                    }
+                                }
+                                if (quiet) {
+                                    mDownstream.onNext(latest);
+                                }
+                            } else if (!mTimerArmed) {
+                                arm(mWindowNanos - quietNanos);
+                            }
+                        }
+                        break;
+                    }
+                    case THROTTLE_LATEST: {
+                        if (!mTimerArmed && !done) {
+                            T latest = mLatest.getAndSet(null);
+                            if (latest != null) {
+                                mDownstream.onNext(latest);
+                                arm(mWindowNanos);
+                            }
+                        }
+                        break;
+                    }
+                    default: {
+                        if (fired && !done) {
+                            T latest = mLatest.getAndSet(null);
+                            if (latest != null) {
+                                mDownstream.onNext(latest);
+                            }
+                        }
+                        if (!mTimerArmed && !done && mLatest.get() != null) {
+                            arm(mWindowNanos);
+                        }
+                        break;
+                    }
+                }
+
+                if (done) {
+                    mTerminated = true;
+                    mWorker.dispose();
+                    T latest = mLatest.getAndSet(null);
+                    Throwable error = mError;
+                    if (error != null) {
+                        mDownstream.onError(error);
+                    } else {
+                        if (mMode == Mode.DEBOUNCE && latest != null) {
+                            mDownstream.onNext(latest);
+                        }
+                        mDownstream.onComplete();
+                    }
+                    return;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void arm(long delayNanos) {
+            mTimerArmed = true;
+            mScheduledTimers.incrementAndGet();
+            mWorker.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
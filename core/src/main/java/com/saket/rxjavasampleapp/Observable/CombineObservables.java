@@ -1,12 +1,19 @@
 package com.saket.rxjavasampleapp.Observable;
 
-import android.util.Log;
+import com.saket.rxjavasampleapp.EventSink;
+import com.saket.rxjavasampleapp.Flowable.SortedMerge;
+import com.saket.rxjavasampleapp.SimulatedWork;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
 import io.reactivex.rxjava3.disposables.Disposable;
@@ -21,6 +28,12 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 public class CombineObservables {
 
     private static final String TAG = "CombineObservables";
+    private final EventSink mEventSink;
+
+    public CombineObservables(EventSink eventSink) {
+        mEventSink = eventSink;
+    }
+
     //CombineLatest
     /*
     when an item is emitted by either of two Observables,
@@ -42,7 +55,19 @@ public class CombineObservables {
                 .subscribe(new Consumer<String>() {
                     @Override
                     public void accept(String s) throws Exception {
-                        Log.d(TAG, "accept: " + s);
+                        mEventSink.event(TAG, "accept: ", s);
+                    }
+                });
+    }
+
+    //Same as above for many sensor streams, each reading every 100ms. The combiner only reads the
+    //array to build the average, so the array can be reused for every emission.
+    public void combineManySourcesUsingCombineLatest(int sensorCount) {
+        ManySourceCombine.combineLatest(sensorStreams(sensorCount, 100), this::average, true)
+                .subscribe(new Consumer<String>() {
+                    @Override
+                    public void accept(String s) throws Exception {
+                        mEventSink.event(TAG, "accept: ", s);
                     }
                 });
     }
@@ -66,22 +91,22 @@ for any two overlapping items emitted by the two Observables
 
 Difference between combineLatest and join??
      */
+    //Below joins every left value with the same right value if they arrive less than 4 seconds
+    //apart. The right side runs 3 ahead, so left 5 meets right 5 that came 3 seconds earlier.
+    //Observable.join would have to pair every left with every right in the window and leave the
+    //key check to the result selector, WindowedJoin only looks at the items with the same key.
     public void useJointoCombineObservables() {
         //Define both observables
-        /*
         Observable<Long> leftobservable = Observable.intervalRange(0,20, 0, 1000, TimeUnit.MILLISECONDS);
         Observable<Long> rightobservable = Observable.intervalRange(3,25, 0, 1000, TimeUnit.MILLISECONDS);
-        leftobservable.join(rightobservable,
-                new Function<Long, ObservableSource<Long extends Object>>() {
-                    @Override
-                    public ObservableSource<Long extends Object> apply(Long aLong) throws Exception {
-                        return Observable.timer(0, TimeUnit.MILLISECONDS);
-                    }
-                }), along -> Observable.timer(0, TimeUnit.MILLISECONDS),
-                (l, r) -> {
-                    System.out.println("Left result: " + l + " Right Result: " + r);
-                    return l + r;
-                })*/
+        WindowedJoin<Long, Long, Long, String> join = new WindowedJoin<>(l -> l, r -> r,
+                (l, r) -> "Left result: " + l + " Right Result: " + r,
+                WindowedJoin.Window.SLIDING, 4000, TimeUnit.MILLISECONDS, Schedulers.computation());
+        join.join(leftobservable, rightobservable)
+                .doOnNext(value -> mEventSink.event(TAG, value))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .doOnComplete(() -> mEventSink.event(TAG, "onComplete: ", join.report()))
+                .subscribe();
     }
 
 /*
@@ -121,27 +146,80 @@ Difference between combineLatest and join??
                 .subscribe(new Observer<Integer>() {
                     @Override
                     public void onSubscribe(Disposable d) {
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(Integer integer) {
-                        Log.d(TAG, "onNext: " + integer);
+                        mEventSink.event(TAG, "onNext: ", integer);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.e(TAG, "onError: ", e);
+                        mEventSink.error(TAG, "onError: ", e);
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
 
 
+    //The API request case from the comment above: a screen asks for the price of every car it
+    //shows, one request per car, and merges the responses. Some cars show up in several rows and
+    //all requests go out within a few ms, so RequestCollapser turns the 10 requests into one
+    //bulk call for the 4 distinct cars. fetchCarPrices stands in for GET /cars/prices?ids=...
+    public void useCollapsedRequestsToCombineObservables() {
+        RequestCollapser<Integer, Integer> prices = new RequestCollapser<>(this::fetchCarPrices,
+                10, TimeUnit.MILLISECONDS, 50, Schedulers.computation());
+        List<Observable<String>> lstObservables = new ArrayList<>();
+        for (int carId : new int[]{1, 2, 1, 3, 2, 1, 4, 3, 2, 1}) {
+            lstObservables.add(prices.get(carId).map(price -> "Car " + carId + " price: " + price));
+        }
+        Observable.merge(lstObservables)
+                .doOnNext(value -> mEventSink.event(TAG, value))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .doOnComplete(() -> mEventSink.event(TAG, "onComplete: ", prices.report()))
+                .subscribe();
+    }
+
+    private Observable<Map<Integer, Integer>> fetchCarPrices(List<Integer> carIds) {
+        mEventSink.event(TAG, "Fetching prices, cars: ", carIds.size());
+        Map<Integer, Integer> prices = new HashMap<>();
+        for (int carId : carIds) {
+            prices.put(carId, 1000 * carId);
+        }
+        return SimulatedWork.after(prices, 300);
+    }
+
+
+    //Sorted merge
+    //merge above emits in arrival order, so to get all numbers sorted we would have to collect
+    //both lists and sort them. Both sources are sorted already, so SortedMerge can emit 1..10 in
+    //order as they stream, whatever the delays are. It works on Flowables because it asks every
+    //source for at most prefetch items at a time, here 2.
+    public void useSortedMergeToCombineObservables() {
+        Integer[] arrEvenNumbers = new Integer[]{2,4,6,8,10};
+        int randomDelay1 = new Random().nextInt(10);
+        Flowable<Integer> evenFlowable = Flowable.fromArray(arrEvenNumbers)
+                .delay(randomDelay1, TimeUnit.SECONDS);
+
+        Integer[] arrOddNumbers = new Integer[]{1,3,5,7,9};
+        int randomDelay2 = new Random().nextInt(10);
+        Flowable<Integer> oddFlowable = Flowable.fromArray(arrOddNumbers)
+                .delay(randomDelay2, TimeUnit.SECONDS);
+
+        SortedMerge.merge(Arrays.asList(evenFlowable, oddFlowable), Comparator.<Integer>naturalOrder(), 2)
+                .doOnSubscribe(subscription -> mEventSink.event(TAG, "onSubscribe: "))
+                .doOnNext(integer -> mEventSink.event(TAG, "onNext: ", integer))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .doOnComplete(() -> mEventSink.event(TAG, "onComplete: "))
+                .subscribe();
+    }
+
+
     //Concat
     //Concat operator is similar to Merge operator in that it emits items from each observable. But unlike
     //Merge operator, it does so in a sequential manner. So in this case the sequence is always the same.
@@ -165,22 +243,22 @@ Difference between combineLatest and join??
                 .subscribe(new Observer<Integer>() {
                     @Override
                     public void onSubscribe(Disposable d) {
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(Integer integer) {
-                        Log.d(TAG, "onNext: " + integer);
+                        mEventSink.event(TAG, "onNext: ", integer);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.e(TAG, "onError: ", e);
+                        mEventSink.error(TAG, "onError: ", e);
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
@@ -216,10 +294,42 @@ Difference between combineLatest and join??
                 return "Combining emit " + objects[0] + " from observable 1 with emit " + objects[1] + " from observable 2";
             }
         })
-                .doOnSubscribe(disposable -> Log.d(TAG, "doOnSubscribe called"))
-                .doOnNext(value -> Log.d(TAG, value))
-                .doOnError(throwable -> Log.d(TAG, throwable.getLocalizedMessage()))
-                .doOnComplete(() -> Log.d(TAG, "doOnComplete called"))
+                .doOnSubscribe(disposable -> mEventSink.event(TAG, "doOnSubscribe called"))
+                .doOnNext(value -> mEventSink.event(TAG, value))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .doOnComplete(() -> mEventSink.event(TAG, "doOnComplete called"))
+                .subscribe();
+    }
+
+    //zip for many sensor streams: one emission per round of readings, once every sensor has
+    //reported. The sensors report at different rates, so the zip runs at the pace of the slowest.
+    public void useManySourceZipToCombineObservables(int sensorCount) {
+        List<Observable<Long>> sensors = new ArrayList<>();
+        for (int i = 0; i < sensorCount; i++) {
+            sensors.add(Observable.intervalRange(0, 10, 0, 100 + 10 * i, TimeUnit.MILLISECONDS));
+        }
+        ManySourceCombine.zip(sensors, this::average, true)
+                .doOnSubscribe(disposable -> mEventSink.event(TAG, "doOnSubscribe called"))
+                .doOnNext(value -> mEventSink.event(TAG, value))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .doOnComplete(() -> mEventSink.event(TAG, "doOnComplete called"))
                 .subscribe();
     }
+
+    private List<Observable<Long>> sensorStreams(int sensorCount, long periodMillis) {
+        List<Observable<Long>> sensors = new ArrayList<>();
+        for (int i = 0; i < sensorCount; i++) {
+            sensors.add(Observable.intervalRange(0, 20, 0, periodMillis, TimeUnit.MILLISECONDS));
+        }
+        return sensors;
+    }
+
+    //Reads the row only, never keeps it
+    private String average(Object[] readings) {
+        long sum = 0;
+        for (Object reading : readings) {
+            sum += (Long) reading;
+        }
+        return "Average of " + readings.length + " sensors: " + (sum / readings.length);
+    }
 }
@@ -1,28 +1,36 @@
 package com.saket.rxjavasampleapp.Observable;
 
-import android.app.Activity;
-import android.util.Log;
-import android.widget.Toast;
+import com.saket.rxjavasampleapp.EventSink;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.ObservableEmitter;
 import io.reactivex.rxjava3.core.ObservableOnSubscribe;
 import io.reactivex.rxjava3.core.ObservableSource;
 import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * Created by sshriwas on 2020-03-07
  */
 public class CreateObservables {
         private static final String TAG = "CreateObservables";
+        private final EventSink mEventSink;
+        //AndroidSchedulers.mainThread() in the app. Injected so this class has no Android dependency.
+        private final Scheduler mMainThreadScheduler;
+
+        public CreateObservables(EventSink eventSink, Scheduler mainThreadScheduler) {
+            mEventSink = eventSink;
+            mMainThreadScheduler = mainThreadScheduler;
+        }
 
         public interface updateValueListener {
             void updateUI(String val);
@@ -30,7 +38,7 @@ public class CreateObservables {
 
     //Create - used to create observable from scratch.
     //here you have to manually invoke the emit's onNext(), onComplete and onError() callbacks.
-    public void useCreateforObservable(Activity activity) {
+    public void useCreateforObservable(updateValueListener instance) {
         String[] arrDays = new String[]{"Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday"
                 , "Saturday"};
         //ObservableOnSubscribe is a Functional Interface(FI) with a single method
@@ -55,26 +63,26 @@ public class CreateObservables {
                     @Override
                     public void onSubscribe(Disposable d) {
 
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(String s) {
                         Thread currentThread = Thread.currentThread();
-                        Log.d(TAG, "onNext: " + currentThread); //Just to confirm that by default
+                        mEventSink.event(TAG, "onNext: ", currentThread); //Just to confirm that by default
                         //values are emitted on main thread.
-                        Toast.makeText(activity, "" + s, Toast.LENGTH_SHORT).show();
-                        Log.d(TAG, "onNext: " + s);
+                        instance.updateUI(s);
+                        mEventSink.event(TAG, "onNext: ", s);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.e(TAG, "onError: ", e);
+                        mEventSink.error(TAG, "onError: ", e);
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
@@ -97,22 +105,24 @@ public class CreateObservables {
         Observer<Car> carObserver = new Observer<Car>() {
             @Override
             public void onSubscribe(Disposable d) {
-                Log.d(TAG, "onSubscribe: ");
+                mEventSink.event(TAG, "onSubscribe: ");
             }
 
             @Override
             public void onNext(Car car) {
-                Log.d(TAG, "Car Model: " + car.carModel + ", Car price: " + car.carPrice);
+                if (mEventSink.isEnabled()) {
+                    mEventSink.event(TAG, "Car Model: " + car.carModel + ", Car price: " + car.carPrice);
+                }
             }
 
             @Override
             public void onError(Throwable e) {
-                Log.e(TAG, "onError: ", e);
+                mEventSink.error(TAG, "onError: ", e);
             }
 
             @Override
             public void onComplete() {
-                Log.d(TAG, "onComplete: ");
+                mEventSink.event(TAG, "onComplete: ");
             }
         };
 
@@ -143,22 +153,24 @@ public class CreateObservables {
         Observer<Car> carObserver = new Observer<Car>() {
             @Override
             public void onSubscribe(Disposable d) {
-                Log.d(TAG, "onSubscribe: ");
+                mEventSink.event(TAG, "onSubscribe: ");
             }
 
             @Override
             public void onNext(Car car) {
-                Log.d(TAG, "Car Model: " + car.carModel + ", Car price: " + car.carPrice);
+                if (mEventSink.isEnabled()) {
+                    mEventSink.event(TAG, "Car Model: " + car.carModel + ", Car price: " + car.carPrice);
+                }
             }
 
             @Override
             public void onError(Throwable e) {
-                Log.e(TAG, "onError: ", e);
+                mEventSink.error(TAG, "onError: ", e);
             }
 
             @Override
             public void onComplete() {
-                Log.d(TAG, "onComplete: ");
+                mEventSink.event(TAG, "onComplete: ");
             }
         };
 
@@ -171,30 +183,30 @@ public class CreateObservables {
     public void useRangeforObservables(updateValueListener instance) {
         //Observable.range(1, 25)
         Observable.intervalRange(1,26,2500,1000, TimeUnit.MILLISECONDS)
-                .observeOn(AndroidSchedulers.mainThread())  //Seems we need to observe on mainthread or else
+                .observeOn(mMainThreadScheduler)  //Seems we need to observe on mainthread or else
                 //it throws exception - //Caused by: android.view.ViewRootImpl$CalledFromWrongThreadException: Only the original thread that created a view hierarchy can touch its views.
                 //but that mean that the observable is being created on a separate thread and being observed on that thread?
                 .subscribe(new Observer<Long>() {
                     @Override
                     public void onSubscribe(Disposable d) {
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(Long lng) {
-                        Log.d(TAG, "onNext: " + lng);
+                        mEventSink.event(TAG, "onNext: ", lng);
                         //Update UI
                         instance.updateUI("" + lng);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.e(TAG, "onError: ", e);
+                        mEventSink.error(TAG, "onError: ", e);
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
@@ -232,22 +244,24 @@ public class CreateObservables {
             .subscribe(new Observer<Car>() {
                 @Override
                 public void onSubscribe(Disposable d) {
-                    Log.d(TAG, "onSubscribe: ");
+                    mEventSink.event(TAG, "onSubscribe: ");
                 }
 
                 @Override
                 public void onNext(Car car) {
-                    Log.d(TAG, "Car Model: " + car.carModel + ", Car price: " + car.carPrice);
+                    if (mEventSink.isEnabled()) {
+                        mEventSink.event(TAG, "Car Model: " + car.carModel + ", Car price: " + car.carPrice);
+                    }
                 }
 
                 @Override
                 public void onError(Throwable e) {
-                    Log.e(TAG, "onError: ", e);
+                    mEventSink.error(TAG, "onError: ", e);
                 }
 
                 @Override
                 public void onComplete() {
-                    Log.d(TAG, "onComplete: ");
+                    mEventSink.event(TAG, "onComplete: ");
                 }
             });
         }
@@ -258,7 +272,7 @@ public class CreateObservables {
      * Shift the emissions from an Observable forward in time by a particular amount.
      * We can use the take(n) operator to consider only n emissions from the observable
      */
-    public void useintervalforObservable(Activity activity) {
+    public void useintervalforObservable(updateValueListener instance) {
         //Suppose we want an initial delay of 2 secs and then a delay of 1 sec for each car emission..
         Observable.interval(2000,1000,TimeUnit.MILLISECONDS)
                 //flatmap function has input long which represents time and output Car
@@ -279,33 +293,35 @@ public class CreateObservables {
                 .doAfterNext(new Consumer<Car>() {
                     @Override
                     public void accept(Car car) throws Exception {
-                        Log.d(TAG, "accept: " + Thread.currentThread().getName());  //Here default thread is not mainThread.
+                        mEventSink.event(TAG, "accept: ", Thread.currentThread().getName());  //Here default thread is not mainThread.
                         //instead it is RxComputationThreadPool.
                     }
                 })
-                //.observeOn(AndroidSchedulers.mainThread())    used to observe values on main thread.
+                //.observeOn(mMainThreadScheduler)    used to observe values on main thread.
                 .subscribe(new Observer<Car>() {
             @Override
             public void onSubscribe(Disposable d) {
-                Log.d(TAG, "onSubscribe: ");
+                mEventSink.event(TAG, "onSubscribe: ");
             }
 
             @Override
             public void onNext(Car car) {
-                Log.d(TAG, "onNext: " + car.carModel + ", price: " + car.carPrice);
+                if (mEventSink.isEnabled()) {
+                    mEventSink.event(TAG, "onNext: " + car.carModel + ", price: " + car.carPrice);
+                }
                 //Since this is not main thread, the following statement will not work.
                 //So instead we use observeOn operator to observe values on main thread. Then it works.
-                //Toast.makeText(activity, "" + car.carModel, Toast.LENGTH_SHORT).show();
+                //instance.updateUI(car.carModel);
             }
 
             @Override
             public void onError(Throwable e) {
-                Log.e(TAG, "onError: ", e);
+                mEventSink.error(TAG, "onError: ", e);
             }
 
             @Override
             public void onComplete() {
-                Log.d(TAG, "onComplete: ");
+                mEventSink.event(TAG, "onComplete: ");
             }
         });
     }
@@ -313,8 +329,30 @@ public class CreateObservables {
 
     //Defer - do not create the Observable until the observer subscribes,
     // and create a fresh Observable for each observer
+    //A fresh Observable per observer also means a fresh fetch per observer when it wraps one.
+    //CachedSource puts a shared cache behind defer: the first two observers below subscribe at
+    //once and share one 500ms fetch, the third one comes 1s later and gets the cached cars, the
+    //fourth comes after invalidate() and fetches again. Entries also expire after 5s.
     public void usedeferforObservable() {
-        //Observable.defer(new )
+        AtomicInteger fetches = new AtomicInteger();
+        CachedSource<Car> cars = new CachedSource<>(() -> {
+            mEventSink.event(TAG, "Fetching cars, fetch: ", fetches.incrementAndGet());
+            return Observable.fromArray(new Car("Model 1", 1000), new Car("Model 2", 2000))
+                    .delay(500, TimeUnit.MILLISECONDS);
+        }, 5, TimeUnit.SECONDS, Schedulers.computation());
+        Observable<Car> source = cars.observable();
+        Consumer<Car> onNext = car -> mEventSink.event(TAG, "Car price: ", car.carPrice);
+        Consumer<Throwable> onError = throwable -> mEventSink.error(TAG, "onError: ", throwable);
+
+        source.subscribe(onNext, onError);
+        source.subscribe(onNext, onError);
+        Observable.timer(1, TimeUnit.SECONDS)
+                .flatMap(tick -> source)
+                .subscribe(onNext, onError);
+        Observable.timer(2, TimeUnit.SECONDS)
+                .doOnNext(tick -> cars.invalidate())
+                .flatMap(tick -> source)
+                .subscribe(onNext, onError, () -> mEventSink.event(TAG, "onComplete: ", cars.report()));
     }
 
     //Delay - introduces a delay at beginning of creating an observable
@@ -333,22 +371,22 @@ public class CreateObservables {
                 .subscribe(new Observer<String>() {
                     @Override
                     public void onSubscribe(Disposable d) {
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(String s) {
-                        Log.d(TAG, "onNext: " + s);
+                        mEventSink.event(TAG, "onNext: ", s);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.e(TAG, "onError: ", e);
+                        mEventSink.error(TAG, "onError: ", e);
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
@@ -0,0 +1,272 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * groupBy for small, dense key spaces (enum ordinals, small ints).
+ *
+ * Subscribe it to the source instead of groupBy(): the key is a primitive int in
+ * [0, keyCount) and picks the group by array index, so routing an item is one array load, with
+ * no HashMap lookup, no boxed key and no queue per group. Each group is an Observer created by
+ * groupFactory the first time its key shows up. Items are delivered synchronously on the
+ * thread that emitted them, in the order they arrived.
+ *
+ * With an idle timeout, groups that got no item for that long are completed and dropped, and
+ * created again if their key comes back, like a GroupedObservable whose subscriber disposed.
+ * A worker of the clock looks for idle groups every half timeout, also while the source is
+ * silent, so a group is completed between 1 and 1.5 timeouts after its last item, on the
+ * clock's thread. Items and the sweep then take a lock so a group sees one signal at a time.
+ * Without a timeout (the 3 argument constructor) the clock is never used and there is no lock.
+ *
+ * Upstream completion or error is forwarded to every open group. A key outside the range
+ * disposes the upstream and fails all groups with an IndexOutOfBoundsException.
+ */
+public class DenseGroupBy<T> implements Observer<T>, Disposable {
+
+    private final ToIntFunction<? super T> mKeySelector;
+    private final IntFunction<? extends Observer<? super T>> mGroupFactory;
+    private final Observer<? super T>[] mGroups;
+    private final long[] mLastItemNanos;
+    private final long mIdleTimeoutNanos;
+    private final Scheduler mClock;
+
+    private Disposable mUpstream;
+    private Scheduler.Worker mSweeper;
+    private boolean mDone;
+
+    private int mOpenGroups;
+    private int mPeakOpenGroups;
+    private long mGroupsCreated;
+    private long mGroupsEvicted;
+    private long mRouted;
+
+    public DenseGroupBy(int keyCount, ToIntFunction<? super T> keySelector,
+                        IntFunction<? extends Observer<? super T>> groupFactory) {
+        this(keyCount, keySelector, groupFactory, 0, TimeUnit.NANOSECONDS, null);
+    }
+
+    /**
+     * @param idleTimeout groups without an item for this long are completed and dropped.
+     * @param clock       time source for the idle timeout, e.g. Schedulers.computation() or a
+     *                    TestScheduler in tests.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public DenseGroupBy(int keyCount, ToIntFunction<? super T> keySelector,
+                        IntFunction<? extends Observer<? super T>> groupFactory,
+                        long idleTimeout, TimeUnit unit, Scheduler clock) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("keyCount > 0 required but it was " + keyCount);
+        }
+        mKeySelector = keySelector;
+        mGroupFactory = groupFactory;
+        mGroups = new Observer[keyCount];
+        mIdleTimeoutNanos = clock == null ? 0 : unit.toNanos(idleTimeout);
+        mLastItemNanos = mIdleTimeoutNanos > 0 ? new long[keyCount] : null;
+        mClock = clock;
+    }
+
+    @Override
+    public void onSubscribe(@NonNull Disposable d) {
+        if (DisposableHelper.validate(mUpstream, d)) {
+            mUpstream = d;
+            if (mIdleTimeoutNanos > 0) {
+                long period = Math.max(1, mIdleTimeoutNanos / 2);
+                mSweeper = mClock.createWorker();
+                mSweeper.schedulePeriodically(this::sweep, period, period, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void onNext(@NonNull T t) {
+        if (mSweeper == null) {
+            route(t);
+        } else {
+            synchronized (this) {
+                route(t);
+            }
+        }
+    }
+
+    private void route(T t) {
+        if (mDone) {
+            return;
+        }
+        int key;
+        try {
+            key = mKeySelector.applyAsInt(t);
+        } catch (Throwable e) {
+            mUpstream.dispose();
+            onError(e);
+            return;
+        }
+        if (key < 0 || key >= mGroups.length) {
+            mUpstream.dispose();
+            onError(new IndexOutOfBoundsException("key " + key + " outside [0, " + mGroups.length + ")"));
+            return;
+        }
+        if (mIdleTimeoutNanos > 0) {
+            mLastItemNanos[key] = mClock.now(TimeUnit.NANOSECONDS);
+        }
+        Observer<? super T> group = mGroups[key];
+        if (group == null) {
+            group = mGroupFactory.apply(key);
+            group.onSubscribe(Disposable.empty());
+            mGroups[key] = group;
+            mGroupsCreated++;
+            mOpenGroups++;
+            if (mOpenGroups > mPeakOpenGroups) {
+                mPeakOpenGroups = mOpenGroups;
+            }
+        }
+        mRouted++;
+        group.onNext(t);
+    }
+
+    //Every half timeout on mSweeper, so a group lives between 1 and 1.5 timeouts after its last item
+    private synchronized void sweep() {
+        if (mDone) {
+            return;
+        }
+        long now = mClock.now(TimeUnit.NANOSECONDS);
+        for (int key = 0; key < mGroups.length; key++) {
+            Observer<? super T> group = mGroups[key];
+            if (group != null && now - mLastItemNanos[key] >= mIdleTimeoutNanos) {
+                mGroups[key] = null;
+                mOpenGroups--;
+                mGroupsEvicted++;
+                group.onComplete();
+            }
+        }
+    }
+
+    @Override
+    public void onError(@NonNull Throwable e) {
+        if (mSweeper == null) {
+            fail(e);
+        } else {
+            synchronized (this) {
+                fail(e);
+            }
+            mSweeper.dispose();
+        }
+    }
+
+    private void fail(Throwable e) {
+        if (mDone) {
+            RxJavaPlugins.onError(e);
+            return;
+        }
+        mDone = true;
+        for (int key = 0; key < mGroups.length; key++) {
+            Observer<? super T> group = mGroups[key];
+            if (group != null) {
+                mGroups[key] = null;
+                group.onError(e);
+            }
+        }
+        mOpenGroups = 0;
+    }
+
+    @Override
+    public void onComplete() {
+        if (mSweeper == null) {
+            complete();
+        } else {
+            synchronized (this) {
+                complete();
+            }
+            mSweeper.dispose();
+        }
+    }
+
+    private void complete() {
+        if (mDone) {
+            return;
+        }
+        mDone = true;
+        for (int key = 0; key < mGroups.length; key++) {
+            Observer<? super T> group = mGroups[key];
+            if (group != null) {
+                mGroups[key] = null;
+                group.onComplete();
+            }
+        }
+        mOpenGroups = 0;
+    }
+
+    @Override
+    public void dispose() {
+        if (mUpstream != null) {
+            mUpstream.dispose();
+        }
+        if (mSweeper != null) {
+            mSweeper.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return mUpstream != null && mUpstream.isDisposed();
+    }
+
+    //Without a timeout, read it from the thread that emits the items, or after the source terminated.
+    public synchronized Report report() {
+        return new Report(mGroups.length, mOpenGroups, mPeakOpenGroups, mGroupsCreated,
+                mGroupsEvicted, mRouted, footprintBytes(mGroups.length, mLastItemNanos != null));
+    }
+
+    //Estimated bytes held by the router itself, excluding the group Observers: the group array
+    //and the idle timestamps, assuming compressed references and 16 byte array headers.
+    static long footprintBytes(int keyCount, boolean idleTracking) {
+        long bytes = 16 + 4L * keyCount;
+        if (idleTracking) {
+            bytes += 16 + 8L * keyCount;
+        }
+        return bytes;
+    }
+
+    /**
+     * Group counters of one DenseGroupBy.
+     */
+    public static class Report {
+        public final int keyCount;
+        public final int openGroups;
+        public final int peakOpenGroups;
+        public final long groupsCreated;
+        public final long groupsEvicted;
+        public final long routed;
+        public final long footprintBytes;
+
+        Report(int keyCount, int openGroups, int peakOpenGroups, long groupsCreated,
+               long groupsEvicted, long routed, long footprintBytes) {
+            this.keyCount = keyCount;
+            this.openGroups = openGroups;
+            this.peakOpenGroups = peakOpenGroups;
+            this.groupsCreated = groupsCreated;
+            this.groupsEvicted = groupsEvicted;
+            this.routed = routed;
+            this.footprintBytes = footprintBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "keys=" + keyCount
+                    + " openGroups=" + openGroups
+                    + " peakOpenGroups=" + peakOpenGroups
+                    + " groupsCreated=" + groupsCreated
+                    + " groupsEvicted=" + groupsEvicted
+                    + " routed=" + routed
+                    + " footprint=" + footprintBytes + "B";
+        }
+    }
+}
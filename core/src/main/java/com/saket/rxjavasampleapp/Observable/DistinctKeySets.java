@@ -0,0 +1,561 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.functions.Supplier;
+
+/**
+ * Bounded memory key sets for distinct(keySelector, collectionSupplier).
+ *
+ * Stock distinct() keeps every key it has seen in a HashSet, so on an endless stream its memory
+ * only grows. distinct() only calls add() (false means duplicate) and clear() on the collection,
+ * so handing it one of these sets bounds the memory and keeps the operator itself unchanged:
+ *
+ * <pre>
+ * source.distinct(car -> car.carModel, DistinctKeySets.lru(10_000))
+ * </pre>
+ *
+ * - lru: remembers the last maxKeys distinct keys, least recently seen forgotten first.
+ * - ttl: a key is suppressed for ttl after it was let through.
+ * - ints: int keys in open addressing int arrays, no Node or boxed key kept per entry.
+ * - bloom: approximate, fixed size bit arrays. Never lets a recent duplicate through, but drops
+ *   about fpp of the new keys as false positives.
+ *
+ * The bounded ones forget old keys, so a key seen again after it was forgotten is emitted
+ * again. None of them is thread safe, like the HashSet distinct() creates by default.
+ */
+public final class DistinctKeySets {
+
+    private DistinctKeySets() {
+    }
+
+    public static <K> Supplier<Collection<K>> lru(int maxKeys) {
+        return () -> new LruKeySet<>(maxKeys);
+    }
+
+    public static <K> Supplier<Collection<K>> ttl(long ttl, TimeUnit unit, Scheduler clock, int maxKeys) {
+        return () -> new TtlKeySet<>(ttl, unit, clock, maxKeys);
+    }
+
+    public static Supplier<Collection<Integer>> ints(int maxKeys) {
+        return () -> new IntKeySet(maxKeys);
+    }
+
+    public static <K> Supplier<Collection<K>> bloom(int expectedInsertions, double fpp) {
+        return () -> new BloomKeySet<>(expectedInsertions, fpp);
+    }
+
+    /**
+     * Key set that knows roughly how much memory it holds.
+     */
+    public interface Footprint {
+        //Estimated bytes held by the set, excluding the key objects themselves. Assumes
+        //compressed references and 16 byte object/array headers.
+        long footprintBytes();
+    }
+
+    //Base class. distinct() only needs add and clear; the sets also answer contains() and
+    //iterate the keys they remember, so printing one in a log or a debugger works.
+    abstract static class KeySet<K> extends AbstractCollection<K> implements Footprint {
+    }
+
+    /**
+     * Remembers the maxKeys most recently seen distinct keys.
+     */
+    public static final class LruKeySet<K> extends KeySet<K> {
+
+        //LinkedHashMap.Entry: header, hash, key, value, next, before, after
+        private static final int ENTRY_BYTES = 40;
+
+        private final int mMaxKeys;
+        private final LinkedHashMap<K, Boolean> mKeys;
+
+        public LruKeySet(int maxKeys) {
+            if (maxKeys <= 0) {
+                throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+            }
+            mMaxKeys = maxKeys;
+            //access order, so a get() moves the key to the most recent end
+            mKeys = new LinkedHashMap<K, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                    return size() > mMaxKeys;
+                }
+            };
+        }
+
+        @Override
+        public boolean add(K key) {
+            if (mKeys.get(key) != null) {
+                return false;
+            }
+            mKeys.put(key, Boolean.TRUE);
+            return true;
+        }
+
+        //Unlike add(), does not count as seeing the key
+        @Override
+        public boolean contains(Object key) {
+            return mKeys.containsKey(key);
+        }
+
+        //Least recently seen first
+        @Override
+        public Iterator<K> iterator() {
+            return mKeys.keySet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return mKeys.size();
+        }
+
+        @Override
+        public void clear() {
+            mKeys.clear();
+        }
+
+        @Override
+        public long footprintBytes() {
+            return hashMapBytes(mKeys.size(), ENTRY_BYTES);
+        }
+    }
+
+    /**
+     * Suppresses a key for ttl after it was let through, keeping at most maxKeys keys.
+     */
+    public static final class TtlKeySet<K> extends KeySet<K> {
+
+        //LinkedHashMap.Entry plus the boxed Long timestamp
+        private static final int ENTRY_BYTES = 40 + 24;
+
+        private final long mTtlNanos;
+        private final Scheduler mClock;
+        private final int mMaxKeys;
+        //insertion order is also expiry order
+        private final LinkedHashMap<K, Long> mKeys;
+
+        public TtlKeySet(long ttl, TimeUnit unit, Scheduler clock, int maxKeys) {
+            if (ttl < 0) {
+                throw new IllegalArgumentException("ttl >= 0 required but it was " + ttl);
+            }
+            if (maxKeys <= 0) {
+                throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+            }
+            mTtlNanos = unit.toNanos(ttl);
+            mClock = clock;
+            mMaxKeys = maxKeys;
+            mKeys = new LinkedHashMap<K, Long>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                    return size() > mMaxKeys;
+                }
+            };
+        }
+
+        @Override
+        public boolean add(K key) {
+            long now = expire();
+            if (mKeys.containsKey(key)) {
+                return false;
+            }
+            mKeys.put(key, now);
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            expire();
+            return mKeys.containsKey(key);
+        }
+
+        //Keys still suppressed, oldest first
+        @Override
+        public Iterator<K> iterator() {
+            expire();
+            return mKeys.keySet().iterator();
+        }
+
+        //Drops the expired keys, returns now
+        private long expire() {
+            long now = mClock.now(TimeUnit.NANOSECONDS);
+            Iterator<Long> expiry = mKeys.values().iterator();
+            while (expiry.hasNext() && now - expiry.next() >= mTtlNanos) {
+                expiry.remove();
+            }
+            return now;
+        }
+
+        @Override
+        public int size() {
+            return mKeys.size();
+        }
+
+        @Override
+        public void clear() {
+            mKeys.clear();
+        }
+
+        @Override
+        public long footprintBytes() {
+            return hashMapBytes(mKeys.size(), ENTRY_BYTES);
+        }
+    }
+
+    /**
+     * Open addressing set of int keys in two generations of maxKeys each. Keys go into the
+     * current generation, a key found in the older one moves back up; when the current one is
+     * full the older one is cleared and becomes the current one. So the last maxKeys distinct
+     * keys are always remembered, and never more than 2 * maxKeys.
+     * Adding does not allocate.
+     */
+    public static final class IntKeySet extends KeySet<Integer> {
+
+        private final int mMaxKeys;
+        private int[] mCurrent;
+        private int[] mPrevious;
+        //0 marks a free slot, so key 0 is tracked apart
+        private boolean mCurrentHasZero;
+        private boolean mPreviousHasZero;
+        private int mCurrentSize;
+        private int mPreviousSize;
+
+        public IntKeySet(int maxKeys) {
+            if (maxKeys <= 0) {
+                throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+            }
+            mMaxKeys = maxKeys;
+            //load factor of at most 0.5 keeps the probe sequences short
+            int capacity = Integer.highestOneBit(Math.max(2, maxKeys) * 2 - 1) << 1;
+            mCurrent = new int[capacity];
+            mPrevious = new int[capacity];
+        }
+
+        @Override
+        public boolean add(Integer key) {
+            return add(key.intValue());
+        }
+
+        public boolean add(int key) {
+            int slot = -1;
+            if (key == 0) {
+                if (mCurrentHasZero) {
+                    return false;
+                }
+            } else {
+                int mask = mCurrent.length - 1;
+                slot = mix(key) & mask;
+                while (mCurrent[slot] != 0) {
+                    if (mCurrent[slot] == key) {
+                        return false;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+            }
+            //A key seen in the older generation moves up, so a hot key never expires
+            boolean seen = removePrevious(key);
+            if (key == 0) {
+                mCurrentHasZero = true;
+            } else {
+                mCurrent[slot] = key;
+            }
+            if (++mCurrentSize == mMaxKeys) {
+                rotate();
+            }
+            return !seen;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return key instanceof Integer && contains((Integer) key);
+        }
+
+        public boolean contains(int key) {
+            return contains(mPrevious, mPreviousHasZero, key) || contains(mCurrent, mCurrentHasZero, key);
+        }
+
+        //Older generation first. A key is only ever in one of them.
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private final int[][] mTables = {mPrevious, mCurrent};
+                private final boolean[] mZeros = {mPreviousHasZero, mCurrentHasZero};
+                private int mTable;
+                //-1 stands for the zero key, then the slots of the table
+                private int mSlot = -1;
+                private boolean mReady;
+
+                @Override
+                public boolean hasNext() {
+                    while (!mReady && mTable < 2) {
+                        if (mSlot == -1 ? mZeros[mTable] : mTables[mTable][mSlot] != 0) {
+                            mReady = true;
+                        } else if (++mSlot == mTables[mTable].length) {
+                            mTable++;
+                            mSlot = -1;
+                        }
+                    }
+                    return mReady;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int key = mSlot == -1 ? 0 : mTables[mTable][mSlot];
+                    mReady = false;
+                    if (++mSlot == mTables[mTable].length) {
+                        mTable++;
+                        mSlot = -1;
+                    }
+                    return key;
+                }
+            };
+        }
+
+        private static boolean contains(int[] table, boolean hasZero, int key) {
+            if (key == 0) {
+                return hasZero;
+            }
+            int mask = table.length - 1;
+            int slot = mix(key) & mask;
+            int probe;
+            while ((probe = table[slot]) != 0) {
+                if (probe == key) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        //Backward shift deletion, open addressing without tombstones
+        private boolean removePrevious(int key) {
+            if (key == 0) {
+                if (!mPreviousHasZero) {
+                    return false;
+                }
+                mPreviousHasZero = false;
+                mPreviousSize--;
+                return true;
+            }
+            int[] table = mPrevious;
+            int mask = table.length - 1;
+            int free = mix(key) & mask;
+            while (table[free] != key) {
+                if (table[free] == 0) {
+                    return false;
+                }
+                free = (free + 1) & mask;
+            }
+            int slot = (free + 1) & mask;
+            int probe;
+            while ((probe = table[slot]) != 0) {
+                //probe may fill the gap only if its home slot is not between the gap and slot
+                int home = mix(probe) & mask;
+                if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                    table[free] = probe;
+                    free = slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[free] = 0;
+            mPreviousSize--;
+            return true;
+        }
+
+        private void rotate() {
+            int[] recycled = mPrevious;
+            Arrays.fill(recycled, 0);
+            mPrevious = mCurrent;
+            mPreviousHasZero = mCurrentHasZero;
+            mPreviousSize = mCurrentSize;
+            mCurrent = recycled;
+            mCurrentHasZero = false;
+            mCurrentSize = 0;
+        }
+
+        @Override
+        public int size() {
+            return mCurrentSize + mPreviousSize;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(mCurrent, 0);
+            Arrays.fill(mPrevious, 0);
+            mCurrentHasZero = false;
+            mPreviousHasZero = false;
+            mCurrentSize = 0;
+            mPreviousSize = 0;
+        }
+
+        @Override
+        public long footprintBytes() {
+            return 2 * (16 + 4L * mCurrent.length);
+        }
+    }
+
+    /**
+     * Approximate set: two generations of Bloom filters sized for expectedInsertions keys each.
+     * A key seen in either generation is a duplicate. Each generation is built for fpp / 2, so
+     * checking both keeps the false positive rate at about fpp. Memory is fixed at creation.
+     */
+    public static final class BloomKeySet<K> extends KeySet<K> {
+
+        private final int mExpectedInsertions;
+        private final long mBits;
+        private final int mHashes;
+        private long[] mCurrent;
+        private long[] mPrevious;
+        private int mCurrentSize;
+        private int mPreviousSize;
+
+        public BloomKeySet(int expectedInsertions, double fpp) {
+            if (expectedInsertions <= 0) {
+                throw new IllegalArgumentException("expectedInsertions > 0 required but it was " + expectedInsertions);
+            }
+            if (!(fpp > 0 && fpp < 1)) {
+                throw new IllegalArgumentException("fpp in (0, 1) required but it was " + fpp);
+            }
+            mExpectedInsertions = expectedInsertions;
+            mBits = optimalBits(expectedInsertions, fpp / 2);
+            mHashes = optimalHashes(expectedInsertions, mBits);
+            int words = (int) ((mBits + 63) >>> 6);
+            mCurrent = new long[words];
+            mPrevious = new long[words];
+        }
+
+        //m = -n ln(p) / ln(2)^2
+        static long optimalBits(int expectedInsertions, double fpp) {
+            return Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        }
+
+        //k = m / n ln(2)
+        static int optimalHashes(int expectedInsertions, long bits) {
+            return Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        }
+
+        @Override
+        public boolean add(K key) {
+            long hash = mix64(key.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            if (mightContain(mCurrent, h1, h2) || mightContain(mPrevious, h1, h2)) {
+                return false;
+            }
+            //double hashing, as in Kirsch and Mitzenmacher
+            for (int i = 0; i < mHashes; i++) {
+                long bit = bitIndex(h1, h2, i);
+                mCurrent[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            if (++mCurrentSize == mExpectedInsertions) {
+                long[] recycled = mPrevious;
+                Arrays.fill(recycled, 0L);
+                mPrevious = mCurrent;
+                mPreviousSize = mCurrentSize;
+                mCurrent = recycled;
+                mCurrentSize = 0;
+            }
+            return true;
+        }
+
+        //Approximate like add(): true for about fpp of the keys never added
+        @Override
+        public boolean contains(Object key) {
+            long hash = mix64(key.hashCode());
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            return mightContain(mCurrent, h1, h2) || mightContain(mPrevious, h1, h2);
+        }
+
+        //The filters do not keep the keys, so they cannot be listed
+        @Override
+        public Iterator<K> iterator() {
+            throw new UnsupportedOperationException("a Bloom filter does not keep its keys");
+        }
+
+        @Override
+        public String toString() {
+            return "BloomKeySet[size=" + size() + ", bits=" + mBits + ", hashes=" + mHashes + "]";
+        }
+
+        private boolean mightContain(long[] words, int h1, int h2) {
+            for (int i = 0; i < mHashes; i++) {
+                long bit = bitIndex(h1, h2, i);
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long bitIndex(int h1, int h2, int i) {
+            int combined = h1 + i * h2;
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            return combined % mBits;
+        }
+
+        //Keys inserted into the filters, not distinct keys: false positives are not counted
+        @Override
+        public int size() {
+            return mCurrentSize + mPreviousSize;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(mCurrent, 0L);
+            Arrays.fill(mPrevious, 0L);
+            mCurrentSize = 0;
+            mPreviousSize = 0;
+        }
+
+        @Override
+        public long footprintBytes() {
+            return 2 * (16 + 8L * mCurrent.length);
+        }
+    }
+
+    //Estimated HashMap/LinkedHashMap bytes for size entries of entryBytes each: the entries, the
+    //table (power of two, load factor 0.75) and the map object itself.
+    static long hashMapBytes(int size, int entryBytes) {
+        int capacity = 16;
+        while (capacity * 0.75 < size) {
+            capacity <<= 1;
+        }
+        return 56 + 16 + 4L * capacity + (long) entryBytes * size;
+    }
+
+    //murmur3 fmix32, spreads sequential ints over the table
+    static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    //murmur3 fmix64
+    static long mix64(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
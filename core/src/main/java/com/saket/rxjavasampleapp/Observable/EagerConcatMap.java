@@ -0,0 +1,390 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+import io.reactivex.rxjava3.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * concatMap that runs up to maxConcurrency inner sources at once and still emits in source
+ * order.
+ *
+ * concatMap subscribes to the next inner source only when the previous one completes, so the
+ * total time is the sum of all inner delays. flatMap overlaps them but emits in completion
+ * order. Here the inner sources overlap like in flatMap; the items of the oldest one (the head)
+ * go downstream right away and the items of the others wait in a reorder buffer until they
+ * become the head.
+ *
+ * The buffer is bounded by maxBuffered: while it holds that many items no further inner source
+ * is subscribed. Observables cannot be paused, so inner sources that are already running keep
+ * adding to it; peakBufferedItems in the report shows by how much.
+ *
+ * The report also gives the head-of-line blocking time: how long items sat ready in the buffer
+ * while the head was still running.
+ *
+ * Stock concatMapEager() does the same reordering with a fixed prefetch per inner source, but
+ * without a limit on the total buffer and without the metrics.
+ *
+ * <pre>
+ * EagerConcatMap&lt;Car, Car&gt; eager = new EagerConcatMap&lt;&gt;(car -> convert(car), 4, 64);
+ * source.compose(eager)...
+ * eager.report();
+ * </pre>
+ */
+public final class EagerConcatMap<T, R> implements ObservableTransformer<T, R> {
+
+    private final Function<? super T, ? extends ObservableSource<? extends R>> mMapper;
+    private final int mMaxConcurrency;
+    private final int mMaxBuffered;
+    private final Scheduler mClock;
+
+    //Shared by every subscriber of this transformer
+    private final AtomicLong mInnerSubscribed = new AtomicLong();
+    private final AtomicInteger mPeakActiveInners = new AtomicInteger();
+    private final AtomicLong mBufferedItems = new AtomicLong();
+    private final AtomicLong mPeakBufferedItems = new AtomicLong();
+    private final AtomicLong mBufferFullStalls = new AtomicLong();
+    private final AtomicLong mBlockedNanos = new AtomicLong();
+
+    public EagerConcatMap(Function<? super T, ? extends ObservableSource<? extends R>> mapper,
+                          int maxConcurrency, int maxBuffered) {
+        this(mapper, maxConcurrency, maxBuffered, Schedulers.computation());
+    }
+
+    /**
+     * @param maxConcurrency inner sources subscribed at once, the head included.
+     * @param maxBuffered    items held for inner sources behind the head before no new inner
+     *                       source is subscribed.
+     * @param clock          time source of the blocking time.
+     */
+    public EagerConcatMap(Function<? super T, ? extends ObservableSource<? extends R>> mapper,
+                          int maxConcurrency, int maxBuffered, Scheduler clock) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (maxBuffered <= 0) {
+            throw new IllegalArgumentException("maxBuffered > 0 required but it was " + maxBuffered);
+        }
+        mMapper = mapper;
+        mMaxConcurrency = maxConcurrency;
+        mMaxBuffered = maxBuffered;
+        mClock = clock;
+    }
+
+    @NonNull
+    @Override
+    public ObservableSource<R> apply(@NonNull Observable<T> upstream) {
+        return new Observable<R>() {
+            @Override
+            protected void subscribeActual(@NonNull Observer<? super R> observer) {
+                upstream.subscribe(new EagerObserver<>(observer, EagerConcatMap.this));
+            }
+        };
+    }
+
+    public Report report() {
+        return new Report(mMaxConcurrency, mMaxBuffered, mInnerSubscribed.get(),
+                mPeakActiveInners.get(), mBufferedItems.get(), mPeakBufferedItems.get(),
+                mBufferFullStalls.get(), mBlockedNanos.get());
+    }
+
+    static final class EagerObserver<T, R> extends AtomicInteger implements Observer<T>, Disposable {
+
+        private final Observer<? super R> mDownstream;
+        private final EagerConcatMap<T, R> mParent;
+        //Source items waiting for a free inner slot. Upstream writes, drain() reads.
+        private final SpscLinkedArrayQueue<T> mSources = new SpscLinkedArrayQueue<>(16);
+        private final AtomicReference<Throwable> mError = new AtomicReference<>();
+        //Items in the queues of the inner sources
+        private final AtomicInteger mBuffered = new AtomicInteger();
+        private volatile boolean mDone;
+        private volatile boolean mDisposed;
+        private Disposable mUpstream;
+
+        //Only touched inside drain(). Running inner sources in subscription order, head first.
+        private final ArrayDeque<InnerObserver<R>> mInners = new ArrayDeque<>();
+        private long mBlockedSince = -1;
+
+        EagerObserver(Observer<? super R> downstream, EagerConcatMap<T, R> parent) {
+            mDownstream = downstream;
+            mParent = parent;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            if (DisposableHelper.validate(mUpstream, d)) {
+                mUpstream = d;
+                mDownstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(@NonNull T t) {
+            mSources.offer(t);
+            drain();
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            fail(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mDone = true;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            mDisposed = true;
+            mUpstream.dispose();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+
+        void innerNext(InnerObserver<R> inner, R value) {
+            inner.mQueue.offer(value);
+            mBuffered.incrementAndGet();
+            mParent.mBufferedItems.incrementAndGet();
+            drain();
+        }
+
+        void innerComplete(InnerObserver<R> inner) {
+            inner.mDone = true;
+            drain();
+        }
+
+        void fail(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                mDone = true;
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (mDisposed) {
+                    clear();
+                    return;
+                }
+                Throwable error = mError.get();
+                if (error != null) {
+                    mUpstream.dispose();
+                    clear();
+                    mDownstream.onError(error);
+                    return;
+                }
+
+                subscribeInners();
+                if (mError.get() != null) {
+                    continue;
+                }
+
+                //Everything the head has is in order, emit it
+                InnerObserver<R> head = mInners.peekFirst();
+                boolean headFinished = false;
+                if (head != null) {
+                    boolean innerDone = head.mDone;
+                    R value;
+                    while ((value = head.mQueue.poll()) != null) {
+                        release(1);
+                        mDownstream.onNext(value);
+                        if (mDisposed) {
+                            clear();
+                            return;
+                        }
+                    }
+                    if (innerDone) {
+                        mInners.pollFirst();
+                        headFinished = true;
+                    }
+                }
+                trackBlocking();
+                if (headFinished) {
+                    //The next inner source is the head now and may have items already
+                    continue;
+                }
+
+                if (mDone && mInners.isEmpty() && mSources.isEmpty()) {
+                    mDownstream.onComplete();
+                    return;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void subscribeInners() {
+            while (mInners.size() < mParent.mMaxConcurrency && !mSources.isEmpty()) {
+                if (mBuffered.get() >= mParent.mMaxBuffered) {
+                    mParent.mBufferFullStalls.incrementAndGet();
+                    return;
+                }
+                T t = mSources.poll();
+                ObservableSource<? extends R> source;
+                try {
+                    source = Objects.requireNonNull(mParent.mMapper.apply(t),
+                            "The mapper returned a null ObservableSource");
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    mUpstream.dispose();
+                    mError.compareAndSet(null, ex);
+                    return;
+                }
+                InnerObserver<R> inner = new InnerObserver<>(this);
+                mInners.offerLast(inner);
+                mParent.mInnerSubscribed.incrementAndGet();
+                mParent.mPeakActiveInners.accumulateAndGet(mInners.size(), Math::max);
+                //Items emitted right away land in the queue, drain() is already running
+                source.subscribe(inner);
+            }
+        }
+
+        //Items left in the buffer now belong to inner sources behind the head
+        private void trackBlocking() {
+            mParent.mPeakBufferedItems.accumulateAndGet(mParent.mBufferedItems.get(), Math::max);
+            if (mBuffered.get() > 0) {
+                if (mBlockedSince < 0) {
+                    mBlockedSince = mParent.mClock.now(TimeUnit.NANOSECONDS);
+                }
+            } else if (mBlockedSince >= 0) {
+                mParent.mBlockedNanos.addAndGet(mParent.mClock.now(TimeUnit.NANOSECONDS) - mBlockedSince);
+                mBlockedSince = -1;
+            }
+        }
+
+        private void release(int items) {
+            mBuffered.addAndGet(-items);
+            mParent.mBufferedItems.addAndGet(-items);
+        }
+
+        private void clear() {
+            InnerObserver<R> inner;
+            while ((inner = mInners.pollFirst()) != null) {
+                inner.dispose();
+                int items = 0;
+                while (inner.mQueue.poll() != null) {
+                    items++;
+                }
+                release(items);
+            }
+            mSources.clear();
+        }
+    }
+
+    static final class InnerObserver<R> extends AtomicReference<Disposable> implements Observer<R>, Disposable {
+
+        private final EagerObserver<?, R> mParent;
+        //Single producer, the inner source, and single consumer, drain()
+        final SpscLinkedArrayQueue<R> mQueue = new SpscLinkedArrayQueue<>(16);
+        volatile boolean mDone;
+
+        InnerObserver(EagerObserver<?, R> parent) {
+            mParent = parent;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(@NonNull R r) {
+            mParent.innerNext(this, r);
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            mParent.fail(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mParent.innerComplete(this);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+
+    /**
+     * Metrics of all subscribers of one EagerConcatMap.
+     */
+    public static class Report {
+        public final int maxConcurrency;
+        public final int maxBuffered;
+        public final long innerSubscribed;
+        public final int peakActiveInners;
+        //Items buffered right now
+        public final long bufferedItems;
+        public final long peakBufferedItems;
+        //Times a free inner slot stayed empty because the buffer was full
+        public final long bufferFullStalls;
+        //Time items sat ready behind a running head
+        public final long headOfLineBlockingNanos;
+
+        Report(int maxConcurrency, int maxBuffered, long innerSubscribed, int peakActiveInners,
+               long bufferedItems, long peakBufferedItems, long bufferFullStalls,
+               long headOfLineBlockingNanos) {
+            this.maxConcurrency = maxConcurrency;
+            this.maxBuffered = maxBuffered;
+            this.innerSubscribed = innerSubscribed;
+            this.peakActiveInners = peakActiveInners;
+            this.bufferedItems = bufferedItems;
+            this.peakBufferedItems = peakBufferedItems;
+            this.bufferFullStalls = bufferFullStalls;
+            this.headOfLineBlockingNanos = headOfLineBlockingNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "maxConcurrency=" + maxConcurrency
+                    + " maxBuffered=" + maxBuffered
+                    + " innerSubscribed=" + innerSubscribed
+                    + " peakActiveInners=" + peakActiveInners
+                    + " bufferedItems=" + bufferedItems
+                    + " peakBufferedItems=" + peakBufferedItems
+                    + " bufferFullStalls=" + bufferFullStalls
+                    + " headOfLineBlocking=" + (headOfLineBlockingNanos / 1_000_000) + "ms";
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.saket.rxjavasampleapp.Observable;
 
-import android.util.Log;
+import com.saket.rxjavasampleapp.EventSink;
+import com.saket.rxjavasampleapp.Flowable.ParallelRails;
+import com.saket.rxjavasampleapp.SimulatedWork;
 
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.functions.Function;
 import io.reactivex.rxjava3.functions.Predicate;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 /**
  * Created by sshriwas on 2020-03-12
@@ -18,6 +22,18 @@ import io.reactivex.rxjava3.functions.Predicate;
 public class FilterObservables {
     
     static final String TAG = "FilterObservables";
+    private final EventSink mEventSink;
+    //Source of the simulated delays. Tests pass a seeded Random to get the same delays every run.
+    private final Random mRandom;
+
+    public FilterObservables(EventSink eventSink) {
+        this(eventSink, new Random());
+    }
+
+    public FilterObservables(EventSink eventSink, Random random) {
+        mEventSink = eventSink;
+        mRandom = random;
+    }
 
     //Debounce - only emit an item from an Observable if a particular timespan has passed
     // since the observable emitted the last item. Items emitted within the timespan will get
@@ -27,40 +43,55 @@ public class FilterObservables {
         //First, using range and map operators we create an observable that emits values at random intervals.
         //then we use debounce to filter out emits that happen within the interval
         Observable.range(1,10)
-        .map(new Function<Integer, Integer>() {
+        .concatMap(new Function<Integer, Observable<Integer>>() {
             @Override
-            public Integer apply(Integer integer) throws Exception {
-                //Introduce random sleep value
-                int randomDelay = new Random().nextInt(1000);
-                Log.d(TAG, "apply: " + randomDelay);
-                Thread.sleep(randomDelay);
-                return integer;
+            public Observable<Integer> apply(Integer integer) throws Exception {
+                //Introduce random delay value. It is scheduled rather than slept, so the source
+                //thread is not blocked while waiting.
+                int randomDelay = mRandom.nextInt(1000);
+                mEventSink.event(TAG, "apply: ", randomDelay);
+                return SimulatedWork.after(integer, randomDelay);
             }
         })
                 .debounce(2000, TimeUnit.MILLISECONDS)  //using debounce to filter emits within 2secs.
                 .subscribe(new Observer<Integer>() {
                     @Override
                     public void onSubscribe(Disposable d) {
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(Integer integer) {
-                        Log.d(TAG, "onNext: " + integer);
+                        mEventSink.event(TAG, "onNext: ", integer);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.e(TAG, "onError: ", e);
+                        mEventSink.error(TAG, "onError: ", e);
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
 
+    //Same pipeline as useDeboucetoFilterEmits with Coalesce.debounce: one timer per subscriber
+    //that is re-armed when it fires, instead of a new scheduled task for every value.
+    public void useCoalescingDebouncetoFilterEmits() {
+        Observable.range(1,10)
+                .concatMap(integer -> {
+                    int randomDelay = mRandom.nextInt(1000);
+                    mEventSink.event(TAG, "apply: ", randomDelay);
+                    return SimulatedWork.after(integer, randomDelay);
+                })
+                .compose(Coalesce.debounce(2000, TimeUnit.MILLISECONDS, Schedulers.computation()))
+                .subscribe(integer -> mEventSink.event(TAG, "onNext: ", integer),
+                        throwable -> mEventSink.error(TAG, "onError: ", throwable),
+                        () -> mEventSink.event(TAG, "onComplete: "));
+    }
+
     //Distinct
     /*
     This operator suppresses duplicate items emitted by an Observable.
@@ -74,26 +105,38 @@ public class FilterObservables {
                 .subscribe(new Observer<Integer>() {
                     @Override
                     public void onSubscribe(Disposable d) {
-                        Log.d(TAG, "onSubscribe: ");
+                        mEventSink.event(TAG, "onSubscribe: ");
                     }
 
                     @Override
                     public void onNext(Integer integer) {
-                        Log.d(TAG, "onNext: " + integer);
+                        mEventSink.event(TAG, "onNext: ", integer);
                     }
 
                     @Override
                     public void onError(Throwable e) {
-                        Log.d(TAG, "onError: " + e.getLocalizedMessage());
+                        mEventSink.event(TAG, "onError: ", e.getLocalizedMessage());
                     }
 
                     @Override
                     public void onComplete() {
-                        Log.d(TAG, "onComplete: ");
+                        mEventSink.event(TAG, "onComplete: ");
                     }
                 });
     }
 
+    //Same distinct as above, for long running streams: 10000 random values out of 5000, but
+    //only the last 1000 distinct keys are remembered, so memory stays bounded however long the
+    //stream runs. A value seen again after it was forgotten is emitted again.
+    public void useBoundedDistinctToFilterEmits() {
+        Observable.range(0, 10_000)
+                .map(index -> mRandom.nextInt(5_000))
+                .distinct(value -> value, DistinctKeySets.ints(1000))
+                .count()
+                .subscribe(count -> mEventSink.event(TAG, "distinct: ", count),
+                        throwable -> mEventSink.error(TAG, "onError: ", throwable));
+    }
+
     //Filter
     /*
     This operator emits only those items from an Observable that pass a predicate test.
@@ -110,11 +153,20 @@ public class FilterObservables {
         .subscribe(new Consumer<Integer>() {
             @Override
             public void accept(Integer integer) throws Exception {
-                Log.d(TAG, "accept: " + integer);
+                mEventSink.event(TAG, "accept: ", integer);
             }
         });
     }
 
+    //Same even number filter on parallel rails, the predicate runs on computation() threads.
+    public void useParallelFiltertoFilterEmits(int rails, int prefetch, ParallelRails.Merge merge) {
+        ParallelRails parallelRails = new ParallelRails(rails, prefetch, Schedulers.computation(), merge);
+        Flowable.range(1, 9)
+                .compose(parallelRails.filter(integer -> integer % 2 == 0))
+                .subscribe(integer -> mEventSink.event(TAG, "accept: ", integer),
+                        throwable -> mEventSink.error(TAG, "onError: ", throwable));
+    }
+
     //IgnoreElements
     /*
     This operator does not emit any items from an Observable but mirrors its termination notification (either onComplete or onError).
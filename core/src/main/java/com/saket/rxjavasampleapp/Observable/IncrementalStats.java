@@ -0,0 +1,202 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import io.reactivex.rxjava3.core.ObservableTransformer;
+
+/**
+ * Running stats (count, sum, min, max, mean, variance) of an int stream, plus the same stats over
+ * a sliding window of its last window values. Every add is O(1) and allocates nothing:
+ * - running mean and variance use Welford's update, no sum of squares that could overflow.
+ * - the window sum and sum of squares add the new value and subtract the evicted one. Both are
+ *   longs, so they stay exact, as long as window x value^2 fits in a long.
+ * - the window min and max keep a monotonic queue of candidate positions each; a value is pushed
+ *   and popped at most once, so O(1) amortized.
+ *
+ * It is a mutable accumulator meant for scan: {@link #over(int)} emits the same instance for
+ * every value, updated in place. Read it in the onNext that got it; anything that keeps it for
+ * later (toList(), observeOn(), a logger that keeps references) sees later values.
+ *
+ * <pre>
+ * prices.compose(IncrementalStats.over(100))
+ *         .subscribe(stats -> chart.add(stats.windowMean(), stats.windowMax()));
+ * </pre>
+ */
+public final class IncrementalStats {
+
+    private final int mWindow;
+
+    private long mCount;
+    private long mSum;
+    private int mMin = Integer.MAX_VALUE;
+    private int mMax = Integer.MIN_VALUE;
+    private double mMean;
+    //Sum of squared distances to the mean, Welford
+    private double mM2;
+
+    //Last window values, mValues[position % window]
+    private final int[] mValues;
+    private long mWindowSum;
+    private long mWindowSumOfSquares;
+    //Positions of the window min and max candidates, as ring buffers of window slots. Values
+    //increase from head to tail in mMinQueue and decrease in mMaxQueue, so the head is the answer.
+    private final long[] mMinQueue;
+    private int mMinHead;
+    private int mMinSize;
+    private final long[] mMaxQueue;
+    private int mMaxHead;
+    private int mMaxSize;
+
+    public IncrementalStats(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window > 0 required but it was " + window);
+        }
+        mWindow = window;
+        mValues = new int[window];
+        mMinQueue = new long[window];
+        mMaxQueue = new long[window];
+    }
+
+    /**
+     * scan() stage over an Observable of values, emitting one updated IncrementalStats per value.
+     * Every subscriber gets its own instance.
+     */
+    public static ObservableTransformer<Integer, IncrementalStats> over(int window) {
+        return upstream -> upstream
+                .scanWith(() -> new IncrementalStats(window), IncrementalStats::add)
+                //scanWith emits the empty seed first
+                .skip(1);
+    }
+
+    /**
+     * Adds value and returns this, so it can be the scan accumulator.
+     */
+    public IncrementalStats add(int value) {
+        long position = mCount++;
+        mSum += value;
+        mMin = Math.min(mMin, value);
+        mMax = Math.max(mMax, value);
+        double delta = value - mMean;
+        mMean += delta / mCount;
+        mM2 += delta * (value - mMean);
+
+        int slot = (int) (position % mWindow);
+        if (position >= mWindow) {
+            int evicted = mValues[slot];
+            mWindowSum -= evicted;
+            mWindowSumOfSquares -= (long) evicted * evicted;
+            //the evicted position can only be the oldest candidate
+            long oldest = position - mWindow;
+            if (mMinSize > 0 && mMinQueue[mMinHead] == oldest) {
+                mMinHead = next(mMinHead);
+                mMinSize--;
+            }
+            if (mMaxSize > 0 && mMaxQueue[mMaxHead] == oldest) {
+                mMaxHead = next(mMaxHead);
+                mMaxSize--;
+            }
+        }
+        mValues[slot] = value;
+        mWindowSum += value;
+        mWindowSumOfSquares += (long) value * value;
+
+        //a candidate behind the new value can never be the min (max) again
+        while (mMinSize > 0 && mValues[slotOf(mMinQueue[tail(mMinHead, mMinSize)])] >= value) {
+            mMinSize--;
+        }
+        mMinQueue[index(mMinHead, mMinSize++)] = position;
+        while (mMaxSize > 0 && mValues[slotOf(mMaxQueue[tail(mMaxHead, mMaxSize)])] <= value) {
+            mMaxSize--;
+        }
+        mMaxQueue[index(mMaxHead, mMaxSize++)] = position;
+        return this;
+    }
+
+    public long count() {
+        return mCount;
+    }
+
+    public long sum() {
+        return mSum;
+    }
+
+    public int min() {
+        return mMin;
+    }
+
+    public int max() {
+        return mMax;
+    }
+
+    public double mean() {
+        return mMean;
+    }
+
+    //Population variance
+    public double variance() {
+        return mCount == 0 ? 0 : mM2 / mCount;
+    }
+
+    public int windowCount() {
+        return (int) Math.min(mCount, mWindow);
+    }
+
+    public long windowSum() {
+        return mWindowSum;
+    }
+
+    public int windowMin() {
+        return mMinSize == 0 ? Integer.MAX_VALUE : mValues[slotOf(mMinQueue[mMinHead])];
+    }
+
+    public int windowMax() {
+        return mMaxSize == 0 ? Integer.MIN_VALUE : mValues[slotOf(mMaxQueue[mMaxHead])];
+    }
+
+    public double windowMean() {
+        int count = windowCount();
+        return count == 0 ? 0 : (double) mWindowSum / count;
+    }
+
+    //Population variance of the window
+    public double windowVariance() {
+        int count = windowCount();
+        if (count == 0) {
+            return 0;
+        }
+        double mean = (double) mWindowSum / count;
+        //rounding can take it just below 0 for a constant window
+        return Math.max(0, (double) mWindowSumOfSquares / count - mean * mean);
+    }
+
+    private int slotOf(long position) {
+        return (int) (position % mWindow);
+    }
+
+    private int next(int index) {
+        return index + 1 == mWindow ? 0 : index + 1;
+    }
+
+    private int index(int head, int offset) {
+        int index = head + offset;
+        return index >= mWindow ? index - mWindow : index;
+    }
+
+    private int tail(int head, int size) {
+        return index(head, size - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + mCount
+                + " sum=" + mSum
+                + " min=" + mMin
+                + " max=" + mMax
+                + " mean=" + mMean
+                + " variance=" + variance()
+                + " window=" + windowCount() + "/" + mWindow
+                + " windowSum=" + mWindowSum
+                + " windowMin=" + windowMin()
+                + " windowMax=" + windowMax()
+                + " windowMean=" + windowMean()
+                + " windowVariance=" + windowVariance();
+    }
+}
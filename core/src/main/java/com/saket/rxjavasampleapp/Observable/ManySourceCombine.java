@@ -0,0 +1,443 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+import io.reactivex.rxjava3.internal.disposables.EmptyDisposable;
+import io.reactivex.rxjava3.internal.queue.MpscLinkedQueue;
+import io.reactivex.rxjava3.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * zip and combineLatest for many sources (16, 64, ...).
+ *
+ * Every source writes into its own single producer queue, so sources never contend with each
+ * other on the way in; stock combineLatest takes a lock per item and stock zip looks at every
+ * queue on every item. Here zip keeps a count of the sources without a queued item and only
+ * drains once that count is 0, so an item that does not complete a row costs O(1) instead of
+ * O(sources). combineLatest keeps a queue of the sources that have items and only looks at
+ * those.
+ *
+ * The combiner gets an Object[] with one value per source. With reuseArray the same array is
+ * handed over for every row, which saves an allocation per row, so only set it when the
+ * combiner neither keeps the array nor passes it downstream (summing, formatting, copying out
+ * is fine).
+ *
+ * combineLatest differs from the stock one in one way: stock orders all items of all sources in
+ * one queue, here each source has its own and the drain takes one item per source per round.
+ * Every item still gives one combination, but across sources the items are only ordered per
+ * round, not by their exact arrival.
+ */
+public final class ManySourceCombine {
+
+    private ManySourceCombine() {
+    }
+
+    public static <T, R> Observable<R> zip(List<? extends ObservableSource<? extends T>> sources,
+                                           Function<? super Object[], ? extends R> combiner,
+                                           boolean reuseArray) {
+        return new CombineObservable<>(sources, combiner, reuseArray, true);
+    }
+
+    public static <T, R> Observable<R> combineLatest(List<? extends ObservableSource<? extends T>> sources,
+                                                     Function<? super Object[], ? extends R> combiner,
+                                                     boolean reuseArray) {
+        return new CombineObservable<>(sources, combiner, reuseArray, false);
+    }
+
+    static final class CombineObservable<T, R> extends Observable<R> {
+
+        private final List<? extends ObservableSource<? extends T>> mSources;
+        private final Function<? super Object[], ? extends R> mCombiner;
+        private final boolean mReuseArray;
+        private final boolean mZip;
+
+        CombineObservable(List<? extends ObservableSource<? extends T>> sources,
+                          Function<? super Object[], ? extends R> combiner, boolean reuseArray,
+                          boolean zip) {
+            mSources = sources;
+            mCombiner = combiner;
+            mReuseArray = reuseArray;
+            mZip = zip;
+        }
+
+        @Override
+        protected void subscribeActual(@NonNull Observer<? super R> observer) {
+            int count = mSources.size();
+            if (count == 0) {
+                EmptyDisposable.complete(observer);
+                return;
+            }
+            Coordinator<R> coordinator = mZip
+                    ? new ZipCoordinator<>(observer, count, mCombiner, mReuseArray)
+                    : new LatestCoordinator<>(observer, count, mCombiner, mReuseArray);
+            observer.onSubscribe(coordinator);
+            coordinator.subscribe(mSources);
+        }
+    }
+
+    abstract static class Coordinator<R> extends AtomicInteger implements Disposable {
+
+        final Observer<? super R> mDownstream;
+        final Function<? super Object[], ? extends R> mCombiner;
+        final boolean mReuseArray;
+        final SourceObserver[] mObservers;
+        final AtomicReference<Throwable> mError = new AtomicReference<>();
+        //Sources that completed, set before the matching drain() call
+        final AtomicInteger mCompleted = new AtomicInteger();
+        volatile boolean mDisposed;
+        //Written inside drain(), also read by subscribe()
+        volatile boolean mTerminated;
+
+        Coordinator(Observer<? super R> downstream, int count,
+                    Function<? super Object[], ? extends R> combiner, boolean reuseArray) {
+            mDownstream = downstream;
+            mCombiner = combiner;
+            mReuseArray = reuseArray;
+            mObservers = new SourceObserver[count];
+            for (int i = 0; i < count; i++) {
+                mObservers[i] = new SourceObserver(this, i);
+            }
+        }
+
+        void subscribe(List<? extends ObservableSource<?>> sources) {
+            for (int i = 0; i < mObservers.length && !mDisposed && mError.get() == null && !mTerminated; i++) {
+                sources.get(i).subscribe(mObservers[i]);
+            }
+        }
+
+        //A source got its first queued item, called before drain()
+        void sourceFilled(SourceObserver observer) {
+        }
+
+        //drain() took the last queued item of a source
+        void sourceEmptied(SourceObserver observer) {
+        }
+
+        void fail(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!mDisposed) {
+                mDisposed = true;
+                cancelSources();
+                if (getAndIncrement() == 0) {
+                    clearQueues();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+
+        //Handles value right away when nothing else is being drained, false to queue it instead
+        boolean tryEmit(SourceObserver observer, Object value) {
+            return false;
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            drainLoop();
+        }
+
+        //Caller holds the drain, the wip count is at least 1
+        void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (mTerminated || mDisposed) {
+                    clearQueues();
+                    return;
+                }
+                Throwable error = mError.get();
+                if (error != null) {
+                    terminate();
+                    mDownstream.onError(error);
+                    return;
+                }
+                try {
+                    drainRows();
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    mError.compareAndSet(null, ex);
+                    continue;
+                }
+                if (mTerminated) {
+                    return;
+                }
+                if (mError.get() != null) {
+                    continue;
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        //Emits what is ready, calls complete() when the result is finished
+        abstract void drainRows() throws Throwable;
+
+        void complete() {
+            terminate();
+            mDownstream.onComplete();
+        }
+
+        private void terminate() {
+            mTerminated = true;
+            cancelSources();
+            clearQueues();
+        }
+
+        private void cancelSources() {
+            for (SourceObserver observer : mObservers) {
+                observer.dispose();
+            }
+        }
+
+        private void clearQueues() {
+            for (SourceObserver observer : mObservers) {
+                observer.mQueue.clear();
+            }
+            clear();
+        }
+
+        void clear() {
+        }
+    }
+
+    static final class ZipCoordinator<R> extends Coordinator<R> {
+
+        //Sources without a queued item, a row is ready at 0
+        private final AtomicInteger mMissing;
+        //Reused when mReuseArray
+        private final Object[] mRow;
+
+        ZipCoordinator(Observer<? super R> downstream, int count,
+                       Function<? super Object[], ? extends R> combiner, boolean reuseArray) {
+            super(downstream, count, combiner, reuseArray);
+            mMissing = new AtomicInteger(count);
+            mRow = new Object[count];
+        }
+
+        @Override
+        void sourceFilled(SourceObserver observer) {
+            mMissing.decrementAndGet();
+        }
+
+        @Override
+        void sourceEmptied(SourceObserver observer) {
+            mMissing.incrementAndGet();
+        }
+
+        @Override
+        void drainRows() throws Throwable {
+            while (mMissing.get() == 0) {
+                Object[] row = mReuseArray ? mRow : new Object[mObservers.length];
+                for (SourceObserver observer : mObservers) {
+                    row[observer.mIndex] = observer.mQueue.poll();
+                    observer.taken();
+                }
+                R result = mCombiner.apply(row);
+                if (result == null) {
+                    throw new NullPointerException("The combiner returned a null value");
+                }
+                mDownstream.onNext(result);
+                if (mDisposed) {
+                    return;
+                }
+            }
+            //Only a completed source that ran dry ends the zip, so check them only once one completed
+            if (mCompleted.get() != 0) {
+                for (SourceObserver observer : mObservers) {
+                    if (observer.mDone && observer.isEmpty()) {
+                        complete();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    static final class LatestCoordinator<R> extends Coordinator<R> {
+
+        private final Object[] mLatest;
+        //Sources with queued items, each at most once, so the drain never scans all sources
+        private final MpscLinkedQueue<SourceObserver> mReady = new MpscLinkedQueue<>();
+        //Only touched inside drain()
+        private int mWithValue;
+
+        LatestCoordinator(Observer<? super R> downstream, int count,
+                          Function<? super Object[], ? extends R> combiner, boolean reuseArray) {
+            super(downstream, count, combiner, reuseArray);
+            mLatest = new Object[count];
+        }
+
+        @Override
+        void sourceFilled(SourceObserver observer) {
+            mReady.offer(observer);
+        }
+
+        //Fast path: without contention an item goes straight downstream, no queue involved
+        @Override
+        boolean tryEmit(SourceObserver observer, Object value) {
+            if (get() != 0 || !compareAndSet(0, 1)) {
+                return false;
+            }
+            if (observer.isEmpty() && !mTerminated && !mDisposed && mError.get() == null) {
+                try {
+                    accept(observer.mIndex, value);
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    mError.compareAndSet(null, ex);
+                }
+            } else {
+                //keep the order behind the items this source already queued
+                observer.enqueue(value);
+            }
+            drainLoop();
+            return true;
+        }
+
+        @Override
+        void drainRows() throws Throwable {
+            SourceObserver observer;
+            //One item per ready source in turn, a source with more items goes to the back
+            while ((observer = mReady.poll()) != null) {
+                Object value = observer.mQueue.poll();
+                //Only the count this take left decides, a concurrent enqueue that saw the
+                //count drop to zero has offered the source again itself
+                if (observer.taken() > 0) {
+                    mReady.offer(observer);
+                }
+                accept(observer.mIndex, value);
+                if (mDisposed) {
+                    return;
+                }
+            }
+            int count = mObservers.length;
+            int completed = mCompleted.get();
+            if (completed == 0) {
+                return;
+            }
+            if (completed == count) {
+                for (SourceObserver source : mObservers) {
+                    if (!source.isEmpty()) {
+                        return;
+                    }
+                }
+                complete();
+                return;
+            }
+            //A source that completes without a value means there never is a combination
+            for (SourceObserver source : mObservers) {
+                if (source.mDone && mLatest[source.mIndex] == null && source.isEmpty()) {
+                    complete();
+                    return;
+                }
+            }
+        }
+
+        private void accept(int index, Object value) throws Throwable {
+            if (mLatest[index] == null) {
+                mWithValue++;
+            }
+            mLatest[index] = value;
+            if (mWithValue == mLatest.length) {
+                R result = mCombiner.apply(mReuseArray ? mLatest : mLatest.clone());
+                if (result == null) {
+                    throw new NullPointerException("The combiner returned a null value");
+                }
+                mDownstream.onNext(result);
+            }
+        }
+
+        @Override
+        void clear() {
+            mReady.clear();
+        }
+    }
+
+    static final class SourceObserver extends AtomicReference<Disposable> implements Observer<Object> {
+
+        private final Coordinator<?> mParent;
+        final int mIndex;
+        //Single producer, this source, and single consumer, drain()
+        final SpscLinkedArrayQueue<Object> mQueue = new SpscLinkedArrayQueue<>(16);
+        private final AtomicInteger mSize = new AtomicInteger();
+        volatile boolean mDone;
+
+        SourceObserver(Coordinator<?> parent, int index) {
+            mParent = parent;
+            mIndex = index;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(@NonNull Object t) {
+            if (!mParent.tryEmit(this, t)) {
+                enqueue(t);
+                mParent.drain();
+            }
+        }
+
+        void enqueue(Object t) {
+            mQueue.offer(t);
+            if (mSize.getAndIncrement() == 0) {
+                mParent.sourceFilled(this);
+            }
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            mParent.fail(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mDone = true;
+            mParent.mCompleted.incrementAndGet();
+            mParent.drain();
+        }
+
+        boolean isEmpty() {
+            return mSize.get() == 0;
+        }
+
+        //drain() only, after polling an item off mQueue, returns the items left
+        int taken() {
+            int left = mSize.decrementAndGet();
+            if (left == 0) {
+                mParent.sourceEmptied(this);
+            }
+            return left;
+        }
+
+        void dispose() {
+            DisposableHelper.dispose(this);
+        }
+    }
+}
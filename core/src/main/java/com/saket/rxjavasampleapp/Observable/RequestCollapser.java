@@ -0,0 +1,229 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.subjects.AsyncSubject;
+
+/**
+ * Collapses single key lookups (GET /cars/{id} style calls) into fewer bulk calls:
+ * - identical in-flight requests share one call: a get(key) while the same key is already being
+ *   fetched waits for that fetch instead of starting its own.
+ * - keys requested within window of the first one go out together as one bulk call, or as soon
+ *   as maxBatch keys are waiting.
+ * Nothing is cached: once a key's call finished, the next get(key) fetches it again.
+ *
+ * The bulk call gets the keys and returns the values by key; a key missing from its result
+ * fails with NoSuchElementException, a failed bulk call fails all of its keys. The call runs
+ * once all keys are collected, whether their subscribers are still there or not.
+ *
+ * <pre>
+ * RequestCollapser&lt;Integer, Car&gt; cars = new RequestCollapser&lt;&gt;(ids -> api.cars(ids),
+ *         5, TimeUnit.MILLISECONDS, 50, Schedulers.computation());
+ * Observable.merge(cars.get(1), cars.get(2), cars.get(1)).subscribe(...);  //one call for ids 1, 2
+ * </pre>
+ */
+public final class RequestCollapser<K, V> {
+
+    private final Function<? super List<K>, ? extends ObservableSource<? extends Map<K, V>>> mBulkCall;
+    private final long mWindowNanos;
+    private final int mMaxBatch;
+    private final Scheduler mScheduler;
+
+    //Keys that were asked for and did not get their value yet, waiting in the batch or fetching
+    private final ConcurrentHashMap<K, AsyncSubject<V>> mInFlight = new ConcurrentHashMap<>();
+    //Guarded by itself
+    private final List<K> mBatch = new ArrayList<>();
+    private Disposable mFlushTimer;
+
+    private final AtomicLong mRequests = new AtomicLong();
+    private final AtomicLong mDeduplicated = new AtomicLong();
+    private final AtomicLong mUpstreamCalls = new AtomicLong();
+    private final AtomicLong mKeysFetched = new AtomicLong();
+
+    /**
+     * @param bulkCall  fetches the values of a list of distinct keys.
+     * @param window    how long the first key of a batch waits for more keys.
+     * @param maxBatch  most keys in one bulk call.
+     * @param scheduler runs the window timers.
+     */
+    public RequestCollapser(Function<? super List<K>, ? extends ObservableSource<? extends Map<K, V>>> bulkCall,
+                            long window, TimeUnit unit, int maxBatch, Scheduler scheduler) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch > 0 required but it was " + maxBatch);
+        }
+        mBulkCall = bulkCall;
+        mWindowNanos = unit.toNanos(window);
+        mMaxBatch = maxBatch;
+        mScheduler = scheduler;
+    }
+
+    /**
+     * The value of key, from a call shared with every other request for key that overlaps it.
+     * The key is only requested once this is subscribed.
+     */
+    public Observable<V> get(K key) {
+        return Observable.defer(() -> {
+            mRequests.incrementAndGet();
+            AsyncSubject<V> result = mInFlight.get(key);
+            if (result != null) {
+                mDeduplicated.incrementAndGet();
+                return result;
+            }
+            AsyncSubject<V> fresh = AsyncSubject.create();
+            result = mInFlight.putIfAbsent(key, fresh);
+            if (result != null) {
+                mDeduplicated.incrementAndGet();
+                return result;
+            }
+            enqueue(key);
+            return fresh;
+        });
+    }
+
+    public Report report() {
+        return new Report(mRequests.get(), mDeduplicated.get(), mUpstreamCalls.get(), mKeysFetched.get());
+    }
+
+    private void enqueue(K key) {
+        List<K> full = null;
+        synchronized (mBatch) {
+            mBatch.add(key);
+            if (mBatch.size() >= mMaxBatch) {
+                full = takeBatch();
+            } else if (mBatch.size() == 1) {
+                mFlushTimer = mScheduler.scheduleDirect(this::flush, mWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            call(full);
+        }
+    }
+
+    //Window timer
+    private void flush() {
+        List<K> keys;
+        synchronized (mBatch) {
+            keys = mBatch.isEmpty() ? null : takeBatch();
+        }
+        if (keys != null) {
+            call(keys);
+        }
+    }
+
+    //Holding the lock
+    private List<K> takeBatch() {
+        List<K> keys = new ArrayList<>(mBatch);
+        mBatch.clear();
+        if (mFlushTimer != null) {
+            mFlushTimer.dispose();
+            mFlushTimer = null;
+        }
+        return keys;
+    }
+
+    private void call(List<K> keys) {
+        mUpstreamCalls.incrementAndGet();
+        mKeysFetched.addAndGet(keys.size());
+        ObservableSource<? extends Map<K, V>> call;
+        try {
+            call = mBulkCall.apply(keys);
+        } catch (Throwable ex) {
+            Exceptions.throwIfFatal(ex);
+            failAll(keys, ex);
+            return;
+        }
+        call.subscribe(new Observer<Map<K, V>>() {
+            private boolean mDone;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+            }
+
+            @Override
+            public void onNext(Map<K, V> values) {
+                //one result per call, anything after it is ignored
+                if (mDone) {
+                    return;
+                }
+                mDone = true;
+                for (K key : keys) {
+                    AsyncSubject<V> result = mInFlight.remove(key);
+                    V value = values.get(key);
+                    if (value != null) {
+                        result.onNext(value);
+                        result.onComplete();
+                    } else {
+                        result.onError(new NoSuchElementException("No value for " + key));
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                if (!mDone) {
+                    mDone = true;
+                    failAll(keys, e);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                if (!mDone) {
+                    mDone = true;
+                    failAll(keys, new NoSuchElementException("The bulk call completed without a result"));
+                }
+            }
+        });
+    }
+
+    private void failAll(List<K> keys, Throwable e) {
+        for (K key : keys) {
+            mInFlight.remove(key).onError(e);
+        }
+    }
+
+    /**
+     * Counters of one RequestCollapser.
+     */
+    public static class Report {
+        public final long requests;
+        //Requests that joined a call already running or waiting for the same key
+        public final long deduplicated;
+        public final long upstreamCalls;
+        public final long keysFetched;
+
+        Report(long requests, long deduplicated, long upstreamCalls, long keysFetched) {
+            this.requests = requests;
+            this.deduplicated = deduplicated;
+            this.upstreamCalls = upstreamCalls;
+            this.keysFetched = keysFetched;
+        }
+
+        //Calls one call per request would have made on top
+        public long callsSaved() {
+            return requests - upstreamCalls;
+        }
+
+        @Override
+        public String toString() {
+            return "requests=" + requests
+                    + " deduplicated=" + deduplicated
+                    + " upstreamCalls=" + upstreamCalls
+                    + " keysFetched=" + keysFetched
+                    + " callsSaved=" + callsSaved();
+        }
+    }
+}
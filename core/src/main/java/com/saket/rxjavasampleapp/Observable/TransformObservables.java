@@ -0,0 +1,552 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import com.saket.rxjavasampleapp.EventSink;
+import com.saket.rxjavasampleapp.Flowable.ParallelRails;
+import com.saket.rxjavasampleapp.SimulatedWork;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableEmitter;
+import io.reactivex.rxjava3.core.ObservableOnSubscribe;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.observables.GroupedObservable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Created by sshriwas on 2020-03-10
+ */
+public class TransformObservables {
+
+    private static final String TAG = "TransformObservables";
+    private final EventSink mEventSink;
+    //Source of the simulated delays. Tests pass a seeded Random to get the same delays every run.
+    private final Random mRandom;
+
+    public TransformObservables(EventSink eventSink) {
+        this(eventSink, new Random());
+    }
+
+    public TransformObservables(EventSink eventSink, Random random) {
+        mEventSink = eventSink;
+        mRandom = random;
+    }
+
+    enum MODELTYPE {
+        BASIC, MEDIUM, LUXURY
+    }
+    
+    //Buffer - periodically gather items from an Observable into bundles
+    // and emit these bundles rather than emitting the items one at a time
+    public void useBufferforObservable() {
+        String[] arrDays = new String[]{"Sunday", "Monday", "Tuesday", "Wednesday",
+                "Thursday", "Friday", "Saturday"};
+        Observable.fromArray(arrDays)
+                .buffer(2)
+                .doOnNext(strings -> {
+                    mEventSink.event(TAG, "onNext: ");
+                    strings.forEach(s -> {mEventSink.event(TAG, "string: ", s); });
+                })
+                .doOnComplete(() -> mEventSink.event(TAG, "OnComplete:"))
+                .doOnSubscribe(disposable -> mEventSink.event(TAG, "onSubscribe: "))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .subscribe();
+    }
+
+    //Same days through AdaptiveBuffer, with a day every 700ms. Batches go out when they hold 3
+    //days or their first day is 1s old, whichever comes first, so a slow source does not hold a
+    //partial batch back. The batch is released after logging, its container is used again.
+    public void useAdaptiveBufferforObservable() {
+        String[] arrDays = new String[]{"Sunday", "Monday", "Tuesday", "Wednesday",
+                "Thursday", "Friday", "Saturday"};
+        AdaptiveBuffer<String> adaptiveBuffer = new AdaptiveBuffer<>(3, 1, TimeUnit.SECONDS,
+                Schedulers.computation());
+        Observable.fromArray(arrDays)
+                .concatMap(day -> SimulatedWork.after(day, 700))
+                .compose(adaptiveBuffer)
+                .doOnNext(batch -> {
+                    mEventSink.event(TAG, "onNext: ");
+                    batch.forEach(s -> {mEventSink.event(TAG, "string: ", s); });
+                    batch.release();
+                })
+                .doOnComplete(() -> {
+                    mEventSink.event(TAG, "adaptiveBuffer ", adaptiveBuffer.report());
+                    mEventSink.event(TAG, "OnComplete:");
+                })
+                .doOnSubscribe(disposable -> mEventSink.event(TAG, "onSubscribe: "))
+                .doOnError(throwable -> mEventSink.error(TAG, "onError: ", throwable))
+                .subscribe();
+    }
+
+    //GroupBy - divide Observable emits into a set of Observables organized by key.
+    // Each group emits a different group of items from the original Observable.
+    // Sequence of emits is maintained.
+    //Suppose in below example we have a list of cars which we want to sort based on price into
+    //3 categories - basic, medium and luxury
+    public void useGroupByforObservables() {
+        //Create a list of cars
+        List<Car> lstCars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Car newCar = new Car("model" + i, 1000 * i);
+            lstCars.add(newCar);
+        }
+        
+        Observable.fromIterable(lstCars)
+                //1 sec of simulated work per car. This shows that each value is emitted separately and
+                //the grouping happens on the background thread. The delay is scheduled, not slept.
+                .concatMap(car -> SimulatedWork.after(car, 1000))
+                .groupBy(new Function<Car, Enum<MODELTYPE>>() {
+                    @Override
+                    public Enum<MODELTYPE> apply(Car car) throws Exception {
+                        return modelTypeOf(car);
+                    }
+                })
+        .subscribe(new Observer<GroupedObservable<Enum<MODELTYPE>, Car>>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                mEventSink.event(TAG, "onSubscribe: ");
+            }
+
+            @Override
+            public void onNext(GroupedObservable<Enum<MODELTYPE>, Car> enumCarGroupedObservable) {
+                mEventSink.event(TAG, "onNext: ");
+                if (enumCarGroupedObservable.getKey() == MODELTYPE.BASIC) {
+                    enumCarGroupedObservable.subscribe(new Consumer<Car>() {
+                        @Override
+                        public void accept(Car car) throws Exception {
+                            mEventSink.event(TAG, "Basic model: ", car.carModel);
+                        }
+                    });
+                } else if (enumCarGroupedObservable.getKey() == MODELTYPE.MEDIUM) {
+                        enumCarGroupedObservable.subscribe(new Consumer<Car>() {
+                            @Override
+                            public void accept(Car car) throws Exception {
+                                mEventSink.event(TAG, "Medium model: ", car.carModel);
+                            }
+                        });
+                } else {
+                        enumCarGroupedObservable.subscribe(new Consumer<Car>() {
+                            @Override
+                            public void accept(Car car) throws Exception {
+                                mEventSink.event(TAG, "Luxury Model: ", car.carModel);
+                            }
+                        });
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                mEventSink.error(TAG, "onError: ", e);
+            }
+
+            @Override
+            public void onComplete() {
+                mEventSink.event(TAG, "onComplete: ");
+            }
+        });
+    }
+
+    private static MODELTYPE modelTypeOf(Car car) {
+        if (car.carPrice < 5000) {
+            return MODELTYPE.BASIC;
+        } else if (car.carPrice < 8000) {
+            return MODELTYPE.MEDIUM;
+        } else {
+            return MODELTYPE.LUXURY;
+        }
+    }
+
+    //Same grouping as useGroupByforObservables, but the MODELTYPE ordinal indexes an array of
+    //groups instead of a HashMap of GroupedObservables: no boxed key, no queue per group and no
+    //separate subscription per group. Groups idle for 3 secs are completed and recreated when a
+    //car of their type shows up again.
+    public DenseGroupBy<Car> useDenseGroupByforObservables() {
+        List<Car> lstCars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Car newCar = new Car("model" + i, 1000 * i);
+            lstCars.add(newCar);
+        }
+
+        DenseGroupBy<Car> groups = new DenseGroupBy<>(MODELTYPE.values().length,
+                car -> modelTypeOf(car).ordinal(),
+                key -> new Observer<Car>() {
+                    private final MODELTYPE mType = MODELTYPE.values()[key];
+
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        mEventSink.event(TAG, "group opened: ", mType);
+                    }
+
+                    @Override
+                    public void onNext(Car car) {
+                        if (mEventSink.isEnabled()) {
+                            mEventSink.event(TAG, mType + " model: " + car.carModel);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        mEventSink.error(TAG, "onError: ", e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        mEventSink.event(TAG, "group closed: ", mType);
+                    }
+                },
+                3, TimeUnit.SECONDS, Schedulers.computation());
+        Observable.fromIterable(lstCars)
+                .concatMap(car -> SimulatedWork.after(car, 1000))
+                .doOnComplete(() -> mEventSink.event(TAG, "groups: ", groups.report()))
+                .subscribe(groups);
+        return groups;
+    }
+
+
+    /*
+    Map - applies a map function to each emit from the observable and returns the result item.
+    sequence of emits is preserved.
+
+    So in this case even if we add a random delay to the individual emits, it does not impact
+    the sequence of emissions.
+
+    Map function is applied to individual emit and its value is propogated downstream before
+    next emit.
+ */
+    public void useMapforObservable() {
+        List<Car> lstCar = new ArrayList<>();
+        //Here map function takes a car instance as input and
+        //returns the price as integer output
+        Function<Car, Integer> mapFunction = new Function<Car, Integer>() {
+            @Override
+            public Integer apply(Car car) throws Exception {
+                //Get car's price
+                int price = car.carPrice;
+                //apply conversion
+                int new_price = price * 25;
+                return new_price;
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            Car currCar = new Car("Model " + i, 1000*i);
+            lstCar.add(currCar);
+        }
+        Observable.fromIterable(lstCar)
+                //Random delay before each conversion. concatMap waits for one car before starting
+                //the next, so like a sleeping map it cannot change the sequence of emissions.
+                .concatMap(car -> SimulatedWork.after(car, mRandom.nextInt(1000)))
+                .map(mapFunction)
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        mEventSink.event(TAG, "onSubscribe: ");
+                    }
+
+                    @Override
+                    public void onNext(Integer integer) {
+                        mEventSink.event(TAG, "New Price: ", integer);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        mEventSink.error(TAG, "onError: ", e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        mEventSink.event(TAG, "onComplete: ");
+                    }
+                });
+    }
+
+
+    //Same price conversion as useMapforObservable, but spread over parallel rails: each rail
+    //converts its share of the cars on its own computation() thread. With Merge.ORDERED the
+    //prices still come out in the order of the cars, with UNORDERED as soon as they are ready.
+    public void useParallelMapforObservable(int rails, int prefetch, ParallelRails.Merge merge) {
+        List<Car> lstCar = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lstCar.add(new Car("Model " + i, 1000 * i));
+        }
+        ParallelRails parallelRails = new ParallelRails(rails, prefetch, Schedulers.computation(), merge);
+        Flowable.fromIterable(lstCar)
+                .compose(parallelRails.<Car, Integer>map(car -> car.carPrice * 25))
+                .subscribe(price -> {
+                    if (mEventSink.isEnabled()) {
+                        mEventSink.event(TAG, "New Price: " + price + " on " + Thread.currentThread().getName());
+                    }
+                }, throwable -> mEventSink.error(TAG, "onError: ", throwable),
+                        () -> mEventSink.event(TAG, "onComplete: "));
+    }
+
+    /*
+        Flatmap - this is similar to map but there are 2 crucial differences.
+        1. flatmap applies the map to each item and merges them to a new observable. Later it
+        propogates values from the new observable downstream.
+        2. flatmap does not maintain the sequence of emits. What this means is that
+        the tasks are executed asynchronously. So if one emit takes longer it will emit after
+        the a later emit in the sequence. However, if all emits take same time, then it is
+        possible that they will come in same sequence.
+     */
+    public void useFlatmapforObservable() {
+        //We use the same map example here.
+        ArrayList<Car> lstCar = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            Car currCar = new Car("Model " + i, 1000*i);
+            lstCar.add(currCar);
+        }
+        Observable.fromIterable(lstCar)
+                .flatMap((Function<Car, ObservableSource<Car>>) car -> {
+                    //Here we apply the price conversion. The emitted car is never changed, the
+                    //converted one is a new car.
+                    Car updated = new Car(car.carModel, car.carPrice + 25);
+                    /*So, here we introduce a random delay to show how
+                    flatmap does not wait for each emit to happen sequentially.
+                    Instead it executes them in a async manner. It does not preserve the
+                    order of emits from lstCar.
+                     */
+
+                    int randomDelay = mRandom.nextInt(10);
+                    //now instead of returning just the car, we return an observable that emits the updated car instance.
+                    return Observable.just(updated)
+                            .delay(randomDelay, TimeUnit.SECONDS);
+                }).subscribe(new Observer<Car>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        mEventSink.event(TAG, "onSubscribe: ");
+                    }
+
+                    @Override
+                    public void onNext(Car car) {
+                        if (mEventSink.isEnabled()) {
+                            mEventSink.event(TAG, "New Car: " + car.carModel + " price: " + car.carPrice);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        mEventSink.error(TAG, "onError: ", e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        mEventSink.event(TAG, "onComplete: ");
+                    }
+                });
+    }
+
+    //ConcatMap
+    /*
+        Again, this is similar to FlatMap. But here the emits happen in sequence.
+     */
+    public void useConcatMapforObservable() {
+        //We use the same map example here.
+        ArrayList<Car> lstCar = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            Car currCar = new Car("Model " + i, 1000 * i);
+            lstCar.add(currCar);
+        }
+        Observable.fromIterable(lstCar)
+                .concatMap(new Function<Car, ObservableSource<Car>>() {
+                    @Override
+                    public ObservableSource<Car> apply(Car car) throws Exception {
+                        //Car with the updated price
+                        Car updated = new Car(car.carModel, car.carPrice + 25);
+                        int randomDelay = mRandom.nextInt(10);
+
+                        return Observable.just(updated)
+                                .delay(randomDelay, TimeUnit.SECONDS);
+                    }
+                }).subscribe(new Observer<Car>() {
+            @Override
+            public void onSubscribe(Disposable d) {
+                mEventSink.event(TAG, "onSubscribe: ");
+            }
+
+            @Override
+            public void onNext(Car car) {
+                if (mEventSink.isEnabled()) {
+                    mEventSink.event(TAG, "New Car " + car.carModel + " price: " + car.carPrice);
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                mEventSink.error(TAG, "onError: ", e);
+            }
+
+            @Override
+            public void onComplete() {
+                mEventSink.event(TAG, "onComplete: ");
+            }
+        });
+    }
+
+    //Eager ConcatMap - the inner observables of up to maxConcurrency cars run at the same time
+    //like in flatmap, but the cars are still emitted in sequence like in concatMap. A car that is
+    //done before the ones in front of it waits in a reorder buffer of at most maxBuffered cars.
+    //So the whole run takes about as long as the slowest cars, not the sum of all delays.
+    public void useConcatMapEagerforObservable(int maxConcurrency, int maxBuffered) {
+        ArrayList<Car> lstCar = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            Car currCar = new Car("Model " + i, 1000 * i);
+            lstCar.add(currCar);
+        }
+        EagerConcatMap<Car, Car> eagerConcatMap = new EagerConcatMap<>(car -> {
+            Car updated = new Car(car.carModel, car.carPrice + 25);
+            int randomDelay = mRandom.nextInt(10);
+            return Observable.just(updated)
+                    .delay(randomDelay, TimeUnit.SECONDS);
+        }, maxConcurrency, maxBuffered);
+
+        Observable.fromIterable(lstCar)
+                .compose(eagerConcatMap)
+                .subscribe(new Observer<Car>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        mEventSink.event(TAG, "onSubscribe: ");
+                    }
+
+                    @Override
+                    public void onNext(Car car) {
+                        if (mEventSink.isEnabled()) {
+                            mEventSink.event(TAG, "Eager Car " + car.carModel + " price: " + car.carPrice);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        mEventSink.error(TAG, "onError: ", e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        mEventSink.event(TAG, "concatMapEager ", eagerConcatMap.report());
+                        mEventSink.event(TAG, "onComplete: ");
+                    }
+                });
+    }
+
+    //SwitchMap - unsubscribes from previous observable and emits data only from latest observable.
+    /*
+    So here i use the same example as the flatmap example. Except here instead of emiting all values
+    the switchmap only emits the value from the last observable which is 9025.
+     */
+    public void useSwitchMapforObservable() {
+        useSwitchMapforObservable(Schedulers.io());
+    }
+
+    //Same as above, with the Scheduler the inner observables subscribe on picked by the caller,
+    //e.g. VirtualThreadScheduler.get() when the inner work blocks.
+    public void useSwitchMapforObservable(Scheduler innerScheduler) {
+        ArrayList<Car> lstCar = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            Car currCar = new Car("Model " + i, 1000*i);
+            lstCar.add(currCar);
+        }
+        Observable.fromIterable(lstCar)
+                .switchMap(new Function<Car, ObservableSource<Car>>() {
+                    @Override
+                    public ObservableSource<Car> apply(Car car) throws Exception {
+                        //Here we apply the price conversion to a new car object
+                        Car updated = new Car(car.carModel, car.carPrice + 25);
+                        //now instead of returning just the car, we return an observable that emits the updated car instance.
+                        return Observable.create(new ObservableOnSubscribe<Car>() {
+                            @Override
+                            public void subscribe(ObservableEmitter<Car> emitter) throws Exception {
+                                emitter.onNext(updated);
+                                emitter.onComplete();
+                            }
+                        })
+                                .subscribeOn(innerScheduler);  //Without this, the emits happen in sequence.
+                    }
+                }).
+                subscribe(new Observer<Car>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        mEventSink.event(TAG, "onSubscribe: ");
+                    }
+
+                    @Override
+                    public void onNext(Car car) {
+                        mEventSink.event(TAG, "New Car price: ", car.carPrice);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        mEventSink.error(TAG, "onError: ", e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        mEventSink.event(TAG, "onComplete: ");
+                    }
+                });
+    }
+
+    //Columnar version of the map and groupBy examples: cars travel as CarBatches (a models
+    //column and a prices column) instead of one Car object each, so the price conversion and the
+    //grouping into MODELTYPE tiers run as loops over an int[], once per batch of 256 cars.
+    public void useCarBatchforObservable() {
+        int carCount = 1000;
+        String[] models = new String[carCount];
+        int[] prices = new int[carCount];
+        for (int i = 0; i < carCount; i++) {
+            models[i] = "Model " + i;
+            prices[i] = 10 * i;
+        }
+        CarBatches.fromArrays(models, prices, 256)
+                //same tiers as modelTypeOf: BASIC below 5000, MEDIUM below 8000, LUXURY above
+                .compose(CarBatches.groupByPriceTier(5000, 8000))
+                .flatMapSingle(group -> group
+                        .compose(CarBatches.mapPrices(price -> price * 25))
+                        .to(CarBatches.sumPrices())
+                        .map(sum -> MODELTYPE.values()[group.getKey()] + " total price: " + sum))
+                .subscribe(total -> mEventSink.event(TAG, total),
+                        throwable -> mEventSink.error(TAG, "onError: ", throwable),
+                        () -> mEventSink.event(TAG, "onComplete: "));
+    }
+
+    //Scan - map provides bifunction with current as well as previous emit
+    //Here the previous emit is the stats so far and the current one the new car price, so every
+    //car gets the running stats of all prices plus the stats of the last 5 prices. The stats are
+    //updated in place, so they are read as primitives right here and never passed on.
+    public void useScanforObservable() {
+        List<Car> lstCar = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lstCar.add(new Car("Model " + i, 1000 + 100 * mRandom.nextInt(90)));
+        }
+        Observable.fromIterable(lstCar)
+                .map(car -> car.carPrice)
+                .compose(IncrementalStats.over(5))
+                .subscribe(stats -> {
+                    mEventSink.event(TAG, "Cars so far: ", stats.count());
+                    mEventSink.event(TAG, "Mean price: ", (long) stats.mean());
+                    mEventSink.event(TAG, "Last 5 mean price: ", (long) stats.windowMean());
+                    mEventSink.event(TAG, "Last 5 min price: ", stats.windowMin());
+                    mEventSink.event(TAG, "Last 5 max price: ", stats.windowMax());
+                }, throwable -> mEventSink.error(TAG, "onError: ", throwable),
+                        () -> mEventSink.event(TAG, "onComplete: "));
+    }
+
+    private class Car {
+        final String carModel;
+        final int carPrice;
+        //mandatory properties are part of the constructor
+        Car(String model, int price) {
+            carModel = model;
+            carPrice = price;
+        }
+    }
+
+}
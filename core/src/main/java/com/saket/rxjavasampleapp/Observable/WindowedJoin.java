@@ -0,0 +1,462 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.BiFunction;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+import io.reactivex.rxjava3.internal.queue.MpscLinkedQueue;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Time windowed equi-join of two streams: a left and a right item are combined when their keys
+ * are equal and they arrived close enough in time.
+ *
+ * Observable.join() can express this with timer() durations and a key check in the result
+ * selector, but it pairs every arrival with every open window of the other side and leaves the
+ * key check to the selector, so an arrival costs O(open windows) and a timer per item. Here each
+ * side keeps a hash index from key to its items in the window, so an arrival only looks at the
+ * items with its key. Items expire by arrival time, no timer per item: on every arrival, plus a
+ * sweep once per window so an idle stream does not keep its state.
+ *
+ * Window types:
+ * - SLIDING: items match when they arrived less than window apart, like join() with timer(window)
+ *   as both durations.
+ * - FIXED: time is cut into windows of the given length, items match when they arrived in the
+ *   same one. All state is dropped when a window ends.
+ *
+ * Both sources are serialized through one queue, so the arrival order decides, like in join().
+ * The join completes when both sources completed.
+ *
+ * <pre>
+ * WindowedJoin&lt;Order, Payment, Long, String&gt; join = new WindowedJoin&lt;&gt;(order -> order.id,
+ *         payment -> payment.orderId, (order, payment) -> order + " paid by " + payment,
+ *         WindowedJoin.Window.SLIDING, 5, TimeUnit.SECONDS, Schedulers.computation());
+ * join.join(orders, payments).subscribe(...);
+ * </pre>
+ */
+public final class WindowedJoin<L, R, K, O> {
+
+    public enum Window {
+        SLIDING,
+        FIXED
+    }
+
+    private final Function<? super L, ? extends K> mLeftKey;
+    private final Function<? super R, ? extends K> mRightKey;
+    private final BiFunction<? super L, ? super R, ? extends O> mResultSelector;
+    private final Window mWindow;
+    private final long mWindowNanos;
+    private final Scheduler mScheduler;
+
+    //Shared by every subscriber of this join
+    private final AtomicLong mLeftArrivals = new AtomicLong();
+    private final AtomicLong mRightArrivals = new AtomicLong();
+    private final AtomicLong mProbed = new AtomicLong();
+    private final AtomicLong mMatches = new AtomicLong();
+    private final AtomicLong mExpired = new AtomicLong();
+    private final AtomicLong mStateSize = new AtomicLong();
+    private final AtomicLong mPeakStateSize = new AtomicLong();
+
+    /**
+     * @param window    length of a window, see {@link Window}.
+     * @param scheduler clock of the arrival times, and runs the sweep.
+     */
+    public WindowedJoin(Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+                        BiFunction<? super L, ? super R, ? extends O> resultSelector,
+                        Window windowType, long window, TimeUnit unit, Scheduler scheduler) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window > 0 required but it was " + window);
+        }
+        mLeftKey = leftKey;
+        mRightKey = rightKey;
+        mResultSelector = resultSelector;
+        mWindow = windowType;
+        mWindowNanos = unit.toNanos(window);
+        mScheduler = scheduler;
+    }
+
+    public Observable<O> join(ObservableSource<? extends L> left, ObservableSource<? extends R> right) {
+        return new Observable<O>() {
+            @Override
+            protected void subscribeActual(@NonNull Observer<? super O> observer) {
+                JoinCoordinator<L, R, K, O> coordinator = new JoinCoordinator<>(observer,
+                        WindowedJoin.this, mScheduler.createWorker());
+                observer.onSubscribe(coordinator);
+                coordinator.subscribe(left, right);
+            }
+        };
+    }
+
+    public Report report() {
+        return new Report(mWindow, mWindowNanos, mLeftArrivals.get(), mRightArrivals.get(), mProbed.get(),
+                mMatches.get(), mExpired.get(), mStateSize.get(), mPeakStateSize.get());
+    }
+
+    static final class JoinCoordinator<L, R, K, O> extends AtomicInteger implements Disposable, Runnable {
+
+        private final Observer<? super O> mDownstream;
+        private final WindowedJoin<L, R, K, O> mParent;
+        private final Scheduler.Worker mWorker;
+        private final CompositeDisposable mSources = new CompositeDisposable();
+        //Arrivals of both sides, in arrival order
+        private final MpscLinkedQueue<Arrival> mQueue = new MpscLinkedQueue<>();
+        private final AtomicReference<Throwable> mError = new AtomicReference<>();
+        private final AtomicInteger mActiveSources = new AtomicInteger(2);
+        private volatile boolean mDisposed;
+
+        //Only touched inside drain()
+        private final Side<L> mLeft = new Side<>();
+        private final Side<R> mRight = new Side<>();
+        private long mFixedWindow = Long.MIN_VALUE;
+
+        JoinCoordinator(Observer<? super O> downstream, WindowedJoin<L, R, K, O> parent,
+                        Scheduler.Worker worker) {
+            mDownstream = downstream;
+            mParent = parent;
+            mWorker = worker;
+        }
+
+        void subscribe(ObservableSource<? extends L> left, ObservableSource<? extends R> right) {
+            long window = mParent.mWindowNanos;
+            mSources.add(mWorker.schedulePeriodically(this, window, window, TimeUnit.NANOSECONDS));
+            SideObserver leftObserver = new SideObserver(this, true);
+            SideObserver rightObserver = new SideObserver(this, false);
+            mSources.add(leftObserver);
+            mSources.add(rightObserver);
+            left.subscribe(leftObserver);
+            right.subscribe(rightObserver);
+        }
+
+        void arrive(boolean left, Object value) {
+            mQueue.offer(new Arrival(left, value, mWorker.now(TimeUnit.NANOSECONDS)));
+            drain();
+        }
+
+        void sourceDone() {
+            mActiveSources.decrementAndGet();
+            drain();
+        }
+
+        void fail(Throwable e) {
+            if (mError.compareAndSet(null, e)) {
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        //Sweep
+        @Override
+        public void run() {
+            mQueue.offer(Arrival.SWEEP);
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (!mDisposed) {
+                mDisposed = true;
+                mSources.dispose();
+                mWorker.dispose();
+                if (getAndIncrement() == 0) {
+                    clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (mDisposed) {
+                        clear();
+                        return;
+                    }
+                    Throwable error = mError.get();
+                    if (error != null) {
+                        terminate();
+                        mDownstream.onError(error);
+                        return;
+                    }
+                    boolean done = mActiveSources.get() == 0;
+                    Arrival arrival = mQueue.poll();
+                    if (arrival == null) {
+                        if (done) {
+                            terminate();
+                            mDownstream.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                    try {
+                        if (arrival == Arrival.SWEEP) {
+                            expire(mWorker.now(TimeUnit.NANOSECONDS));
+                        } else if (arrival.mLeft) {
+                            L value = (L) arrival.mValue;
+                            mParent.mLeftArrivals.incrementAndGet();
+                            expire(arrival.mTime);
+                            K key = mParent.mLeftKey.apply(value);
+                            for (Entry<R> match : mRight.matches(key)) {
+                                emit(mParent.mResultSelector.apply(value, match.mValue));
+                            }
+                            mLeft.add(key, value, arrival.mTime);
+                            grew();
+                        } else {
+                            R value = (R) arrival.mValue;
+                            mParent.mRightArrivals.incrementAndGet();
+                            expire(arrival.mTime);
+                            K key = mParent.mRightKey.apply(value);
+                            for (Entry<L> match : mLeft.matches(key)) {
+                                emit(mParent.mResultSelector.apply(match.mValue, value));
+                            }
+                            mRight.add(key, value, arrival.mTime);
+                            grew();
+                        }
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        mError.compareAndSet(null, ex);
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void emit(O result) {
+            if (result == null) {
+                throw new NullPointerException("The resultSelector returned a null value");
+            }
+            mParent.mMatches.incrementAndGet();
+            mDownstream.onNext(result);
+        }
+
+        private void expire(long now) {
+            int expired;
+            if (mParent.mWindow == Window.FIXED) {
+                long window = Math.floorDiv(now, mParent.mWindowNanos);
+                if (window == mFixedWindow) {
+                    return;
+                }
+                mFixedWindow = window;
+                expired = mLeft.clear() + mRight.clear();
+            } else {
+                long oldest = now - mParent.mWindowNanos;
+                expired = mLeft.expire(oldest) + mRight.expire(oldest);
+            }
+            if (expired > 0) {
+                mParent.mExpired.addAndGet(expired);
+                mParent.mStateSize.addAndGet(-expired);
+            }
+        }
+
+        private void grew() {
+            long size = mParent.mStateSize.incrementAndGet();
+            mParent.mPeakStateSize.accumulateAndGet(size, Math::max);
+        }
+
+        private void terminate() {
+            mSources.dispose();
+            mWorker.dispose();
+            clear();
+        }
+
+        private void clear() {
+            mQueue.clear();
+            int dropped = mLeft.clear() + mRight.clear();
+            mParent.mStateSize.addAndGet(-dropped);
+        }
+
+        /**
+         * Items of one side in the window: by key for the probes, and in arrival order for the
+         * expiry, so expiring never scans items that are still in the window.
+         */
+        final class Side<T> {
+
+            private final Map<Object, ArrayDeque<Entry<T>>> mIndex = new HashMap<>();
+            private final ArrayDeque<Entry<T>> mByArrival = new ArrayDeque<>();
+
+            void add(Object key, T value, long time) {
+                Entry<T> entry = new Entry<>(key, value, time);
+                ArrayDeque<Entry<T>> entries = mIndex.get(key);
+                if (entries == null) {
+                    entries = new ArrayDeque<>(2);
+                    mIndex.put(key, entries);
+                }
+                entries.addLast(entry);
+                mByArrival.addLast(entry);
+            }
+
+            Iterable<Entry<T>> matches(Object key) {
+                ArrayDeque<Entry<T>> entries = mIndex.get(key);
+                if (entries == null) {
+                    return Collections.emptyList();
+                }
+                mParent.mProbed.addAndGet(entries.size());
+                return entries;
+            }
+
+            //Drops the items that arrived at oldest or before
+            int expire(long oldest) {
+                int expired = 0;
+                Entry<T> entry;
+                while ((entry = mByArrival.peekFirst()) != null && entry.mTime <= oldest) {
+                    mByArrival.pollFirst();
+                    ArrayDeque<Entry<T>> entries = mIndex.get(entry.mKey);
+                    //arrival order per key too, so it is the first one
+                    entries.pollFirst();
+                    if (entries.isEmpty()) {
+                        mIndex.remove(entry.mKey);
+                    }
+                    expired++;
+                }
+                return expired;
+            }
+
+            int clear() {
+                int size = mByArrival.size();
+                mByArrival.clear();
+                mIndex.clear();
+                return size;
+            }
+        }
+    }
+
+    static final class Entry<T> {
+        final Object mKey;
+        final T mValue;
+        final long mTime;
+
+        Entry(Object key, T value, long time) {
+            mKey = key;
+            mValue = value;
+            mTime = time;
+        }
+    }
+
+    static final class Arrival {
+        //Not an item, asks the drain to expire old state
+        static final Arrival SWEEP = new Arrival(false, null, 0);
+
+        final boolean mLeft;
+        final Object mValue;
+        final long mTime;
+
+        Arrival(boolean left, Object value, long time) {
+            mLeft = left;
+            mValue = value;
+            mTime = time;
+        }
+    }
+
+    static final class SideObserver extends AtomicReference<Disposable> implements Observer<Object>, Disposable {
+
+        private final JoinCoordinator<?, ?, ?, ?> mParent;
+        private final boolean mLeft;
+
+        SideObserver(JoinCoordinator<?, ?, ?, ?> parent, boolean left) {
+            mParent = parent;
+            mLeft = left;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            DisposableHelper.setOnce(this, d);
+        }
+
+        @Override
+        public void onNext(@NonNull Object t) {
+            mParent.arrive(mLeft, t);
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            mParent.fail(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mParent.sourceDone();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(get());
+        }
+    }
+
+    /**
+     * Metrics of all subscribers of one WindowedJoin.
+     */
+    public static class Report {
+        public final Window window;
+        public final long windowNanos;
+        public final long leftArrivals;
+        public final long rightArrivals;
+        //Items of the other side looked at by the probes, matches included
+        public final long probed;
+        public final long matches;
+        public final long expired;
+        //Items held in the windows of both sides right now
+        public final long stateSize;
+        public final long peakStateSize;
+
+        Report(Window window, long windowNanos, long leftArrivals, long rightArrivals, long probed,
+               long matches, long expired, long stateSize, long peakStateSize) {
+            this.window = window;
+            this.windowNanos = windowNanos;
+            this.leftArrivals = leftArrivals;
+            this.rightArrivals = rightArrivals;
+            this.probed = probed;
+            this.matches = matches;
+            this.expired = expired;
+            this.stateSize = stateSize;
+            this.peakStateSize = peakStateSize;
+        }
+
+        @Override
+        public String toString() {
+            return window
+                    + " window=" + (windowNanos / 1_000_000) + "ms"
+                    + " leftArrivals=" + leftArrivals
+                    + " rightArrivals=" + rightArrivals
+                    + " probed=" + probed
+                    + " matches=" + matches
+                    + " expired=" + expired
+                    + " stateSize=" + stateSize
+                    + " peakStateSize=" + peakStateSize;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.saket.rxjavasampleapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the last N events in preallocated arrays. Recording an event only stores references
+ * and primitives, the strings are built when {@link #snapshot()} is called.
+ *
+ * Events arrive from several scheduler threads, so recording is synchronized.
+ */
+public class RingBufferEventSink implements EventSink {
+
+    private static final byte NO_VALUE = 0;
+    private static final byte LONG_VALUE = 1;
+    private static final byte OBJECT_VALUE = 2;
+    private static final byte ERROR_VALUE = 3;
+
+    private final int mMask;
+    private final String[] mTags;
+    private final String[] mMessages;
+    private final long[] mLongValues;
+    private final Object[] mObjectValues;
+    private final byte[] mValueTypes;
+    private final long[] mTimestamps;
+    //Total number of events recorded since creation (or the last clear).
+    private long mCount;
+
+    /**
+     * @param capacity number of events to keep, rounded up to a power of two.
+     */
+    public RingBufferEventSink(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mMask = size - 1;
+        mTags = new String[size];
+        mMessages = new String[size];
+        mLongValues = new long[size];
+        mObjectValues = new Object[size];
+        mValueTypes = new byte[size];
+        mTimestamps = new long[size];
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void event(String tag, String message) {
+        record(tag, message, NO_VALUE, 0L, null);
+    }
+
+    @Override
+    public void event(String tag, String message, long value) {
+        record(tag, message, LONG_VALUE, value, null);
+    }
+
+    @Override
+    public void event(String tag, String message, Object value) {
+        record(tag, message, OBJECT_VALUE, 0L, value);
+    }
+
+    @Override
+    public void error(String tag, String message, Throwable throwable) {
+        record(tag, message, ERROR_VALUE, 0L, throwable);
+    }
+
+    private synchronized void record(String tag, String message, byte type, long longValue,
+                                     Object objectValue) {
+        int index = (int) (mCount++ & mMask);
+        mTags[index] = tag;
+        mMessages[index] = message;
+        mValueTypes[index] = type;
+        mLongValues[index] = longValue;
+        mObjectValues[index] = objectValue;
+        mTimestamps[index] = System.nanoTime();
+    }
+
+    public int capacity() {
+        return mMask + 1;
+    }
+
+    /**
+     * @return total number of events recorded, including the ones that were overwritten.
+     */
+    public synchronized long count() {
+        return mCount;
+    }
+
+    /**
+     * @return the retained events, oldest first, formatted as "tag: message value".
+     */
+    public synchronized List<String> snapshot() {
+        int size = (int) Math.min(mCount, capacity());
+        List<String> events = new ArrayList<>(size);
+        for (long i = mCount - size; i < mCount; i++) {
+            int index = (int) (i & mMask);
+            StringBuilder builder = new StringBuilder()
+                    .append(mTags[index]).append(": ").append(mMessages[index]);
+            switch (mValueTypes[index]) {
+                case LONG_VALUE:
+                    builder.append(mLongValues[index]);
+                    break;
+                case OBJECT_VALUE:
+                case ERROR_VALUE:
+                    builder.append(mObjectValues[index]);
+                    break;
+                default:
+                    break;
+            }
+            events.add(builder.toString());
+        }
+        return events;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < mObjectValues.length; i++) {
+            mObjectValues[i] = null;
+        }
+        mCount = 0;
+    }
+}
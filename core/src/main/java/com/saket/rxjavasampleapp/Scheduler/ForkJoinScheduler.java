@@ -0,0 +1,245 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Scheduler backed by a bounded, work stealing {@link ForkJoinPool} in async (FIFO) mode.
+ *
+ * Unlike Schedulers.computation(), which pins each Worker to one of N single threaded
+ * executors, a Worker here is only a serial queue: when it has work it submits one drain task to
+ * the pool, and any idle pool thread can pick it up or steal it. The thread count never goes
+ * above the configured parallelism, unlike Schedulers.io().
+ *
+ * Workers keep the Scheduler contract: tasks of one Worker run one at a time, in order.
+ * Delayed tasks wait on a single timer thread and are handed to the pool when they are due.
+ *
+ * Drop it in anywhere a Scheduler is accepted:
+ * <pre>
+ * ForkJoinScheduler scheduler = new ForkJoinScheduler(4);
+ * source.subscribeOn(scheduler).observeOn(scheduler)...
+ * scheduler.shutdown();
+ * </pre>
+ */
+public final class ForkJoinScheduler extends Scheduler {
+
+    private final ForkJoinPool mPool;
+    private final ScheduledExecutorService mTimer;
+
+    public ForkJoinScheduler(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        mPool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                null, true);
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ForkJoinScheduler-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        mTimer = timer;
+    }
+
+    public int parallelism() {
+        return mPool.getParallelism();
+    }
+
+    @NonNull
+    @Override
+    public Worker createWorker() {
+        return new ForkJoinWorker();
+    }
+
+    @NonNull
+    @Override
+    public Disposable scheduleDirect(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+        //Direct tasks need no ordering, so they skip the Worker queue.
+        Task task = new Task(RxJavaPlugins.onSchedule(run), null);
+        try {
+            if (delay <= 0) {
+                mPool.execute(task);
+            } else {
+                task.future = mTimer.schedule(() -> execute(task), delay, unit);
+            }
+        } catch (RejectedExecutionException ex) {
+            //After shutdown(), like the stock schedulers
+            RxJavaPlugins.onError(ex);
+            return Disposable.disposed();
+        }
+        return task;
+    }
+
+    //From the timer thread, where nobody would see the exception
+    private void execute(Runnable task) {
+        try {
+            mPool.execute(task);
+        } catch (RejectedExecutionException ex) {
+            RxJavaPlugins.onError(ex);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        mTimer.shutdownNow();
+        mPool.shutdown();
+    }
+
+    /**
+     * Serial queue of tasks, drained on the pool by at most one thread at a time.
+     */
+    final class ForkJoinWorker extends Worker implements Runnable {
+
+        private final Queue<Task> mQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger mWip = new AtomicInteger();
+        //Delayed tasks, so they can be cancelled when the Worker is disposed.
+        private final CompositeDisposable mDelayed = new CompositeDisposable();
+        private volatile boolean mDisposed;
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+            if (mDisposed) {
+                return Disposable.disposed();
+            }
+            Task task = new Task(RxJavaPlugins.onSchedule(run), null);
+            if (delay <= 0) {
+                return enqueue(task) ? task : Disposable.disposed();
+            }
+            Task delayed = new Task(() -> enqueue(task), mDelayed);
+            mDelayed.add(delayed);
+            try {
+                delayed.future = mTimer.schedule(delayed, delay, unit);
+            } catch (RejectedExecutionException ex) {
+                mDelayed.delete(delayed);
+                RxJavaPlugins.onError(ex);
+                return Disposable.disposed();
+            }
+            //Disposing the returned task cancels both the timer and the queued task.
+            return Disposable.fromRunnable(() -> {
+                delayed.dispose();
+                task.dispose();
+            });
+        }
+
+        //false if the task will never run
+        private boolean enqueue(Task task) {
+            if (mDisposed) {
+                return false;
+            }
+            mQueue.offer(task);
+            if (mWip.getAndIncrement() == 0) {
+                try {
+                    mPool.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    //The pool is shut down, nothing queued here can run any more
+                    mDisposed = true;
+                    mDelayed.dispose();
+                    mQueue.clear();
+                    RxJavaPlugins.onError(ex);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                Task task;
+                while ((task = mQueue.poll()) != null) {
+                    if (mDisposed) {
+                        mQueue.clear();
+                        return;
+                    }
+                    task.run();
+                }
+                missed = mWip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!mDisposed) {
+                mDisposed = true;
+                mDelayed.dispose();
+                if (mWip.getAndIncrement() == 0) {
+                    mQueue.clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+    }
+
+    /**
+     * A cancellable unit of work. Errors are routed to RxJavaPlugins.onError like the stock
+     * schedulers do.
+     */
+    static final class Task extends AtomicBoolean implements Runnable, Disposable {
+
+        private final Runnable mActual;
+        private final CompositeDisposable mParent;
+        volatile Future<?> future;
+
+        Task(Runnable actual, CompositeDisposable parent) {
+            mActual = actual;
+            mParent = parent;
+        }
+
+        @Override
+        public void run() {
+            if (get()) {
+                return;
+            }
+            try {
+                mActual.run();
+            } catch (Throwable ex) {
+                RxJavaPlugins.onError(ex);
+            } finally {
+                if (mParent != null) {
+                    mParent.delete(this);
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(false, true)) {
+                Future<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                if (mParent != null) {
+                    mParent.delete(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Scheduler whose delays are kept in a hashed timer wheel instead of the
+ * ScheduledThreadPoolExecutor heaps behind the stock schedulers.
+ *
+ * Adding or cancelling a timer is O(1): the timer goes into a lock free queue that the wheel
+ * thread moves into one of wheelSize buckets once per tick; a heap insert is O(log n) under a
+ * lock, per executor. The price is resolution: a timer fires on the first tick at or after its
+ * due time, so up to one tick late. Good for interval/timer/delay heavy pipelines with tens of
+ * thousands of pending timers, not for sub tick precision.
+ *
+ * The wheel only keeps time. Due tasks, and tasks without delay, run on a Worker of the
+ * execution Scheduler (computation() by default), which keeps the Scheduler contract: tasks of
+ * one Worker never overlap and run in order.
+ *
+ * The wheel thread wakes up every tick even when no timer is pending, so pick the coarsest tick
+ * the pipeline can live with and call shutdown() when done.
+ *
+ * <pre>
+ * HashedWheelScheduler wheel = new HashedWheelScheduler(1, TimeUnit.MILLISECONDS);
+ * Observable.interval(1, TimeUnit.SECONDS, wheel)...
+ * wheel.shutdown();
+ * </pre>
+ */
+public final class HashedWheelScheduler extends Scheduler {
+
+    //Timers moved from the queue into the wheel per tick, so a burst of adds cannot stall ticking
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final Scheduler mExecution;
+    private final long mTickNanos;
+    private final Bucket[] mWheel;
+    private final int mMask;
+    private final Queue<Timeout> mAdded = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> mCancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong mPending = new AtomicLong();
+    private final long mStartNanos;
+    private final Thread mThread;
+    private volatile boolean mShutdown;
+
+    public HashedWheelScheduler(long tick, TimeUnit unit) {
+        this(tick, unit, 512, Schedulers.computation());
+    }
+
+    /**
+     * @param tick      resolution of the wheel, timers fire up to one tick late.
+     * @param wheelSize buckets, rounded up to a power of two. Timers further out than
+     *                  wheelSize ticks wait in their bucket for extra rounds.
+     * @param execution runs the due tasks.
+     */
+    public HashedWheelScheduler(long tick, TimeUnit unit, int wheelSize, Scheduler execution) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("tick > 0 required but it was " + tick);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize in (0, 2^30] required but it was " + wheelSize);
+        }
+        mExecution = execution;
+        mTickNanos = unit.toNanos(tick);
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (wheelSize == 1) {
+            size = 1;
+        }
+        mWheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            mWheel[i] = new Bucket();
+        }
+        mMask = size - 1;
+        mStartNanos = System.nanoTime();
+        mThread = new Thread(this::runWheel, "HashedWheelScheduler-timer");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    //Timers added and not yet fired or cancelled
+    public long pendingTimers() {
+        return mPending.get();
+    }
+
+    public long tickNanos() {
+        return mTickNanos;
+    }
+
+    @NonNull
+    @Override
+    public Worker createWorker() {
+        return new WheelWorker(mExecution.createWorker());
+    }
+
+    @NonNull
+    @Override
+    public Disposable scheduleDirect(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+        Runnable decorated = RxJavaPlugins.onSchedule(run);
+        if (delay <= 0) {
+            return mExecution.scheduleDirect(decorated);
+        }
+        return addTimeout(new Timeout(() -> mExecution.scheduleDirect(decorated), null), delay, unit);
+    }
+
+    @Override
+    public long now(@NonNull TimeUnit unit) {
+        return mExecution.now(unit);
+    }
+
+    @Override
+    public void shutdown() {
+        mShutdown = true;
+        LockSupport.unpark(mThread);
+    }
+
+    private Timeout addTimeout(Timeout timeout, long delay, TimeUnit unit) {
+        if (mShutdown) {
+            timeout.dispose();
+            return timeout;
+        }
+        timeout.mDeadline = System.nanoTime() - mStartNanos + unit.toNanos(delay);
+        mPending.incrementAndGet();
+        mAdded.offer(timeout);
+        return timeout;
+    }
+
+    private void runWheel() {
+        long tick = 0;
+        while (!mShutdown) {
+            long deadline = (tick + 1) * mTickNanos;
+            long sleep;
+            while ((sleep = deadline - (System.nanoTime() - mStartNanos)) > 0 && !mShutdown) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (mShutdown) {
+                break;
+            }
+            removeCancelled();
+            transferAdded(tick);
+            mWheel[(int) (tick & mMask)].expire(deadline);
+            tick++;
+        }
+        //Drop everything still waiting, nothing is going to fire it
+        Timeout timeout;
+        while ((timeout = mAdded.poll()) != null) {
+            timeout.dispose();
+        }
+        for (Bucket bucket : mWheel) {
+            bucket.clear();
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = mCancelled.poll()) != null) {
+            if (timeout.mBucket != null) {
+                timeout.mBucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdded(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = mAdded.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.get() != Timeout.WAITING) {
+                continue;
+            }
+            long dueTick = timeout.mDeadline / mTickNanos;
+            timeout.mRemainingRounds = (dueTick - tick) / mWheel.length;
+            //already late timers go into the current bucket and fire on this tick
+            long bucketTick = Math.max(dueTick, tick);
+            mWheel[(int) (bucketTick & mMask)].add(timeout);
+        }
+    }
+
+    /**
+     * Serial Worker of the execution Scheduler with delays kept in the wheel.
+     */
+    final class WheelWorker extends Worker {
+
+        private final Worker mWorker;
+        //Pending timers, so they can be cancelled when the Worker is disposed.
+        private final CompositeDisposable mTimers = new CompositeDisposable();
+
+        WheelWorker(Worker worker) {
+            mWorker = worker;
+        }
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+            if (mTimers.isDisposed()) {
+                return Disposable.disposed();
+            }
+            Runnable decorated = RxJavaPlugins.onSchedule(run);
+            if (delay <= 0) {
+                return mWorker.schedule(decorated);
+            }
+            Timeout timeout = new Timeout(() -> mWorker.schedule(decorated), mTimers);
+            mTimers.add(timeout);
+            return addTimeout(timeout, delay, unit);
+        }
+
+        @Override
+        public long now(@NonNull TimeUnit unit) {
+            return mWorker.now(unit);
+        }
+
+        @Override
+        public void dispose() {
+            mTimers.dispose();
+            mWorker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mTimers.isDisposed();
+        }
+    }
+
+    /**
+     * One pending timer. When due it hands its task to the execution Scheduler and from then on
+     * disposing it disposes that task.
+     */
+    final class Timeout extends AtomicInteger implements Disposable {
+
+        static final int WAITING = 0;
+        static final int FIRED = 1;
+        static final int CANCELLED = 2;
+
+        private final DispatchAction mDispatch;
+        private final DisposableContainer mParent;
+        private volatile Disposable mDispatched;
+
+        //Owned by the wheel thread
+        long mDeadline;
+        long mRemainingRounds;
+        Bucket mBucket;
+        Timeout mPrev;
+        Timeout mNext;
+
+        Timeout(DispatchAction dispatch, DisposableContainer parent) {
+            mDispatch = dispatch;
+            mParent = parent;
+        }
+
+        //Wheel thread only
+        void fire() {
+            if (compareAndSet(WAITING, FIRED)) {
+                mPending.decrementAndGet();
+                if (mParent != null) {
+                    mParent.delete(this);
+                }
+                try {
+                    mDispatched = mDispatch.dispatch();
+                } catch (Throwable ex) {
+                    RxJavaPlugins.onError(ex);
+                }
+                //disposed while being dispatched
+                if (get() == CANCELLED) {
+                    Disposable dispatched = mDispatched;
+                    if (dispatched != null) {
+                        dispatched.dispose();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            int state = getAndSet(CANCELLED);
+            if (state == WAITING) {
+                mPending.decrementAndGet();
+                mCancelled.offer(this);
+                if (mParent != null) {
+                    mParent.delete(this);
+                }
+            } else if (state == FIRED) {
+                Disposable dispatched = mDispatched;
+                if (dispatched != null) {
+                    dispatched.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            if (get() == CANCELLED) {
+                return true;
+            }
+            Disposable dispatched = mDispatched;
+            return dispatched != null && dispatched.isDisposed();
+        }
+    }
+
+    interface DispatchAction {
+        Disposable dispatch();
+    }
+
+    /**
+     * Doubly linked list of the timers of one slot. Only the wheel thread touches it.
+     */
+    static final class Bucket {
+
+        private Timeout mHead;
+        private Timeout mTail;
+
+        void add(Timeout timeout) {
+            timeout.mBucket = this;
+            if (mHead == null) {
+                mHead = mTail = timeout;
+            } else {
+                mTail.mNext = timeout;
+                timeout.mPrev = mTail;
+                mTail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.mNext;
+            if (timeout.mPrev != null) {
+                timeout.mPrev.mNext = next;
+            }
+            if (next != null) {
+                next.mPrev = timeout.mPrev;
+            }
+            if (timeout == mHead) {
+                mHead = next;
+            }
+            if (timeout == mTail) {
+                mTail = timeout.mPrev;
+            }
+            timeout.mPrev = null;
+            timeout.mNext = null;
+            timeout.mBucket = null;
+        }
+
+        //Fires the timers of this round that are due, the others wait one more round.
+        void expire(long deadline) {
+            Timeout timeout = mHead;
+            while (timeout != null) {
+                Timeout next = timeout.mNext;
+                if (timeout.get() != Timeout.WAITING) {
+                    remove(timeout);
+                } else if (timeout.mRemainingRounds <= 0 && timeout.mDeadline <= deadline) {
+                    remove(timeout);
+                    timeout.fire();
+                } else {
+                    timeout.mRemainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void clear() {
+            Timeout timeout = mHead;
+            while (timeout != null) {
+                Timeout next = timeout.mNext;
+                remove(timeout);
+                timeout.dispose();
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import com.saket.rxjavasampleapp.LatencyHistogram;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+
+/**
+ * Scheduler decorator that records, per scheduler:
+ * - submit to start latency: how long a task waited beyond its requested delay,
+ * - execution time of each task,
+ * - submitted, completed, cancelled and rejected task counts and the current queue size,
+ * - active and peak Worker count.
+ *
+ * Recording is allocation free apart from the task wrapper itself. Installed for the standard
+ * schedulers by {@link SchedulerInstrumentation}.
+ */
+public class InstrumentedScheduler extends Scheduler {
+
+    private final String mName;
+    private final Scheduler mDelegate;
+
+    private final LatencyHistogram mStartLatency = new LatencyHistogram();
+    private final LatencyHistogram mExecutionTime = new LatencyHistogram();
+    private final AtomicLong mSubmitted = new AtomicLong();
+    private final AtomicLong mCompleted = new AtomicLong();
+    private final AtomicLong mCancelled = new AtomicLong();
+    private final AtomicLong mRejected = new AtomicLong();
+    private final AtomicLong mQueued = new AtomicLong();
+    private final AtomicInteger mActiveWorkers = new AtomicInteger();
+    private final AtomicInteger mPeakActiveWorkers = new AtomicInteger();
+
+    public InstrumentedScheduler(String name, Scheduler delegate) {
+        mName = name;
+        mDelegate = delegate;
+    }
+
+    public String name() {
+        return mName;
+    }
+
+    public Scheduler delegate() {
+        return mDelegate;
+    }
+
+    @NonNull
+    @Override
+    public Worker createWorker() {
+        int active = mActiveWorkers.incrementAndGet();
+        mPeakActiveWorkers.accumulateAndGet(active, Math::max);
+        return new InstrumentedWorker(mDelegate.createWorker());
+    }
+
+    @NonNull
+    @Override
+    public Disposable scheduleDirect(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+        InstrumentedTask task = new InstrumentedTask(run, delay, unit, null);
+        try {
+            return task.attach(mDelegate.scheduleDirect(task, delay, unit));
+        } catch (RejectedExecutionException e) {
+            task.reject();
+            throw e;
+        }
+    }
+
+    @NonNull
+    @Override
+    public Disposable schedulePeriodicallyDirect(@NonNull Runnable run, long initialDelay,
+                                                 long period, @NonNull TimeUnit unit) {
+        //Periodic runs have no single due time, only their execution time is recorded. Every run
+        //counts as submitted when it starts, so submitted - completed stays the number running.
+        return mDelegate.schedulePeriodicallyDirect(() -> {
+            mSubmitted.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                run.run();
+            } finally {
+                mExecutionTime.record(System.nanoTime() - start);
+                mCompleted.incrementAndGet();
+            }
+        }, initialDelay, period, unit);
+    }
+
+    @Override
+    public long now(@NonNull TimeUnit unit) {
+        return mDelegate.now(unit);
+    }
+
+    @Override
+    public void start() {
+        mDelegate.start();
+    }
+
+    @Override
+    public void shutdown() {
+        mDelegate.shutdown();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(mName, mSubmitted.get(), mCompleted.get(), mCancelled.get(),
+                mRejected.get(), mQueued.get(), mActiveWorkers.get(), mPeakActiveWorkers.get(),
+                mStartLatency.snapshot(), mExecutionTime.snapshot());
+    }
+
+    final class InstrumentedWorker extends Worker {
+
+        private final Worker mWorker;
+        private final AtomicInteger mOnce = new AtomicInteger();
+        //Tasks that did not start yet, cancelled along with the worker
+        private final CompositeDisposable mTasks = new CompositeDisposable();
+
+        InstrumentedWorker(Worker worker) {
+            mWorker = worker;
+        }
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+            InstrumentedTask task = new InstrumentedTask(run, delay, unit, mTasks);
+            if (mWorker.isDisposed() || !mTasks.add(task)) {
+                task.reject();
+                return Disposable.disposed();
+            }
+            try {
+                return task.attach(mWorker.schedule(task, delay, unit));
+            } catch (RejectedExecutionException e) {
+                task.reject();
+                throw e;
+            }
+        }
+
+        //No schedulePeriodically override: Worker's default schedules every run through
+        //schedule() above, so each run is one submitted task.
+
+        @Override
+        public long now(@NonNull TimeUnit unit) {
+            return mWorker.now(unit);
+        }
+
+        @Override
+        public void dispose() {
+            if (mOnce.compareAndSet(0, 1)) {
+                mActiveWorkers.decrementAndGet();
+            }
+            mTasks.dispose();
+            mWorker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mWorker.isDisposed();
+        }
+    }
+
+    /**
+     * Wraps one scheduled task: counts it as queued until it starts or is cancelled.
+     */
+    final class InstrumentedTask extends AtomicInteger implements Runnable, Disposable {
+
+        private static final int QUEUED = 0;
+        private static final int STARTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Runnable mActual;
+        private final long mDueNanos;
+        //Pending tasks of the worker, null for direct tasks
+        private final DisposableContainer mContainer;
+        private volatile Disposable mUpstream;
+
+        InstrumentedTask(Runnable actual, long delay, TimeUnit unit, DisposableContainer container) {
+            mActual = actual;
+            mDueNanos = System.nanoTime() + Math.max(0, unit.toNanos(delay));
+            mContainer = container;
+            mSubmitted.incrementAndGet();
+            mQueued.incrementAndGet();
+        }
+
+        Disposable attach(Disposable upstream) {
+            mUpstream = upstream;
+            return this;
+        }
+
+        void reject() {
+            if (compareAndSet(QUEUED, CANCELLED)) {
+                mQueued.decrementAndGet();
+                mRejected.incrementAndGet();
+                leave();
+            }
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            if (compareAndSet(QUEUED, STARTED)) {
+                mQueued.decrementAndGet();
+                mStartLatency.record(start - mDueNanos);
+                leave();
+            }
+            try {
+                mActual.run();
+            } finally {
+                mExecutionTime.record(System.nanoTime() - start);
+                mCompleted.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(QUEUED, CANCELLED)) {
+                mQueued.decrementAndGet();
+                mCancelled.incrementAndGet();
+                leave();
+            }
+            Disposable upstream = mUpstream;
+            if (upstream != null) {
+                upstream.dispose();
+            }
+        }
+
+        //No longer pending, the worker does not have to cancel it. A no-op while the worker
+        //disposes its tasks.
+        private void leave() {
+            if (mContainer != null) {
+                mContainer.delete(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            Disposable upstream = mUpstream;
+            return upstream != null ? upstream.isDisposed() : get() == CANCELLED;
+        }
+    }
+
+    /**
+     * Point in time copy of the counters of one scheduler.
+     */
+    public static class Snapshot {
+        public final String name;
+        public final long submitted;
+        public final long completed;
+        public final long cancelled;
+        public final long rejected;
+        public final long queued;
+        public final int activeWorkers;
+        public final int peakActiveWorkers;
+        //Nanoseconds
+        public final LatencyHistogram.Snapshot startLatency;
+        public final LatencyHistogram.Snapshot executionTime;
+
+        Snapshot(String name, long submitted, long completed, long cancelled, long rejected,
+                 long queued, int activeWorkers, int peakActiveWorkers,
+                 LatencyHistogram.Snapshot startLatency,
+                 LatencyHistogram.Snapshot executionTime) {
+            this.name = name;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.cancelled = cancelled;
+            this.rejected = rejected;
+            this.queued = queued;
+            this.activeWorkers = activeWorkers;
+            this.peakActiveWorkers = peakActiveWorkers;
+            this.startLatency = startLatency;
+            this.executionTime = executionTime;
+        }
+
+        @Override
+        public String toString() {
+            return name
+                    + " submitted=" + submitted
+                    + " completed=" + completed
+                    + " cancelled=" + cancelled
+                    + " rejected=" + rejected
+                    + " queued=" + queued
+                    + " activeWorkers=" + activeWorkers
+                    + " peakActiveWorkers=" + peakActiveWorkers
+                    + " startLatencyNs[" + startLatency + "]"
+                    + " executionNs[" + executionTime + "]";
+        }
+    }
+}
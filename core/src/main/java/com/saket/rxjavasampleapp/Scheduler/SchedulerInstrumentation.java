@@ -0,0 +1,73 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import com.saket.rxjavasampleapp.EventSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Opt-in instrumentation of the standard schedulers.
+ *
+ * {@link #install()} uses the RxJavaPlugins scheduler handlers to wrap Schedulers.computation(),
+ * io(), newThread() and single() in an {@link InstrumentedScheduler}, so every pipeline is
+ * measured without changing its code. Other schedulers (Schedulers.from(), ForkJoinScheduler...)
+ * can be wrapped explicitly with {@link #instrument(String, Scheduler)}.
+ *
+ * Install it before the first pipeline runs; it replaces any handler set before (for example
+ * by a VirtualTimeHarness).
+ */
+public final class SchedulerInstrumentation {
+
+    private static final String TAG = "SchedulerInstrumentation";
+    private static final Map<String, InstrumentedScheduler> SCHEDULERS = new ConcurrentHashMap<>();
+
+    private SchedulerInstrumentation() {
+    }
+
+    public static void install() {
+        RxJavaPlugins.setComputationSchedulerHandler(scheduler -> instrument("computation", scheduler));
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> instrument("io", scheduler));
+        RxJavaPlugins.setNewThreadSchedulerHandler(scheduler -> instrument("newThread", scheduler));
+        RxJavaPlugins.setSingleSchedulerHandler(scheduler -> instrument("single", scheduler));
+    }
+
+    public static void uninstall() {
+        RxJavaPlugins.setComputationSchedulerHandler(null);
+        RxJavaPlugins.setIoSchedulerHandler(null);
+        RxJavaPlugins.setNewThreadSchedulerHandler(null);
+        RxJavaPlugins.setSingleSchedulerHandler(null);
+        SCHEDULERS.clear();
+    }
+
+    /**
+     * @return scheduler wrapped in an InstrumentedScheduler registered under name. The same
+     * wrapper is returned for the same name, so the handlers do not allocate per call.
+     */
+    public static Scheduler instrument(String name, Scheduler scheduler) {
+        InstrumentedScheduler instrumented = SCHEDULERS.get(name);
+        if (instrumented == null || instrumented.delegate() != scheduler) {
+            instrumented = new InstrumentedScheduler(name, scheduler);
+            SCHEDULERS.put(name, instrumented);
+        }
+        return instrumented;
+    }
+
+    public static List<InstrumentedScheduler.Snapshot> snapshot() {
+        List<InstrumentedScheduler.Snapshot> snapshots = new ArrayList<>();
+        for (InstrumentedScheduler scheduler : SCHEDULERS.values()) {
+            snapshots.add(scheduler.snapshot());
+        }
+        return snapshots;
+    }
+
+    public static void dump(EventSink eventSink) {
+        for (InstrumentedScheduler.Snapshot snapshot : snapshot()) {
+            eventSink.event(TAG, "", snapshot);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Scheduler that runs every task on a fresh virtual thread, meant for inner sources that block
+ * (sleep, blocking I/O). A blocked virtual thread releases its carrier thread, so 10K blocked
+ * inner sources do not need 10K OS threads the way Schedulers.io() does.
+ *
+ * Virtual threads need Java 21. This module targets Java 8 for Android, so they are looked up
+ * through reflection; on runtimes without them {@link #get()} falls back to Schedulers.io().
+ *
+ * Pick it per pipeline:
+ * <pre>
+ * Observable.fromCallable(blockingCall).subscribeOn(VirtualThreadScheduler.get())
+ * </pre>
+ */
+public final class VirtualThreadScheduler {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+    private static final Scheduler INSTANCE = VIRTUAL_THREAD_FACTORY != null
+            ? create(VIRTUAL_THREAD_FACTORY)
+            : null;
+
+    private VirtualThreadScheduler() {
+    }
+
+    public static boolean isAvailable() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * @return the shared virtual thread Scheduler, or Schedulers.io() without virtual threads.
+     */
+    public static Scheduler get() {
+        return INSTANCE != null ? INSTANCE : Schedulers.io();
+    }
+
+    /**
+     * @return a factory for unstarted virtual threads, or null without virtual threads.
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        return VIRTUAL_THREAD_FACTORY;
+    }
+
+    /**
+     * Scheduler that starts a new thread from threadFactory for every task it executes.
+     * Worker ordering is kept by Schedulers.from(), and disposing a Worker interrupts the task
+     * that is blocked on it.
+     */
+    public static Scheduler create(ThreadFactory threadFactory) {
+        return Schedulers.from(task -> threadFactory.newThread(task).start(), true);
+    }
+
+    //Thread.ofVirtual().factory()
+    private static ThreadFactory lookupVirtualThreadFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            //Look the method up on the public Thread.Builder interface, the builder class
+            //itself is not accessible.
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //No Loom on this runtime (or preview features disabled)
+            return null;
+        }
+    }
+}
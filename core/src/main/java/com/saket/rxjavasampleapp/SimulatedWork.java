@@ -0,0 +1,33 @@
+package com.saket.rxjavasampleapp;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+
+/**
+ * Simulated work for the samples. Instead of blocking a thread with Thread.sleep(), the delay is
+ * scheduled as a timer and the value is emitted once it fires. No thread is pinned while waiting,
+ * and under a {@link VirtualTimeHarness} the delay costs no wall time at all.
+ */
+public final class SimulatedWork {
+
+    private SimulatedWork() {
+    }
+
+    /**
+     * Emits value after delayMillis on the computation scheduler.
+     */
+    public static <T> Observable<T> after(T value, long delayMillis) {
+        return Observable.timer(delayMillis, TimeUnit.MILLISECONDS)
+                .map(tick -> value);
+    }
+
+    /**
+     * Emits value after delayMillis on the given scheduler.
+     */
+    public static <T> Observable<T> after(T value, long delayMillis, Scheduler scheduler) {
+        return Observable.timer(delayMillis, TimeUnit.MILLISECONDS, scheduler)
+                .map(tick -> value);
+    }
+}
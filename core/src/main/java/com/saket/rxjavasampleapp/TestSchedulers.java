@@ -0,0 +1,233 @@
+package com.saket.rxjavasampleapp;
+
+import com.saket.rxjavasampleapp.Scheduler.ForkJoinScheduler;
+import com.saket.rxjavasampleapp.Scheduler.HashedWheelScheduler;
+import com.saket.rxjavasampleapp.Scheduler.VirtualThreadScheduler;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Created by sshriwas on 2020-03-15
+ */
+public class TestSchedulers {
+    
+    private static final String TAG = "Schedulers";
+
+    //How the inner sources of the flatMap workload are executed
+    public enum ExecutionMode {
+        THREAD_PER_ELEMENT, //unbounded flatMap, every inner source on its own newThread()
+        BOUNDED,            //flatMap(maxConcurrency, prefetch), inner sources on a shared fixed pool
+        VIRTUAL_THREADS     //unbounded flatMap, every inner source on its own virtual thread
+                            //(newThread() on runtimes without virtual threads)
+    }
+
+    private final EventSink mEventSink;
+    //Source of the simulated delays. Tests pass a seeded Random to get the same delays every run.
+    private final Random mRandom;
+
+    public TestSchedulers(EventSink eventSink) {
+        this(eventSink, new Random());
+    }
+
+    public TestSchedulers(EventSink eventSink, Random random) {
+        mEventSink = eventSink;
+        mRandom = random;
+    }
+
+    //Schedulers.io() - unbound thread pool which will start with creating a new thread for
+    //a given observable. But for new observables it may re-use an existing idle thread or create
+    //another new thread in the pool. Most commonly used scheduler.
+    public void useSchedulersio() {
+        Integer[] arrInteger = new Integer[]{1,2,3,4,5,6,7,8,9,10};
+        Observable.fromArray(arrInteger)
+                .subscribeOn(Schedulers.newThread())
+                .flatMap(new Function<Integer, ObservableSource<Integer>>() {
+                    @Override
+                    public ObservableSource<Integer> apply(Integer integer) throws Exception {
+                        //Introduce some random delay here. The delay is scheduled on the new thread
+                        //instead of sleeping in the mapper, so the inner sources run concurrently.
+                        int delay = 1000 + mRandom.nextInt(4000);
+                        mEventSink.event(TAG, "delay: ", delay);
+                        return SimulatedWork.after(integer, delay, Schedulers.newThread());
+                    }
+                })
+                .doAfterNext(new Consumer<Integer>() {
+                    @Override
+                    public void accept(Integer integer) throws Exception {
+                        mEventSink.event(TAG, "accept: ", Thread.currentThread());
+                    }
+                })
+                .subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        mEventSink.event(TAG, "onSubscribe: ");
+                    }
+
+                    @Override
+                    public void onNext(Integer integer) {
+                        mEventSink.event(TAG, "onNext: ", integer);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        mEventSink.error(TAG, "onError: ", e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        mEventSink.event(TAG, "onComplete: ");
+                    }
+                });
+    }
+
+    //Same shape as useSchedulersio, but each inner source blocks its thread for workMillis and
+    //the execution mode decides how many threads that takes. Logs one report per mode.
+    //Blocks the calling thread until all runs are done.
+    public void compareFlatMapExecution(int elementCount, long workMillis) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            FlatMapReport report = runFlatMapWorkload(mode, elementCount, workMillis,
+                    cores * 2, 16, cores * 2);
+            mEventSink.event(TAG, "flatMap ", report);
+        }
+    }
+
+    /**
+     * Runs elementCount blocking inner sources through flatMap.
+     * For VIRTUAL_THREADS the thread counts are virtual threads, not OS threads.
+     *
+     * @param maxConcurrency inner sources subscribed at once (BOUNDED only).
+     * @param prefetch       items buffered per inner source (BOUNDED only).
+     * @param poolSize       threads in the shared pool (BOUNDED only).
+     */
+    public FlatMapReport runFlatMapWorkload(ExecutionMode mode, int elementCount, long workMillis,
+                                            int maxConcurrency, int prefetch, int poolSize) {
+        CountingThreadFactory threadFactory = new CountingThreadFactory("FlatMapWorkload");
+        ExecutorService pool = null;
+        Scheduler innerScheduler;
+        if (mode == ExecutionMode.BOUNDED) {
+            pool = Executors.newFixedThreadPool(poolSize, threadFactory);
+            innerScheduler = Schedulers.from(pool);
+        } else if (mode == ExecutionMode.VIRTUAL_THREADS && VirtualThreadScheduler.isAvailable()) {
+            threadFactory = new CountingThreadFactory(VirtualThreadScheduler.virtualThreadFactory());
+            innerScheduler = VirtualThreadScheduler.create(threadFactory);
+        } else {
+            //What Schedulers.newThread() does, with a factory we can count
+            innerScheduler = RxJavaPlugins.createNewThreadScheduler(threadFactory);
+        }
+
+        Function<Integer, Observable<Integer>> inner = integer -> Observable.fromCallable(() -> {
+            Thread.sleep(workMillis);
+            return integer;
+        }).subscribeOn(innerScheduler);
+
+        Observable<Integer> source = Observable.range(0, elementCount);
+        long start = System.nanoTime();
+        long emitted;
+        try {
+            emitted = (mode == ExecutionMode.BOUNDED
+                    ? source.flatMap(inner, false, maxConcurrency, prefetch)
+                    : source.flatMap(inner))
+                    .count()
+                    .blockingGet();
+        } finally {
+            innerScheduler.shutdown();
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new FlatMapReport(mode, emitted, threadFactory.created(), threadFactory.peakLive(),
+                elapsed);
+    }
+
+    /**
+     * Result of one flatMap workload run.
+     */
+    public static class FlatMapReport {
+        public final ExecutionMode mode;
+        public final long emitted;
+        public final int threadsCreated;
+        public final int peakLiveThreads;
+        public final long elapsedNanos;
+
+        FlatMapReport(ExecutionMode mode, long emitted, int threadsCreated, int peakLiveThreads,
+                      long elapsedNanos) {
+            this.mode = mode;
+            this.emitted = emitted;
+            this.threadsCreated = threadsCreated;
+            this.peakLiveThreads = peakLiveThreads;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return mode
+                    + " emitted=" + emitted
+                    + " threadsCreated=" + threadsCreated
+                    + " peakLiveThreads=" + peakLiveThreads
+                    + " elapsed=" + (elapsedNanos / 1_000_000) + "ms";
+        }
+    }
+
+    //Schedulers.computation()
+
+    //Schedulers.newThread()
+
+    //Schedulers.from(Executor executor)
+
+    //ForkJoinScheduler - a bounded, work stealing pool. Any Scheduler can be passed to subscribeOn
+    //and observeOn, here the CPU bound price conversion runs on the pool and the results are
+    //observed on one of its workers as well. Never more than parallelism threads are created.
+    public void useForkJoinScheduler(int parallelism) {
+        ForkJoinScheduler scheduler = new ForkJoinScheduler(parallelism);
+        Observable.range(1, 10)
+                .subscribeOn(scheduler)
+                .map(price -> price * 25)
+                .observeOn(scheduler)
+                .doFinally(scheduler::shutdown)
+                .subscribe(price -> {
+                    if (mEventSink.isEnabled()) {
+                        mEventSink.event(TAG, "price: " + price + " on " + Thread.currentThread().getName());
+                    }
+                }, throwable -> mEventSink.error(TAG, "onError: ", throwable));
+    }
+
+    //HashedWheelScheduler - keeps delays in a timer wheel with 10ms ticks instead of the
+    //executor heaps. Here 10000 concurrent delay()s of up to 5 secs share one wheel, each one
+    //fires at most a tick late, on computation() threads.
+    public void useHashedWheelScheduler() {
+        HashedWheelScheduler scheduler = new HashedWheelScheduler(10, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        Observable.range(0, 10_000)
+                .flatMap(integer -> Observable.just(integer)
+                        .delay(mRandom.nextInt(5000), TimeUnit.MILLISECONDS, scheduler))
+                .count()
+                .doFinally(scheduler::shutdown)
+                .subscribe(count -> {
+                    if (mEventSink.isEnabled()) {
+                        mEventSink.event(TAG, "delayed: " + count + " in "
+                                + (System.nanoTime() - start) / 1_000_000 + "ms");
+                    }
+                }, throwable -> mEventSink.error(TAG, "onError: ", throwable));
+    }
+
+    //Schedulers.Single()
+
+    //Schedulers.trampoline()
+
+    //AndroidSchedulers.maintThread()
+}
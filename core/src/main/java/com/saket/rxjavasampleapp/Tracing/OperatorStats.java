@@ -0,0 +1,95 @@
+package com.saket.rxjavasampleapp.Tracing;
+
+import com.saket.rxjavasampleapp.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of one traced operator, shared by every subscription of the same operator assembled
+ * at the same place (a flatMap that assembles a new inner Observable per item still reports one
+ * line per inner operator, not one per item).
+ *
+ * - emitted: onNext calls coming out of the operator, and items/s between the first and the
+ *   last one.
+ * - emitInterval: time between two consecutive items coming out of the operator. This is where
+ *   timer driven operators (interval, delay, debounce...) show up.
+ * - processing: time the operator spent on each item it received, excluding the time spent in
+ *   the traced operators after it. User functions (the mapper of map, the predicate of filter,
+ *   the consumer of doAfterNext...) run inside this time.
+ */
+public class OperatorStats {
+
+    private final String mOperator;
+    private final String mAssemblySite;
+
+    private final AtomicLong mEmitted = new AtomicLong();
+    private final AtomicLong mFirstEmitNanos = new AtomicLong();
+    private final AtomicLong mLastEmitNanos = new AtomicLong();
+    private final LatencyHistogram mEmitInterval = new LatencyHistogram();
+    private final LatencyHistogram mProcessing = new LatencyHistogram();
+
+    OperatorStats(String operator, String assemblySite) {
+        mOperator = operator;
+        mAssemblySite = assemblySite;
+    }
+
+    void onEmit(long now) {
+        mEmitted.incrementAndGet();
+        long previous = mLastEmitNanos.getAndSet(now);
+        if (previous == 0) {
+            mFirstEmitNanos.compareAndSet(0, now);
+        } else {
+            mEmitInterval.record(now - previous);
+        }
+    }
+
+    void onProcessed(long nanos) {
+        mProcessing.record(nanos);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(mOperator, mAssemblySite, mEmitted.get(), mFirstEmitNanos.get(),
+                mLastEmitNanos.get(), mEmitInterval.snapshot(), mProcessing.snapshot());
+    }
+
+    /**
+     * Point in time copy of the counters of one operator.
+     */
+    public static class Snapshot {
+        public final String operator;
+        public final String assemblySite;
+        public final long emitted;
+        public final double itemsPerSecond;
+        //Nanoseconds
+        public final LatencyHistogram.Snapshot emitInterval;
+        public final LatencyHistogram.Snapshot processing;
+
+        Snapshot(String operator, String assemblySite, long emitted, long firstEmitNanos,
+                 long lastEmitNanos, LatencyHistogram.Snapshot emitInterval,
+                 LatencyHistogram.Snapshot processing) {
+            this.operator = operator;
+            this.assemblySite = assemblySite;
+            this.emitted = emitted;
+            long span = lastEmitNanos - firstEmitNanos;
+            this.itemsPerSecond = emitted > 1 && span > 0 ? (emitted - 1) * 1e9 / span : 0;
+            this.emitInterval = emitInterval;
+            this.processing = processing;
+        }
+
+        //Total time spent processing items, user functions included
+        public long processingNanos() {
+            return processing.sum;
+        }
+
+        @Override
+        public String toString() {
+            return operator + " at " + assemblySite
+                    + " emitted=" + emitted
+                    + " items/s=" + String.format(Locale.US, "%.1f", itemsPerSecond)
+                    + " processingTotal=" + (processingNanos() / 1_000) + "us"
+                    + " processingNs[" + processing + "]"
+                    + " emitIntervalNs[" + emitInterval + "]";
+        }
+    }
+}
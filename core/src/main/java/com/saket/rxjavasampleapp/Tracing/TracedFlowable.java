@@ -0,0 +1,96 @@
+package com.saket.rxjavasampleapp.Tracing;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.internal.subscriptions.SubscriptionHelper;
+
+/**
+ * Wraps one assembled Flowable operator, see {@link OperatorTracing}.
+ */
+final class TracedFlowable<T> extends Flowable<T> {
+
+    private final Publisher<T> mSource;
+    private final OperatorStats mStats;
+
+    TracedFlowable(Publisher<T> source, OperatorStats stats) {
+        mSource = source;
+        mStats = stats;
+    }
+
+    @Override
+    protected void subscribeActual(@NonNull Subscriber<? super T> subscriber) {
+        //subscriber belongs to the operator subscribing to us, if it is traced
+        OperatorStats consumer = OperatorTracing.SUBSCRIBING.get();
+        OperatorTracing.SUBSCRIBING.set(mStats);
+        try {
+            mSource.subscribe(new TracingSubscriber<>(subscriber, mStats, consumer));
+        } finally {
+            OperatorTracing.SUBSCRIBING.set(consumer);
+        }
+    }
+
+    //Implements Subscription but not QueueSubscription, which turns off fusion: every item has
+    //to go through onNext to be counted.
+    static final class TracingSubscriber<T> implements FlowableSubscriber<T>, Subscription {
+
+        private final Subscriber<? super T> mDownstream;
+        private final OperatorStats mStats;
+        private final OperatorStats mConsumer;
+        private Subscription mUpstream;
+
+        TracingSubscriber(Subscriber<? super T> downstream, OperatorStats stats, OperatorStats consumer) {
+            mDownstream = downstream;
+            mStats = stats;
+            mConsumer = consumer;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Subscription s) {
+            if (SubscriptionHelper.validate(mUpstream, s)) {
+                mUpstream = s;
+                mDownstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            long start = System.nanoTime();
+            mStats.onEmit(start);
+            OperatorTracing.Frame frame = OperatorTracing.Frame.current();
+            long saved = frame.enter();
+            try {
+                mDownstream.onNext(t);
+            } finally {
+                long own = frame.exit(saved, System.nanoTime() - start);
+                if (mConsumer != null) {
+                    mConsumer.onProcessed(own);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            mDownstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            mUpstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            mUpstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.saket.rxjavasampleapp.Tracing;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.internal.disposables.DisposableHelper;
+
+/**
+ * Wraps one assembled Observable operator, see {@link OperatorTracing}.
+ */
+final class TracedObservable<T> extends Observable<T> {
+
+    private final ObservableSource<T> mSource;
+    private final OperatorStats mStats;
+
+    TracedObservable(ObservableSource<T> source, OperatorStats stats) {
+        mSource = source;
+        mStats = stats;
+    }
+
+    @Override
+    protected void subscribeActual(@NonNull Observer<? super T> observer) {
+        //observer belongs to the operator subscribing to us, if it is traced
+        OperatorStats consumer = OperatorTracing.SUBSCRIBING.get();
+        OperatorTracing.SUBSCRIBING.set(mStats);
+        try {
+            mSource.subscribe(new TracingObserver<>(observer, mStats, consumer));
+        } finally {
+            OperatorTracing.SUBSCRIBING.set(consumer);
+        }
+    }
+
+    //Implements Disposable but not QueueDisposable, which turns off fusion: every item has to
+    //go through onNext to be counted.
+    static final class TracingObserver<T> implements Observer<T>, Disposable {
+
+        private final Observer<? super T> mDownstream;
+        private final OperatorStats mStats;
+        private final OperatorStats mConsumer;
+        private Disposable mUpstream;
+
+        TracingObserver(Observer<? super T> downstream, OperatorStats stats, OperatorStats consumer) {
+            mDownstream = downstream;
+            mStats = stats;
+            mConsumer = consumer;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Disposable d) {
+            if (DisposableHelper.validate(mUpstream, d)) {
+                mUpstream = d;
+                mDownstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(@NonNull T t) {
+            long start = System.nanoTime();
+            mStats.onEmit(start);
+            OperatorTracing.Frame frame = OperatorTracing.Frame.current();
+            long saved = frame.enter();
+            try {
+                mDownstream.onNext(t);
+            } finally {
+                long own = frame.exit(saved, System.nanoTime() - start);
+                if (mConsumer != null) {
+                    mConsumer.onProcessed(own);
+                }
+            }
+        }
+
+        @Override
+        public void onError(@NonNull Throwable e) {
+            mDownstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            mDownstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            mUpstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mUpstream.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.saket.rxjavasampleapp;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+/**
+ * Runs the samples in virtual time.
+ *
+ * While the harness is open, Schedulers.computation(), io(), newThread() and single() are all
+ * replaced by one {@link TestScheduler} through the RxJavaPlugins scheduler handlers. Every
+ * delay, timer, debounce window and subscribeOn of a sample then runs on the calling thread
+ * when the virtual clock is advanced, so a sample that takes tens of seconds of wall time
+ * completes in milliseconds, and always in the same order.
+ *
+ * <pre>
+ * try (VirtualTimeHarness harness = new VirtualTimeHarness()) {
+ *     filterObservables.useDeboucetoFilterEmits();
+ *     harness.runUntilIdle();
+ * }
+ * </pre>
+ */
+public class VirtualTimeHarness implements AutoCloseable {
+
+    //Long enough for any of the samples, short enough not to overflow the virtual clock.
+    private static final long IDLE_HORIZON_HOURS = 24;
+
+    private final TestScheduler mScheduler = new TestScheduler();
+
+    public VirtualTimeHarness() {
+        RxJavaPlugins.setComputationSchedulerHandler(scheduler -> mScheduler);
+        RxJavaPlugins.setIoSchedulerHandler(scheduler -> mScheduler);
+        RxJavaPlugins.setNewThreadSchedulerHandler(scheduler -> mScheduler);
+        RxJavaPlugins.setSingleSchedulerHandler(scheduler -> mScheduler);
+    }
+
+    public TestScheduler scheduler() {
+        return mScheduler;
+    }
+
+    public void advanceTimeBy(long delay, TimeUnit unit) {
+        mScheduler.advanceTimeBy(delay, unit);
+    }
+
+    /**
+     * Runs everything scheduled within the next 24 hours of virtual time, including work
+     * scheduled by the tasks themselves.
+     */
+    public void runUntilIdle() {
+        mScheduler.advanceTimeBy(IDLE_HORIZON_HOURS, TimeUnit.HOURS);
+    }
+
+    public long now(TimeUnit unit) {
+        return mScheduler.now(unit);
+    }
+
+    @Override
+    public void close() {
+        RxJavaPlugins.setComputationSchedulerHandler(null);
+        RxJavaPlugins.setIoSchedulerHandler(null);
+        RxJavaPlugins.setNewThreadSchedulerHandler(null);
+        RxJavaPlugins.setSingleSchedulerHandler(null);
+    }
+}
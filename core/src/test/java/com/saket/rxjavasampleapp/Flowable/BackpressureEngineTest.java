@@ -0,0 +1,73 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BackpressureEngineTest {
+
+    private final BackpressureEngine mEngine = new BackpressureEngine(20_000, 2_000, 16,
+            64, BackpressureOverflowStrategy.DROP_OLDEST);
+
+    @Test
+    public void buffer_deliversEverything() {
+        BackpressureEngine.Report report = mEngine.run(BackpressureEngine.Strategy.BUFFER);
+
+        assertNull(report.error);
+        assertEquals(report.produced, report.consumed);
+        assertEquals(0, report.dropped);
+    }
+
+    @Test
+    public void boundedBuffer_neverHoldsMoreThanCapacity() {
+        BackpressureEngine.Report report = mEngine.run(BackpressureEngine.Strategy.BOUNDED_BUFFER);
+
+        assertNull(report.error);
+        assertTrue(report.peakQueueDepth <= 64);
+        assertEquals(report.produced, report.consumed + report.dropped);
+        //DROP_OLDEST: a full buffer makes room for the new item
+        assertTrue(report.dropped > 0);
+    }
+
+    @Test
+    public void boundedBuffer_errorOverflowFailsTheRun() {
+        BackpressureEngine engine = new BackpressureEngine(20_000, 2_000, 16,
+                64, BackpressureOverflowStrategy.ERROR);
+        BackpressureEngine.Report report = engine.run(BackpressureEngine.Strategy.BOUNDED_BUFFER);
+
+        assertTrue(report.error instanceof MissingBackpressureException);
+        assertTrue(report.consumed < report.produced);
+    }
+
+    @Test
+    public void drop_slowConsumerLosesItems() {
+        BackpressureEngine.Report report = mEngine.run(BackpressureEngine.Strategy.DROP);
+
+        assertNull(report.error);
+        assertTrue(report.dropped > 0);
+        assertTrue(report.consumed < report.produced);
+        assertEquals(report.produced, report.consumed + report.dropped);
+    }
+
+    @Test
+    public void error_slowConsumerFailsWithMissingBackpressure() {
+        BackpressureEngine.Report report = mEngine.run(BackpressureEngine.Strategy.ERROR);
+
+        assertTrue(report.error instanceof MissingBackpressureException);
+        assertTrue(report.consumed < report.produced);
+    }
+
+    @Test
+    public void latest_holdsAtMostOneItem() {
+        BackpressureEngine.Report report = mEngine.run(BackpressureEngine.Strategy.LATEST);
+
+        assertNull(report.error);
+        assertTrue(report.peakQueueDepth <= 1);
+        assertEquals(report.produced, report.consumed + report.dropped);
+    }
+}
@@ -0,0 +1,52 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import org.junit.Test;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChunkedFlowablesTest {
+
+    @Test
+    public void chunkedPipeline_matchesPerElementPipeline() {
+        int[] samples = new int[1003];
+        Integer[] boxedSamples = new Integer[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = i;
+            boxedSamples[i] = i;
+        }
+
+        int expected = Flowable.fromArray(boxedSamples)
+                .map(value -> value * 3)
+                .filter(value -> value % 4 == 0)
+                .reduce(0, Integer::sum)
+                .blockingGet();
+        int actual = ChunkedFlowables.fromArray(samples, 10)
+                .compose(ChunkedFlowables.map(value -> value * 3))
+                .compose(ChunkedFlowables.filter(value -> value % 4 == 0))
+                .to(ChunkedFlowables.reduce(0, Integer::sum))
+                .blockingGet();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void filter_dropsEmptyChunks() {
+        ChunkedFlowables.fromArray(new int[]{1, 3, 5, 2, 7, 9}, 3)
+                .compose(ChunkedFlowables.filter(value -> value % 2 == 0))
+                .test()
+                .assertValueCount(1)
+                .assertValue(chunk -> chunk.size() == 1 && chunk.get(0) == 2);
+    }
+
+    @Test
+    public void fromArray_largeChunkSizeGivesOneChunk() {
+        //data.length + chunkSize - 1 would overflow to a negative chunk count here
+        ChunkedFlowables.fromArray(new int[]{4, 5, 6}, Integer.MAX_VALUE)
+                .test()
+                .assertValueCount(1)
+                .assertValue(chunk -> chunk.size() == 3 && chunk.get(2) == 6)
+                .assertComplete();
+    }
+}
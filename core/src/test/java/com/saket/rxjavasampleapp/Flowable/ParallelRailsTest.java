@@ -0,0 +1,70 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelRailsTest {
+
+    private static final int COUNT = 10_000;
+
+    @Test
+    public void orderedMap_keepsSourceOrder() {
+        ParallelRails rails = new ParallelRails(4, 16, Schedulers.computation(), ParallelRails.Merge.ORDERED);
+
+        List<Integer> result = Flowable.range(0, COUNT)
+                .compose(rails.<Integer, Integer>map(value -> {
+                    //uneven work, so the rails finish out of order
+                    if (value % 7 == 0) {
+                        Thread.sleep(0, 100_000);
+                    }
+                    return value * 2;
+                }))
+                .toList()
+                .blockingGet();
+
+        assertEquals(expected(false), result);
+    }
+
+    @Test
+    public void unorderedMap_emitsEveryResult() {
+        ParallelRails rails = new ParallelRails(4, 16, Schedulers.computation(), ParallelRails.Merge.UNORDERED);
+
+        List<Integer> result = new ArrayList<>(Flowable.range(0, COUNT)
+                .compose(rails.<Integer, Integer>map(value -> value * 2))
+                .toList()
+                .blockingGet());
+        Collections.sort(result);
+
+        assertEquals(expected(false), result);
+    }
+
+    @Test
+    public void orderedMapFilter_skipsFilteredPositions() {
+        ParallelRails rails = new ParallelRails(3, 8, Schedulers.computation(), ParallelRails.Merge.ORDERED);
+
+        List<Integer> result = Flowable.range(0, COUNT)
+                .compose(rails.<Integer, Integer>mapFilter(value -> value * 2, value -> value % 4 == 0))
+                .toList()
+                .blockingGet();
+
+        assertEquals(expected(true), result);
+    }
+
+    private static List<Integer> expected(boolean multiplesOfFourOnly) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            if (!multiplesOfFourOnly || (i * 2) % 4 == 0) {
+                expected.add(i * 2);
+            }
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,35 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class PrimitiveFlowablesTest {
+
+    @Test
+    public void intRange_lastChunkIsPartial() {
+        List<Integer> sizes = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        PrimitiveFlowables.intRange(5, 10, 4)
+                .doOnNext(chunk -> sizes.add(chunk.size()))
+                .subscribe(PrimitiveFlowables.forEachInt(values::add));
+
+        assertEquals(Arrays.asList(4, 4, 2), sizes);
+        assertEquals(Arrays.asList(5, 6, 7, 8, 9, 10, 11, 12, 13, 14), values);
+    }
+
+    @Test
+    public void longRange_honoursRequests() {
+        PrimitiveFlowables.longRange(Long.MAX_VALUE - 9, 10, 3)
+                .test(2)
+                .assertValueCount(2)
+                .assertNotComplete()
+                .requestMore(5)
+                .assertValueCount(4)
+                .assertComplete();
+    }
+}
@@ -0,0 +1,91 @@
+package com.saket.rxjavasampleapp.Flowable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SortedMergeTest {
+
+    @Test
+    public void mergesSortedSourcesIntoOneSortedSequence() {
+        List<Flowable<Integer>> sources = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            int source = i;
+            //source i emits i, i + 7, i + 14, ... with different lengths
+            sources.add(Flowable.range(0, 100 + i).map(j -> j * 7 + source));
+            for (int j = 0; j < 100 + i; j++) {
+                expected.add(j * 7 + i);
+            }
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        List<Integer> actual = SortedMerge.merge(sources, Comparator.<Integer>naturalOrder(), 4)
+                .toList()
+                .blockingGet();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void buffersAtMostPrefetchPerSource() {
+        AtomicLong produced = new AtomicLong();
+        List<Flowable<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sources.add(Flowable.range(0, 1000).doOnNext(value -> produced.incrementAndGet()));
+        }
+
+        TestSubscriber<Integer> subscriber = SortedMerge.merge(sources, Comparator.<Integer>naturalOrder(), 16)
+                .test(0);
+        //nothing requested downstream, every source filled its prefetch and stopped
+        assertEquals(3 * 16, produced.get());
+
+        subscriber.request(5);
+        subscriber.assertValuesOnly(0, 0, 0, 1, 1);
+        //no source consumed 3/4 of its prefetch yet, so none was asked for more
+        assertEquals(3 * 16, produced.get());
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.assertValueCount(3000).assertComplete();
+    }
+
+    @Test
+    public void waitsForEverySourceThatIsNotDone() {
+        PublishProcessor<Integer> first = PublishProcessor.create();
+        PublishProcessor<Integer> second = PublishProcessor.create();
+        TestSubscriber<Integer> subscriber = SortedMerge.merge(Arrays.asList(first, second),
+                Comparator.<Integer>naturalOrder(), 8).test();
+
+        first.onNext(1);
+        first.onNext(5);
+        subscriber.assertEmpty();
+        second.onNext(2);
+        subscriber.assertValuesOnly(1, 2);
+        second.onComplete();
+        subscriber.assertValuesOnly(1, 2, 5);
+        first.onComplete();
+        subscriber.assertResult(1, 2, 5);
+    }
+
+    @Test
+    public void sourceErrorCancelsTheOthers() {
+        PublishProcessor<Integer> first = PublishProcessor.create();
+        IllegalStateException error = new IllegalStateException();
+        TestSubscriber<Integer> subscriber = SortedMerge.merge(Arrays.asList(first, Flowable.<Integer>error(error)),
+                Comparator.<Integer>naturalOrder(), 8).test();
+
+        subscriber.assertError(error);
+        assertTrue(!first.hasSubscribers());
+    }
+}
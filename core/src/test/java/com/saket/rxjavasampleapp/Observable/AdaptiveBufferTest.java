@@ -0,0 +1,137 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveBufferTest {
+
+    private final TestScheduler mScheduler = new TestScheduler();
+    private final PublishSubject<Integer> mSubject = PublishSubject.create();
+    private final List<List<Integer>> mBatches = new ArrayList<>();
+
+    @Test
+    public void flushesOnCountThenPartialBatchOnAge() {
+        AdaptiveBuffer<Integer> buffer = new AdaptiveBuffer<>(3, 100, TimeUnit.MILLISECONDS, mScheduler);
+        subscribe(buffer, true);
+
+        for (int i = 1; i <= 4; i++) {
+            mSubject.onNext(i);
+        }
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), mBatches);
+
+        //4 came in at 0ms, the timer armed for 1 flushes it
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(4), mBatches.get(1));
+
+        //the timer is re-armed for the age of the batch, not the time of the last flush
+        mScheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        mSubject.onNext(5);
+        mScheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        assertEquals(2, mBatches.size());
+        mScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(5), mBatches.get(2));
+
+        mSubject.onNext(6);
+        mSubject.onComplete();
+        assertEquals(Arrays.asList(6), mBatches.get(3));
+
+        AdaptiveBuffer.Report report = buffer.report();
+        assertEquals(6, report.items);
+        assertEquals(1, report.flushedByCount);
+        assertEquals(2, report.flushedByAge);
+        //every batch was released before the next one started
+        assertEquals(1, report.batchesAllocated);
+        assertEquals(3, report.batchesReused);
+    }
+
+    @Test
+    public void flushesOnByteEstimate() {
+        AdaptiveBuffer<Integer> buffer = new AdaptiveBuffer<>(100, 0, TimeUnit.MILLISECONDS,
+                mScheduler, 10, value -> value, 0);
+        subscribe(buffer, false);
+
+        for (int value : new int[]{4, 4, 4, 1, 9, 2}) {
+            mSubject.onNext(value);
+        }
+        mSubject.onComplete();
+
+        assertEquals(Arrays.asList(Arrays.asList(4, 4, 4), Arrays.asList(1, 9), Arrays.asList(2)), mBatches);
+        assertEquals(2, buffer.report().flushedByBytes);
+        //nothing was released
+        assertEquals(3, buffer.report().batchesAllocated);
+    }
+
+    @Test
+    public void latencyTargetShrinksAndGrowsTheCountLimit() {
+        AdaptiveBuffer<Integer> buffer = new AdaptiveBuffer<>(64, 0, TimeUnit.MILLISECONDS,
+                mScheduler, 0, null, 10);
+        long[] costMillis = {20};
+        mSubject.compose(buffer).subscribe(batch -> {
+            mBatches.add(copy(batch));
+            mScheduler.advanceTimeBy(costMillis[0], TimeUnit.MILLISECONDS);
+            batch.release();
+        });
+
+        //Starts at 16, halves while a batch takes longer than 10ms
+        for (int i = 0; i < 16 + 8 + 4; i++) {
+            mSubject.onNext(i);
+        }
+        assertEquals(2, buffer.report().countLimit);
+
+        //Cheap batches, the limit grows back by an eighth per batch
+        costMillis[0] = 1;
+        for (int i = 0; i < 2 + 3 + 4; i++) {
+            mSubject.onNext(i);
+        }
+        assertEquals(5, buffer.report().countLimit);
+    }
+
+    private void subscribe(AdaptiveBuffer<Integer> buffer, boolean release) {
+        mSubject.compose(buffer).subscribe(batch -> {
+            mBatches.add(copy(batch));
+            if (release) {
+                batch.release();
+            }
+        });
+    }
+
+    private static List<Integer> copy(AdaptiveBuffer.Batch<Integer> batch) {
+        List<Integer> items = new ArrayList<>();
+        batch.forEach(items::add);
+        return items;
+    }
+
+    @Test
+    public void latencyTargetCutsBatchesASlowConsumerCannotKeepUpWith() {
+        AdaptiveBuffer<Integer> buffer = new AdaptiveBuffer<>(4096, 10_000, TimeUnit.MICROSECONDS,
+                mScheduler, 0, null, 200);
+        //20us per batch plus 50ns per item: a 4096 item batch would take about 225us
+        mSubject.compose(buffer).subscribe(batch -> {
+            mScheduler.advanceTimeBy(20_000 + 50L * batch.size(), TimeUnit.NANOSECONDS);
+            batch.release();
+        });
+
+        for (int i = 0; i < 20_000; i++) {
+            mSubject.onNext(i);
+        }
+        mSubject.onComplete();
+
+        AdaptiveBuffer.Report report = buffer.report();
+        assertEquals(20_000, report.items);
+        assertTrue(report.countLimit < 4096);
+        //the limit settles where a batch takes between half the target and the target
+        long settledNanos = 20_000 + 50L * report.countLimit;
+        assertTrue(settledNanos >= 100_000 && settledNanos <= 200_000);
+        assertTrue(report.latency.max <= 200_000);
+    }
+}
@@ -0,0 +1,114 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+
+public class CachedSourceTest {
+
+    private final TestScheduler mScheduler = new TestScheduler();
+    private final AtomicInteger mFetches = new AtomicInteger();
+
+    //Every fetch takes 100ms and emits its fetch number
+    private final CachedSource<Integer> mCache = new CachedSource<>(() -> {
+        int fetch = mFetches.incrementAndGet();
+        return Observable.timer(100, TimeUnit.MILLISECONDS, mScheduler).map(tick -> fetch);
+    }, 1, TimeUnit.SECONDS, mScheduler);
+
+    @Test
+    public void concurrentSubscribersShareOneFetch() {
+        Observable<Integer> source = mCache.observable();
+        TestObserver<Integer> first = source.test();
+        mScheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        TestObserver<Integer> second = source.test();
+        mScheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+
+        first.assertResult(1);
+        second.assertResult(1);
+        assertEquals(1, mFetches.get());
+    }
+
+    @Test
+    public void lateSubscribersGetTheResultUntilTheTtl() {
+        Observable<Integer> source = mCache.observable();
+        source.test();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        //replayed right away, no fetch
+        mScheduler.advanceTimeBy(800, TimeUnit.MILLISECONDS);
+        source.test().assertResult(1);
+
+        //1s after the fetch completed
+        mScheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        TestObserver<Integer> expired = source.test();
+        expired.assertEmpty();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        expired.assertResult(2);
+
+        CachedSource.Report report = mCache.report();
+        assertEquals(2, report.upstreamSubscriptions);
+        assertEquals(2, report.misses);
+        assertEquals(1, report.hits);
+        assertEquals(1, report.expirations);
+    }
+
+    @Test
+    public void invalidateFetchesAgain() {
+        Observable<Integer> source = mCache.observable();
+        source.test();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        mCache.invalidate();
+        TestObserver<Integer> observer = source.test();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        observer.assertResult(2);
+        assertEquals(1, mCache.report().invalidations);
+    }
+
+    @Test
+    public void errorsAreNotCached() {
+        AtomicInteger fetches = new AtomicInteger();
+        CachedSource<Integer> cache = new CachedSource<>(() -> fetches.incrementAndGet() == 1
+                ? Observable.<Integer>error(new IOException("offline"))
+                : Observable.just(42), 1, TimeUnit.SECONDS, mScheduler);
+
+        cache.observable().test().assertError(IOException.class);
+        cache.observable().test().assertResult(42);
+        cache.observable().test().assertResult(42);
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void burstOfSubscribersMakesOneFetchInsteadOfOneEach() {
+        AtomicInteger plainFetches = new AtomicInteger();
+        Observable<Integer> plain = Observable.defer(() -> {
+            int fetch = plainFetches.incrementAndGet();
+            return Observable.timer(100, TimeUnit.MILLISECONDS, mScheduler).map(tick -> fetch);
+        });
+        Observable<Integer> cached = mCache.observable();
+        List<TestObserver<Integer>> observers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            observers.add(plain.test());
+            observers.add(cached.test());
+        }
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        for (TestObserver<Integer> observer : observers) {
+            observer.assertValueCount(1).assertComplete();
+        }
+        assertEquals(200, plainFetches.get());
+        assertEquals(1, mFetches.get());
+        assertEquals(1, mCache.report().upstreamSubscriptions);
+    }
+}
@@ -0,0 +1,71 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Observable;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CarBatchesTest {
+
+    private static final String[] MODELS = {"a", "b", "c", "d", "e", "f", "g"};
+    private static final int[] PRICES = {1000, 9000, 6000, 2000, 8000, 7000, 100};
+
+    @Test
+    public void fromArrays_splitsIntoBatches() {
+        List<CarBatch> batches = CarBatches.fromArrays(MODELS, PRICES, 3).toList().blockingGet();
+
+        assertEquals(3, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+        assertEquals("g", batches.get(2).model(0));
+        assertEquals(100, batches.get(2).price(0));
+    }
+
+    @Test
+    public void mapPrices_sharesModelsAndLeavesInputUntouched() {
+        CarBatch source = new CarBatch(MODELS, PRICES.clone(), PRICES.length);
+        CarBatch mapped = Observable.just(source)
+                .compose(CarBatches.mapPrices(price -> price * 25))
+                .blockingFirst();
+
+        assertSame(source.models(), mapped.models());
+        assertEquals(25_000, mapped.price(0));
+        assertArrayEquals(PRICES, source.prices());
+    }
+
+    @Test
+    public void filterPrices_dropsEmptyBatches() {
+        List<CarBatch> batches = CarBatches.fromArrays(MODELS, PRICES, 2)
+                .compose(CarBatches.filterPrices(price -> price >= 8000))
+                .toList()
+                .blockingGet();
+
+        List<String> kept = new ArrayList<>();
+        for (CarBatch batch : batches) {
+            batch.forEach((model, price) -> kept.add(model));
+        }
+        assertEquals(2, batches.size());
+        assertEquals(Arrays.asList("b", "e"), kept);
+    }
+
+    @Test
+    public void groupByPriceTier_matchesPerCarTiers() {
+        long[] totals = new long[3];
+        CarBatches.fromArrays(MODELS, PRICES, 3)
+                .compose(CarBatches.groupByPriceTier(5000, 8000))
+                .flatMapSingle(group -> group.to(CarBatches.sumPrices())
+                        .doOnSuccess(sum -> totals[group.getKey()] = sum))
+                .blockingSubscribe();
+
+        assertEquals(1000 + 2000 + 100, totals[0]);
+        assertEquals(6000 + 7000, totals[1]);
+        assertEquals(9000 + 8000, totals[2]);
+    }
+}
@@ -0,0 +1,165 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import com.saket.rxjavasampleapp.Scheduler.InstrumentedScheduler;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CoalesceTest {
+
+    private final TestScheduler mScheduler = new TestScheduler();
+    private final PublishSubject<Integer> mSubject = PublishSubject.create();
+
+    @Test
+    public void debounceEmitsAfterQuietWindowWithOneTimer() {
+        Coalesce<Integer> debounce = Coalesce.debounce(100, TimeUnit.MILLISECONDS, mScheduler);
+        TestObserver<Integer> observer = mSubject.compose(debounce).test();
+
+        for (int i = 1; i <= 50; i++) {
+            mSubject.onNext(i);
+            mScheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        }
+        observer.assertEmpty();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly(50);
+
+        //about one timer per 100ms window instead of one per item
+        assertTrue(debounce.scheduledTimers() < 10);
+
+        mSubject.onNext(51);
+        mSubject.onComplete();
+        observer.assertResult(50, 51);
+    }
+
+    @Test
+    public void debounceTellsARepeatedInstanceFromTheOneItChecked() {
+        Integer item = 1000;
+        AtomicReference<Runnable> onNow = new AtomicReference<>();
+        //mScheduler, with a hook in the clock of its workers
+        Scheduler scheduler = new Scheduler() {
+            @NonNull
+            @Override
+            public Worker createWorker() {
+                Worker worker = mScheduler.createWorker();
+                return new Worker() {
+                    @NonNull
+                    @Override
+                    public Disposable schedule(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+                        return worker.schedule(run, delay, unit);
+                    }
+
+                    @Override
+                    public long now(@NonNull TimeUnit unit) {
+                        Runnable hook = onNow.getAndSet(null);
+                        if (hook != null) {
+                            hook.run();
+                        }
+                        return worker.now(unit);
+                    }
+
+                    @Override
+                    public void dispose() {
+                        worker.dispose();
+                    }
+
+                    @Override
+                    public boolean isDisposed() {
+                        return worker.isDisposed();
+                    }
+                };
+            }
+        };
+        TestObserver<Integer> observer = mSubject
+                .compose(Coalesce.debounce(100, TimeUnit.MILLISECONDS, scheduler))
+                .test();
+
+        mSubject.onNext(item);
+        //the same instance again, right while the timer checks the quiet window
+        onNow.set(() -> mSubject.onNext(item));
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertEmpty();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly(item);
+    }
+
+    @Test
+    public void throttleLatestEmitsFirstThenLatestPerWindow() {
+        TestObserver<Integer> observer = mSubject
+                .compose(Coalesce.throttleLatest(100, TimeUnit.MILLISECONDS, mScheduler))
+                .test();
+
+        mSubject.onNext(1);
+        mSubject.onNext(2);
+        mSubject.onNext(3);
+        observer.assertValuesOnly(1);
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly(1, 3);
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        //window passed without items, the next one goes through right away
+        mSubject.onNext(4);
+        observer.assertValuesOnly(1, 3, 4);
+    }
+
+    @Test
+    public void sampleEmitsLatestAtEndOfWindow() {
+        TestObserver<Integer> observer = mSubject
+                .compose(Coalesce.sample(100, TimeUnit.MILLISECONDS, mScheduler))
+                .test();
+
+        mSubject.onNext(1);
+        mSubject.onNext(2);
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly(2);
+        mScheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly(2);
+        mSubject.onNext(3);
+        mSubject.onComplete();
+        observer.assertResult(2);
+    }
+
+    @Test
+    public void errorIsForwarded() {
+        TestObserver<Integer> observer = mSubject
+                .compose(Coalesce.debounce(100, TimeUnit.MILLISECONDS, mScheduler))
+                .test();
+
+        mSubject.onNext(1);
+        mSubject.onError(new IllegalStateException());
+        observer.assertFailure(IllegalStateException.class);
+    }
+
+    @Test
+    public void debounceSchedulesFarFewerTimersThanTheStockOne() {
+        InstrumentedScheduler stockTimers = new InstrumentedScheduler("stock", mScheduler);
+        TestObserver<Integer> stock = mSubject.debounce(50, TimeUnit.MILLISECONDS, stockTimers).test();
+        Coalesce<Integer> debounce = Coalesce.debounce(50, TimeUnit.MILLISECONDS, mScheduler);
+        TestObserver<Integer> coalescing = mSubject.compose(debounce).test();
+
+        //10 items every ms for 1 sec, never quiet for a whole window
+        for (int i = 0; i < 10_000; i++) {
+            mSubject.onNext(i);
+            if (i % 10 == 9) {
+                mScheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+            }
+        }
+        mSubject.onComplete();
+
+        stock.assertResult(9_999);
+        coalescing.assertResult(9_999);
+        //the stock debounce schedules a timer per item, Coalesce about one per window
+        assertEquals(10_000, stockTimers.snapshot().submitted);
+        assertTrue(debounce.scheduledTimers() <= 1000 / 50 + 1);
+    }
+}
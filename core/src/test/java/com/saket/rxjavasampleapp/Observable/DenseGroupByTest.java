@@ -0,0 +1,109 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import com.saket.rxjavasampleapp.Scheduler.InstrumentedScheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+
+public class DenseGroupByTest {
+
+    @Test
+    public void routesItemsByKeyInOrder() {
+        List<TestObserver<Integer>> groups = new ArrayList<>();
+        DenseGroupBy<Integer> groupBy = new DenseGroupBy<>(3, value -> value % 3, key -> {
+            TestObserver<Integer> group = new TestObserver<>();
+            groups.add(group);
+            return group;
+        });
+
+        Observable.range(0, 9).subscribe(groupBy);
+
+        assertEquals(3, groups.size());
+        groups.get(0).assertResult(0, 3, 6);
+        groups.get(1).assertResult(1, 4, 7);
+        groups.get(2).assertResult(2, 5, 8);
+        DenseGroupBy.Report report = groupBy.report();
+        assertEquals(9, report.routed);
+        assertEquals(3, report.groupsCreated);
+        assertEquals(3, report.peakOpenGroups);
+        assertEquals(0, report.openGroups);
+    }
+
+    @Test
+    public void evictsIdleGroupsAndRecreatesThem() {
+        TestScheduler clock = new TestScheduler();
+        List<TestObserver<Integer>> groups = new ArrayList<>();
+        DenseGroupBy<Integer> groupBy = new DenseGroupBy<>(2, value -> value % 2, key -> {
+            TestObserver<Integer> group = new TestObserver<>();
+            groups.add(group);
+            return group;
+        }, 10, TimeUnit.SECONDS, clock);
+        Observable.just(0, 1, 3, 3, 0)
+                .concatMap(value -> Observable.just(value).delay(5, TimeUnit.SECONDS, clock))
+                .subscribe(groupBy);
+
+        clock.advanceTimeBy(25, TimeUnit.SECONDS);
+
+        //group 0 got no item between 5 and 20 secs, it is completed and a new one takes key 0
+        assertEquals(3, groups.size());
+        groups.get(0).assertResult(0);
+        groups.get(1).assertResult(1, 3, 3);
+        groups.get(2).assertResult(0);
+        assertEquals(1, groupBy.report().groupsEvicted);
+    }
+
+    @Test
+    public void evictsIdleGroupsWhileTheSourceIsSilent() {
+        TestScheduler time = new TestScheduler();
+        //counts the sweeps that are waiting
+        InstrumentedScheduler clock = new InstrumentedScheduler("clock", time);
+        List<TestObserver<Integer>> groups = new ArrayList<>();
+        DenseGroupBy<Integer> groupBy = new DenseGroupBy<>(2, value -> value % 2, key -> {
+            TestObserver<Integer> group = new TestObserver<>();
+            groups.add(group);
+            return group;
+        }, 10, TimeUnit.SECONDS, clock);
+        PublishSubject<Integer> source = PublishSubject.create();
+        source.subscribe(groupBy);
+
+        source.onNext(0);
+        source.onNext(1);
+        time.advanceTimeBy(9, TimeUnit.SECONDS);
+        groups.get(0).assertNotComplete();
+        //no item since, the sweep at 10 secs completes both
+        time.advanceTimeBy(1, TimeUnit.SECONDS);
+        groups.get(0).assertResult(0);
+        groups.get(1).assertResult(1);
+        assertEquals(0, groupBy.report().openGroups);
+
+        //a terminated source stops the sweep
+        assertEquals(1, clock.snapshot().queued);
+        source.onComplete();
+        assertEquals(0, clock.snapshot().queued);
+    }
+
+    @Test
+    public void keyOutOfRangeFailsOpenGroups() {
+        List<TestObserver<Integer>> groups = new ArrayList<>();
+        DenseGroupBy<Integer> groupBy = new DenseGroupBy<>(2, value -> value, key -> {
+            TestObserver<Integer> group = new TestObserver<>();
+            groups.add(group);
+            return group;
+        });
+
+        Observable.just(0, 5, 1).subscribe(groupBy);
+
+        assertEquals(1, groups.size());
+        groups.get(0).assertFailure(IndexOutOfBoundsException.class, 0);
+    }
+}
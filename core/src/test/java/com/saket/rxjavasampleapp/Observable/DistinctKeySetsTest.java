@@ -0,0 +1,183 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DistinctKeySetsTest {
+
+    @Test
+    public void lruForgetsLeastRecentlySeenKey() {
+        Observable.just(1, 2, 1, 3, 2, 1)
+                .distinct(value -> value, DistinctKeySets.lru(2))
+                .test()
+                //3 evicts 2 (1 was seen more recently), so 2 comes through again and evicts 1
+                .assertResult(1, 2, 3, 2, 1);
+    }
+
+    @Test
+    public void ttlSuppressesKeyOnlyForTtl() {
+        TestScheduler clock = new TestScheduler();
+        DistinctKeySets.TtlKeySet<Integer> set = new DistinctKeySets.TtlKeySet<>(10, TimeUnit.SECONDS, clock, 100);
+
+        assertTrue(set.add(1));
+        clock.advanceTimeBy(5, TimeUnit.SECONDS);
+        assertFalse(set.add(1));
+        clock.advanceTimeBy(5, TimeUnit.SECONDS);
+        assertTrue(set.add(1));
+    }
+
+    @Test
+    public void intsRememberAtLeastMaxKeys() {
+        DistinctKeySets.IntKeySet set = new DistinctKeySets.IntKeySet(100);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.add(i));
+            //the last 100 keys, zero included, are always duplicates
+            for (int j = Math.max(0, i - 99); j <= i; j++) {
+                assertFalse(set.add(j));
+            }
+        }
+        assertTrue(set.size() <= 200);
+    }
+
+    @Test
+    public void intsKeepAHotKeyAcrossGenerations() {
+        DistinctKeySets.IntKeySet set = new DistinctKeySets.IntKeySet(10);
+        assertTrue(set.add(0));
+        assertTrue(set.add(42));
+        for (int i = 1; i <= 1000; i++) {
+            assertTrue(set.add(1000 + i));
+            //hit twice per generation, so it is never two rotations behind
+            if (i % 5 == 0) {
+                assertFalse(set.add(0));
+                assertFalse(set.add(42));
+            }
+        }
+        assertTrue(set.size() <= 20);
+        //each key is only counted once
+        assertEquals(set.size(), new ArrayList<>(set).size());
+    }
+
+    @Test
+    public void intsMatchStockDistinctWithinCapacity() {
+        Integer[] values = {5, 0, 5, -3, 0, 7, -3};
+        Observable.fromArray(values)
+                .distinct(value -> value, DistinctKeySets.ints(16))
+                .test()
+                .assertResult(5, 0, -3, 7);
+    }
+
+    @Test
+    public void bloomNeverLetsRecentDuplicateThroughAndKeepsFalsePositiveRate() {
+        DistinctKeySets.BloomKeySet<Integer> set = new DistinctKeySets.BloomKeySet<>(10_000, 0.01);
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!set.add(i)) {
+                falsePositives++;
+            }
+            assertFalse(set.add(i));
+        }
+        //1% of 10000, with some slack
+        assertTrue("false positives " + falsePositives, falsePositives < 200);
+        assertEquals(2 * (16 + 8L * ((DistinctKeySets.BloomKeySet.optimalBits(10_000, 0.005) + 63) / 64)),
+                set.footprintBytes());
+    }
+
+    @Test
+    public void setsListAndContainTheKeysTheyRemember() {
+        DistinctKeySets.LruKeySet<String> lru = new DistinctKeySets.LruKeySet<>(2);
+        lru.add("a");
+        lru.add("b");
+        lru.add("c");
+        assertEquals("[b, c]", lru.toString());
+        assertTrue(lru.contains("b"));
+        assertFalse(lru.contains("a"));
+
+        TestScheduler clock = new TestScheduler();
+        DistinctKeySets.TtlKeySet<String> ttl = new DistinctKeySets.TtlKeySet<>(10, TimeUnit.SECONDS, clock, 100);
+        ttl.add("a");
+        clock.advanceTimeBy(5, TimeUnit.SECONDS);
+        ttl.add("b");
+        clock.advanceTimeBy(5, TimeUnit.SECONDS);
+        assertEquals("[b]", ttl.toString());
+        assertFalse(ttl.contains("a"));
+
+        DistinctKeySets.IntKeySet ints = new DistinctKeySets.IntKeySet(3);
+        for (int key : new int[]{0, 7, -4, 9}) {
+            ints.add(key);
+        }
+        List<Integer> keys = new ArrayList<>(ints);
+        Collections.sort(keys);
+        assertEquals(Arrays.asList(-4, 0, 7, 9), keys);
+        assertTrue(ints.contains(0));
+        assertFalse(ints.contains(1));
+
+        DistinctKeySets.BloomKeySet<String> bloom = new DistinctKeySets.BloomKeySet<>(100, 0.01);
+        bloom.add("a");
+        assertTrue(bloom.contains("a"));
+        assertTrue(bloom.toString().startsWith("BloomKeySet[size=1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lruRejectsNonPositiveMaxKeys() {
+        new DistinctKeySets.LruKeySet<String>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ttlRejectsNegativeTtl() {
+        new DistinctKeySets.TtlKeySet<String>(-1, TimeUnit.SECONDS, new TestScheduler(), 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ttlRejectsNonPositiveMaxKeys() {
+        new DistinctKeySets.TtlKeySet<String>(1, TimeUnit.SECONDS, new TestScheduler(), 0);
+    }
+
+    @Test
+    public void boundedSetsHoldLessThanTheStockHashSet() {
+        //100000 random values out of 100000, about 63000 of them distinct
+        Random random = new Random(42);
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(values.length);
+        }
+        HashSet<Integer> stock = new HashSet<>();
+        DistinctKeySets.IntKeySet ints = new DistinctKeySets.IntKeySet(1000);
+        DistinctKeySets.BloomKeySet<Integer> bloom = new DistinctKeySets.BloomKeySet<>(1000, 0.01);
+        int stockEmitted = emitted(values, stock);
+
+        //both forget old keys, those come through again
+        assertTrue(emitted(values, ints) > stockEmitted);
+        assertTrue(emitted(values, bloom) > stockEmitted);
+        //HashMap.Node: header, hash, key, value, next
+        long stockBytes = DistinctKeySets.hashMapBytes(stock.size(), 32);
+        assertTrue(ints.footprintBytes() * 10 < stockBytes);
+        assertTrue(bloom.footprintBytes() * 10 < stockBytes);
+    }
+
+    //Items distinct() lets through. The source never completes, so distinct() does not clear
+    //the keys before they are measured.
+    private static int emitted(int[] values, Collection<Integer> keys) {
+        return Observable.range(0, values.length)
+                .map(index -> values[index])
+                .concatWith(Observable.never())
+                .distinct(value -> value, () -> keys)
+                .test()
+                .values()
+                .size();
+    }
+}
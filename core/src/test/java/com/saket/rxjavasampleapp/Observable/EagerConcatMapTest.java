@@ -0,0 +1,107 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EagerConcatMapTest {
+
+    private final TestScheduler mScheduler = new TestScheduler();
+
+    @Test
+    public void overlapsInnerSourcesAndKeepsSourceOrder() {
+        int[] delays = {5, 1, 3, 2};
+        EagerConcatMap<Integer, Integer> eager = new EagerConcatMap<>(i ->
+                Observable.just(i).delay(delays[i], TimeUnit.SECONDS, mScheduler), 4, 16, mScheduler);
+        TestObserver<Integer> observer = Observable.range(0, delays.length).compose(eager).test();
+
+        mScheduler.advanceTimeBy(4, TimeUnit.SECONDS);
+        //everything but the head is done and waits behind it
+        observer.assertEmpty();
+        assertEquals(3, eager.report().bufferedItems);
+
+        //the slowest delay, not the sum of them
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        observer.assertResult(0, 1, 2, 3);
+
+        EagerConcatMap.Report report = eager.report();
+        assertEquals(4, report.peakActiveInners);
+        assertEquals(0, report.bufferedItems);
+        assertEquals(3, report.peakBufferedItems);
+        //item 1 was ready after 1s and waited for the head until 5s
+        assertEquals(TimeUnit.SECONDS.toNanos(4), report.headOfLineBlockingNanos);
+    }
+
+    @Test
+    public void maxConcurrencyBoundsRunningInnerSources() {
+        EagerConcatMap<Integer, Integer> eager = new EagerConcatMap<>(i ->
+                Observable.just(i).delay(1, TimeUnit.SECONDS, mScheduler), 2, 16, mScheduler);
+        TestObserver<Integer> observer = Observable.range(0, 6).compose(eager).test();
+
+        mScheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+        observer.assertResult(0, 1, 2, 3, 4, 5);
+        assertEquals(2, eager.report().peakActiveInners);
+    }
+
+    @Test
+    public void fullBufferHoldsBackNewInnerSources() {
+        //Inner source 0 is slow, the others emit 3 items right away
+        EagerConcatMap<Integer, Integer> eager = new EagerConcatMap<>(i -> i == 0
+                ? Observable.just(0).delay(1, TimeUnit.SECONDS, mScheduler)
+                : Observable.just(i, i, i), 8, 4, mScheduler);
+        TestObserver<Integer> observer = Observable.range(0, 5).compose(eager).test();
+
+        //1 and 2 fill the buffer past 4, 3 and 4 wait
+        assertEquals(3, eager.report().innerSubscribed);
+        assertTrue(eager.report().bufferFullStalls > 0);
+
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        observer.assertResult(0, 1, 1, 1, 2, 2, 2, 3, 3, 3, 4, 4, 4);
+        assertEquals(6, eager.report().peakBufferedItems);
+    }
+
+    @Test
+    public void innerErrorCancelsTheOthers() {
+        IllegalStateException error = new IllegalStateException();
+        TestObserver<Integer> observer = Observable.range(0, 3)
+                .compose(new EagerConcatMap<Integer, Integer>(i -> i == 1
+                        ? Observable.error(error)
+                        : Observable.just(i).delay(1, TimeUnit.SECONDS, mScheduler), 3, 16, mScheduler))
+                .test();
+
+        observer.assertError(error);
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        observer.assertNoValues();
+    }
+
+    @Test
+    public void beatsConcatMapAndKeepsItsOrder() {
+        //10, 9, ..., 1, 10, 9, ..., 1 ms
+        Function<Integer, Observable<Integer>> inner = i ->
+                Observable.just(i).delay(10 - i % 10, TimeUnit.MILLISECONDS, mScheduler);
+        TestObserver<Integer> concat = Observable.range(0, 20).concatMap(inner).test();
+        EagerConcatMap<Integer, Integer> eager = new EagerConcatMap<>(inner, 8, 16, mScheduler);
+        TestObserver<Integer> eagerObserver = Observable.range(0, 20).compose(eager).test();
+
+        //8 at a time, each wave no longer than the slowest delay
+        mScheduler.advanceTimeBy(30, TimeUnit.MILLISECONDS);
+        eagerObserver.assertValueCount(20).assertComplete();
+        for (int i = 0; i < 20; i++) {
+            eagerObserver.assertValueAt(i, i);
+        }
+        assertEquals(8, eager.report().peakActiveInners);
+        concat.assertNotComplete();
+
+        //concatMap waits for the sum of the delays
+        mScheduler.advanceTimeBy(80, TimeUnit.MILLISECONDS);
+        concat.assertValueCount(20).assertComplete();
+    }
+}
@@ -0,0 +1,46 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import com.saket.rxjavasampleapp.RingBufferEventSink;
+import com.saket.rxjavasampleapp.VirtualTimeHarness;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the filter sample on the JVM and checks what it reported to the event sink.
+ */
+public class FilterObservablesTest {
+
+    @Test
+    public void useFiltertoFilterEmits_emitsEvenNumbers() {
+        RingBufferEventSink sink = new RingBufferEventSink(16);
+        new FilterObservables(sink).useFiltertoFilterEmits();
+
+        assertEquals(Arrays.asList(
+                "FilterObservables: accept: 2",
+                "FilterObservables: accept: 4",
+                "FilterObservables: accept: 6",
+                "FilterObservables: accept: 8"), sink.snapshot());
+    }
+
+    @Test
+    public void useDeboucetoFilterEmits_emitsOnlyLastItem() {
+        //Every delay is below the 2 sec debounce window, so only the last value gets through.
+        RingBufferEventSink sink = new RingBufferEventSink(64);
+        try (VirtualTimeHarness harness = new VirtualTimeHarness()) {
+            new FilterObservables(sink, new Random(3)).useDeboucetoFilterEmits();
+            harness.runUntilIdle();
+        }
+
+        assertEquals(Collections.singletonList("FilterObservables: onNext: 10"),
+                sink.snapshot().stream()
+                        .filter(event -> event.startsWith("FilterObservables: onNext: "))
+                        .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import io.reactivex.rxjava3.core.Observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class IncrementalStatsTest {
+
+    @Test
+    public void matchesRecomputingEveryWindow() {
+        Random random = new Random(42);
+        int window = 7;
+        IncrementalStats stats = new IncrementalStats(window);
+        int[] values = new int[500];
+        for (int i = 0; i < values.length; i++) {
+            //runs of equal values too, they must not confuse the min and max queues
+            values[i] = i % 50 < 10 ? 500 : random.nextInt(1000) - 200;
+            stats.add(values[i]);
+
+            int from = Math.max(0, i - window + 1);
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int j = from; j <= i; j++) {
+                sum += values[j];
+                min = Math.min(min, values[j]);
+                max = Math.max(max, values[j]);
+            }
+            int count = i - from + 1;
+            double mean = (double) sum / count;
+            double squares = 0;
+            for (int j = from; j <= i; j++) {
+                squares += (values[j] - mean) * (values[j] - mean);
+            }
+
+            assertEquals(count, stats.windowCount());
+            assertEquals(sum, stats.windowSum());
+            assertEquals(min, stats.windowMin());
+            assertEquals(max, stats.windowMax());
+            assertEquals(mean, stats.windowMean(), 1e-9);
+            assertEquals(squares / count, stats.windowVariance(), 1e-6);
+        }
+    }
+
+    @Test
+    public void runningStatsCoverAllValues() {
+        IncrementalStats stats = new IncrementalStats(2);
+        for (int value : new int[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            stats.add(value);
+        }
+
+        assertEquals(8, stats.count());
+        assertEquals(40, stats.sum());
+        assertEquals(2, stats.min());
+        assertEquals(9, stats.max());
+        assertEquals(5.0, stats.mean(), 1e-12);
+        assertEquals(4.0, stats.variance(), 1e-12);
+        assertEquals(8.0, stats.windowMean(), 1e-12);
+        assertEquals(1.0, stats.windowVariance(), 1e-12);
+    }
+
+    @Test
+    public void overEmitsOneUpdatedInstancePerValue() {
+        List<IncrementalStats> emitted = new ArrayList<>();
+        List<Long> windowSums = new ArrayList<>();
+        Observable.just(1, 2, 3, 4)
+                .compose(IncrementalStats.over(3))
+                .subscribe(stats -> {
+                    emitted.add(stats);
+                    windowSums.add(stats.windowSum());
+                });
+
+        assertEquals(4, emitted.size());
+        assertSame(emitted.get(0), emitted.get(3));
+        assertEquals(Arrays.asList(1L, 3L, 6L, 9L), windowSums);
+    }
+}
@@ -0,0 +1,141 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class ManySourceCombineTest {
+
+    @Test
+    public void zipMatchesStockZipForManySources() {
+        List<Observable<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            //different lengths, the shortest one ends the zip
+            sources.add(Observable.range(i * 100, 50 + i));
+        }
+
+        List<Integer> expected = Observable.zip(sources, ManySourceCombineTest::sum).toList().blockingGet();
+        List<Integer> actual = ManySourceCombine.<Integer, Integer>zip(sources, ManySourceCombineTest::sum, true)
+                .toList().blockingGet();
+
+        assertEquals(50, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void zipCompletesWhenACompletedSourceRunsDry() {
+        PublishSubject<Integer> first = PublishSubject.create();
+        PublishSubject<Integer> second = PublishSubject.create();
+        TestObserver<Integer> observer = ManySourceCombine.<Integer, Integer>zip(
+                Arrays.asList(first, second), ManySourceCombineTest::sum, true).test();
+
+        first.onNext(1);
+        first.onNext(2);
+        first.onComplete();
+        observer.assertEmpty();
+        second.onNext(10);
+        observer.assertValuesOnly(11);
+        second.onNext(20);
+        observer.assertResult(11, 22);
+        assertFalse(second.hasObservers());
+    }
+
+    @Test
+    public void combineLatestEmitsOncePerItemAfterEverySourceHasAValue() {
+        PublishSubject<Integer> first = PublishSubject.create();
+        PublishSubject<Integer> second = PublishSubject.create();
+        PublishSubject<Integer> third = PublishSubject.create();
+        List<Object[]> rows = new ArrayList<>();
+        TestObserver<Integer> observer = ManySourceCombine.<Integer, Integer>combineLatest(
+                Arrays.asList(first, second, third), row -> {
+                    rows.add(row);
+                    return sum(row);
+                }, false).test();
+
+        first.onNext(1);
+        second.onNext(10);
+        observer.assertEmpty();
+        third.onNext(100);
+        first.onNext(2);
+        second.onNext(20);
+        observer.assertValuesOnly(111, 112, 122);
+        //without reuse every row is its own array
+        assertNotSame(rows.get(0), rows.get(1));
+
+        first.onComplete();
+        second.onComplete();
+        third.onNext(200);
+        third.onComplete();
+        observer.assertResult(111, 112, 122, 222);
+    }
+
+    @Test
+    public void combineLatestCompletesWhenASourceCompletesEmpty() {
+        PublishSubject<Integer> first = PublishSubject.create();
+        PublishSubject<Integer> second = PublishSubject.create();
+        TestObserver<Integer> observer = ManySourceCombine.<Integer, Integer>combineLatest(
+                Arrays.asList(first, second), ManySourceCombineTest::sum, true).test();
+
+        first.onNext(1);
+        second.onComplete();
+        observer.assertResult();
+        assertFalse(first.hasObservers());
+    }
+
+    @Test
+    public void combinerErrorCancelsTheSources() {
+        PublishSubject<Integer> first = PublishSubject.create();
+        PublishSubject<Integer> second = PublishSubject.create();
+        IllegalStateException error = new IllegalStateException();
+        TestObserver<Integer> observer = ManySourceCombine.<Integer, Integer>zip(
+                Arrays.asList(first, second), row -> {
+                    throw error;
+                }, true).test();
+
+        first.onNext(1);
+        second.onNext(2);
+        observer.assertError(error);
+        assertFalse(first.hasObservers());
+        assertFalse(second.hasObservers());
+    }
+
+    @Test
+    public void combineLatestNeverStallsWithSourcesOnSeparateThreads() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            List<Observable<Integer>> sources = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                //each source emits from its own thread, so take() races with enqueue()
+                sources.add(Observable.range(0, 100_000).subscribeOn(Schedulers.newThread()));
+            }
+            TestObserver<Integer> observer = ManySourceCombine.<Integer, Integer>combineLatest(
+                    sources, ManySourceCombineTest::sum, true).test();
+
+            //a source queued twice reads an empty queue, sum() then fails on the null
+            assertTrue(observer.await(10, TimeUnit.SECONDS));
+            observer.assertNoErrors().assertComplete();
+            List<Integer> values = observer.values();
+            assertEquals(4 * 99_999, (int) values.get(values.size() - 1));
+        }
+    }
+
+    private static int sum(Object[] row) {
+        int sum = 0;
+        for (Object value : row) {
+            sum += (Integer) value;
+        }
+        return sum;
+    }
+}
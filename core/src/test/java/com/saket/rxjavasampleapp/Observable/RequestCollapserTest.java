@@ -0,0 +1,139 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+
+public class RequestCollapserTest {
+
+    private final TestScheduler mScheduler = new TestScheduler();
+    private final FakeCarServer mServer = new FakeCarServer();
+    //10ms window, at most 3 ids per call
+    private final RequestCollapser<Integer, Integer> mPrices = new RequestCollapser<>(mServer::prices,
+            10, TimeUnit.MILLISECONDS, 3, mScheduler);
+
+    @Test
+    public void identicalInFlightRequestsShareOneCall() {
+        TestObserver<Integer> first = mPrices.get(1).test();
+        mScheduler.advanceTimeBy(20, TimeUnit.MILLISECONDS);
+        //the call is running, this one joins it
+        TestObserver<Integer> second = mPrices.get(1).test();
+        mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        first.assertResult(1000);
+        second.assertResult(1000);
+        assertEquals(Arrays.asList(Arrays.asList(1)), mServer.mCalls);
+        assertEquals(1, mPrices.report().deduplicated);
+    }
+
+    @Test
+    public void requestsWithinTheWindowGoOutAsOneBulkCall() {
+        TestObserver<Integer> first = mPrices.get(1).test();
+        mScheduler.advanceTimeBy(5, TimeUnit.MILLISECONDS);
+        TestObserver<Integer> second = mPrices.get(2).test();
+        mScheduler.advanceTimeBy(5, TimeUnit.MILLISECONDS);
+        assertEquals(1, mServer.mCalls.size());
+        //after the window, a new batch
+        TestObserver<Integer> third = mPrices.get(3).test();
+        mScheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+
+        first.assertResult(1000);
+        second.assertResult(2000);
+        third.assertResult(3000);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)), mServer.mCalls);
+    }
+
+    @Test
+    public void fullBatchGoesOutWithoutWaitingForTheWindow() {
+        Observable.merge(mPrices.get(1), mPrices.get(2), mPrices.get(3), mPrices.get(4)).test();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), mServer.mCalls);
+        mScheduler.advanceTimeBy(10, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4)), mServer.mCalls);
+    }
+
+    @Test
+    public void finishedCallsAreNotCached() {
+        mPrices.get(1).test();
+        mScheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        mPrices.get(1).test();
+        mScheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, mServer.mCalls.size());
+        assertEquals(0, mPrices.report().callsSaved());
+    }
+
+    @Test
+    public void missingKeyAndFailedCallErrorTheirRequests() {
+        TestObserver<Integer> unknown = mPrices.get(-1).test();
+        TestObserver<Integer> known = mPrices.get(1).test();
+        mScheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        unknown.assertError(NoSuchElementException.class);
+        known.assertResult(1000);
+
+        mServer.mOffline = true;
+        TestObserver<Integer> offline = mPrices.get(1).test();
+        mScheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+        offline.assertError(IOException.class);
+    }
+
+    @Test
+    public void burstOfRequestsGoesOutAsOneCall() {
+        RequestCollapser<Integer, Integer> prices = new RequestCollapser<>(mServer::prices,
+                10, TimeUnit.MILLISECONDS, 50, mScheduler);
+        //200 requests for 50 ids, all at once
+        List<TestObserver<Integer>> observers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            observers.add(prices.get(i % 50).test());
+        }
+        //the window, then one 50ms call
+        mScheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 200; i++) {
+            observers.get(i).assertResult(1000 * (i % 50));
+        }
+        assertEquals(1, mServer.mCalls.size());
+        RequestCollapser.Report report = prices.report();
+        assertEquals(200, report.requests);
+        assertEquals(150, report.deduplicated);
+        assertEquals(50, report.keysFetched);
+        assertEquals(199, report.callsSaved());
+    }
+
+    /**
+     * Stands in for the price endpoint: answers after 50ms with 1000 x id for every id that is
+     * not negative, and records the ids of every call.
+     */
+    private class FakeCarServer {
+        final List<List<Integer>> mCalls = new ArrayList<>();
+        boolean mOffline;
+
+        Observable<Map<Integer, Integer>> prices(List<Integer> carIds) {
+            mCalls.add(new ArrayList<>(carIds));
+            if (mOffline) {
+                return Observable.timer(50, TimeUnit.MILLISECONDS, mScheduler)
+                        .flatMap(tick -> Observable.error(new IOException("offline")));
+            }
+            Map<Integer, Integer> prices = new HashMap<>();
+            for (int carId : carIds) {
+                if (carId >= 0) {
+                    prices.put(carId, 1000 * carId);
+                }
+            }
+            return Observable.timer(50, TimeUnit.MILLISECONDS, mScheduler).map(tick -> prices);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import com.saket.rxjavasampleapp.RingBufferEventSink;
+import com.saket.rxjavasampleapp.VirtualTimeHarness;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the transform samples in virtual time. The random delays come from a seeded Random, so
+ * the expected order can be computed up front.
+ */
+public class TransformObservablesTest {
+
+    private static final long SEED = 42;
+
+    private VirtualTimeHarness mHarness;
+    private RingBufferEventSink mSink;
+
+    @Before
+    public void setUp() {
+        mHarness = new VirtualTimeHarness();
+        mSink = new RingBufferEventSink(64);
+    }
+
+    @After
+    public void tearDown() {
+        mHarness.close();
+    }
+
+    @Test
+    public void useMapforObservable_keepsSourceOrder() {
+        new TransformObservables(mSink, new Random(SEED)).useMapforObservable();
+        mHarness.runUntilIdle();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add("TransformObservables: New Price: " + (1000 * i * 25));
+        }
+        assertEquals(expected, events("TransformObservables: New Price: "));
+    }
+
+    @Test
+    public void useGroupByforObservables_takesOneSecondPerCar() {
+        new TransformObservables(mSink, new Random(SEED)).useGroupByforObservables();
+
+        mHarness.advanceTimeBy(4500, TimeUnit.MILLISECONDS);
+        assertEquals(4, events("TransformObservables: Basic model: ").size());
+
+        mHarness.runUntilIdle();
+        assertEquals(Arrays.asList("TransformObservables: Luxury Model: model8",
+                "TransformObservables: Luxury Model: model9"),
+                events("TransformObservables: Luxury Model: "));
+    }
+
+    @Test
+    public void useConcatMapforObservable_keepsSourceOrder() {
+        new TransformObservables(mSink, new Random(SEED)).useConcatMapforObservable();
+        mHarness.runUntilIdle();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            expected.add("TransformObservables: New Car Model " + i + " price: " + (1000 * i + 25));
+        }
+        assertEquals(expected, events("TransformObservables: New Car Model "));
+    }
+
+    @Test
+    public void useFlatmapforObservable_emitsInDelayOrder() {
+        new TransformObservables(mSink, new Random(SEED)).useFlatmapforObservable();
+        mHarness.runUntilIdle();
+
+        //flatMap asks for one delay per car, in source order. Equal delays keep source order.
+        Random random = new Random(SEED);
+        int[] delays = new int[10];
+        List<Integer> models = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            delays[i] = random.nextInt(10);
+            models.add(i);
+        }
+        models.sort(Comparator.<Integer>comparingInt(i -> delays[i]).thenComparingInt(i -> i));
+        List<String> expected = models.stream()
+                .map(i -> "TransformObservables: New Car: Model " + i + " price: " + (1000 * i + 25))
+                .collect(Collectors.toList());
+        assertEquals(expected, events("TransformObservables: New Car: "));
+    }
+
+    @Test
+    public void useConcatMapEagerforObservable_keepsSourceOrderInSlowestDelay() {
+        new TransformObservables(mSink, new Random(SEED)).useConcatMapEagerforObservable(9, 16);
+
+        //All cars run at once, so everything is done after the slowest delay
+        Random random = new Random(SEED);
+        int maxDelay = 0;
+        for (int i = 1; i < 10; i++) {
+            maxDelay = Math.max(maxDelay, random.nextInt(10));
+        }
+        mHarness.advanceTimeBy(maxDelay, TimeUnit.SECONDS);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            expected.add("TransformObservables: Eager Car Model " + i + " price: " + (1000 * i + 25));
+        }
+        assertEquals(expected, events("TransformObservables: Eager Car "));
+    }
+
+    @Test
+    public void useAdaptiveBufferforObservable_flushesPartialBatchesByAge() {
+        new TransformObservables(mSink, new Random(SEED)).useAdaptiveBufferforObservable();
+        mHarness.runUntilIdle();
+
+        //a day every 700ms, so a batch is 1s old after two days
+        assertEquals(4, events("TransformObservables: onNext: ").size());
+        assertEquals(7, events("TransformObservables: string: ").size());
+    }
+
+    private List<String> events(String prefix) {
+        return mSink.snapshot().stream()
+                .filter(event -> event.startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+}
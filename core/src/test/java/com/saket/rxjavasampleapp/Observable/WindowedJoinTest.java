@@ -0,0 +1,140 @@
+package com.saket.rxjavasampleapp.Observable;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WindowedJoinTest {
+
+    private final TestScheduler mScheduler = new TestScheduler();
+    private final PublishSubject<String> mLeft = PublishSubject.create();
+    private final PublishSubject<String> mRight = PublishSubject.create();
+
+    //Keyed by the first letter: "a1" joins "a2"
+    private WindowedJoin<String, String, Character, String> join(WindowedJoin.Window window) {
+        return new WindowedJoin<>(l -> l.charAt(0), r -> r.charAt(0), (l, r) -> l + "+" + r,
+                window, 10, TimeUnit.MILLISECONDS, mScheduler);
+    }
+
+    @Test
+    public void slidingWindowJoinsEqualKeysLessThanAWindowApart() {
+        WindowedJoin<String, String, Character, String> join = join(WindowedJoin.Window.SLIDING);
+        TestObserver<String> observer = join.join(mLeft, mRight).test();
+
+        mLeft.onNext("a1");
+        mLeft.onNext("b1");
+        mScheduler.advanceTimeTo(5, TimeUnit.MILLISECONDS);
+        mRight.onNext("a2");
+        observer.assertValuesOnly("a1+a2");
+
+        //a1 is out of the window, a2 is not
+        mScheduler.advanceTimeTo(10, TimeUnit.MILLISECONDS);
+        mLeft.onNext("a3");
+        mRight.onNext("b2");
+        observer.assertValuesOnly("a1+a2", "a3+a2");
+
+        mLeft.onComplete();
+        observer.assertNotComplete();
+        mRight.onComplete();
+        observer.assertComplete();
+
+        WindowedJoin.Report report = join.report();
+        assertEquals(3, report.leftArrivals);
+        assertEquals(2, report.rightArrivals);
+        assertEquals(2, report.matches);
+        assertEquals(2, report.probed);
+        assertEquals(2, report.expired);
+        assertEquals(3, report.peakStateSize);
+        assertEquals(0, report.stateSize);
+    }
+
+    @Test
+    public void fixedWindowOnlyJoinsWithinTheSameWindow() {
+        TestObserver<String> observer = join(WindowedJoin.Window.FIXED).join(mLeft, mRight).test();
+
+        mScheduler.advanceTimeTo(8, TimeUnit.MILLISECONDS);
+        mLeft.onNext("a1");
+        //4ms apart, but in the next window
+        mScheduler.advanceTimeTo(12, TimeUnit.MILLISECONDS);
+        mRight.onNext("a2");
+        mScheduler.advanceTimeTo(19, TimeUnit.MILLISECONDS);
+        mLeft.onNext("a3");
+
+        observer.assertValuesOnly("a3+a2");
+    }
+
+    @Test
+    public void sweepDropsStateOfIdleStreams() {
+        WindowedJoin<String, String, Character, String> join = join(WindowedJoin.Window.SLIDING);
+        join.join(mLeft, mRight).test();
+
+        mLeft.onNext("a1");
+        mRight.onNext("b1");
+        assertEquals(2, join.report().stateSize);
+
+        mScheduler.advanceTimeTo(20, TimeUnit.MILLISECONDS);
+        assertEquals(0, join.report().stateSize);
+        assertEquals(2, join.report().expired);
+    }
+
+    @Test
+    public void selectorErrorDisposesBothSources() {
+        TestObserver<String> observer = new WindowedJoin<String, String, Character, String>(l -> l.charAt(0),
+                r -> r.charAt(0), (l, r) -> {
+            throw new IllegalStateException("boom");
+        }, WindowedJoin.Window.SLIDING, 10, TimeUnit.MILLISECONDS, mScheduler)
+                .join(mLeft, mRight).test();
+
+        mLeft.onNext("a1");
+        mRight.onNext("a2");
+
+        observer.assertError(IllegalStateException.class);
+        assertFalse(mLeft.hasObservers());
+        assertFalse(mRight.hasObservers());
+    }
+
+    @Test
+    public void matchesStockJoinWithAKeyCheck() {
+        PublishSubject<Integer> left = PublishSubject.create();
+        PublishSubject<Integer> right = PublishSubject.create();
+        WindowedJoin<Integer, Integer, Integer, Integer> windowed = new WindowedJoin<>(l -> l, r -> r,
+                (l, r) -> l, WindowedJoin.Window.SLIDING, 20, TimeUnit.MILLISECONDS, mScheduler);
+        TestObserver<Integer> windowedMatches = windowed.join(left, right).test();
+        //The stock join pairs everything in the window, the result selector drops other keys
+        AtomicLong stockPairs = new AtomicLong();
+        Function<Integer, Observable<Long>> window = value -> Observable.timer(20, TimeUnit.MILLISECONDS, mScheduler);
+        TestObserver<Integer> stockMatches = left.join(right, window, window, (l, r) -> {
+            stockPairs.incrementAndGet();
+            return l.equals(r) ? l : -1;
+        }).filter(key -> key >= 0).test();
+
+        //an event per side every ms, keys out of 50
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            mScheduler.advanceTimeTo(i, TimeUnit.MILLISECONDS);
+            left.onNext(random.nextInt(50));
+            right.onNext(random.nextInt(50));
+        }
+        left.onComplete();
+        right.onComplete();
+
+        windowedMatches.assertComplete();
+        stockMatches.assertComplete();
+        assertEquals(stockMatches.values().size(), windowedMatches.values().size());
+        //Only the matches are looked at
+        assertEquals(windowedMatches.values().size(), windowed.report().probed);
+        assertTrue(stockPairs.get() > 10 * windowed.report().probed);
+    }
+}
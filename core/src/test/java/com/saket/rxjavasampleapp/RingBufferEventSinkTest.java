@@ -0,0 +1,27 @@
+package com.saket.rxjavasampleapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class RingBufferEventSinkTest {
+
+    @Test
+    public void capacity_isRoundedUpToPowerOfTwo() {
+        assertEquals(8, new RingBufferEventSink(5).capacity());
+        assertEquals(8, new RingBufferEventSink(8).capacity());
+    }
+
+    @Test
+    public void snapshot_keepsLatestEventsOldestFirst() {
+        RingBufferEventSink sink = new RingBufferEventSink(2);
+        sink.event("Tag", "onSubscribe: ");
+        sink.event("Tag", "onNext: ", 1);
+        sink.event("Tag", "onNext: ", "two");
+
+        assertEquals(3, sink.count());
+        assertEquals(Arrays.asList("Tag: onNext: 1", "Tag: onNext: two"), sink.snapshot());
+    }
+}
@@ -0,0 +1,97 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ForkJoinSchedulerTest {
+
+    private final ForkJoinScheduler mScheduler = new ForkJoinScheduler(4);
+
+    @After
+    public void tearDown() {
+        mScheduler.shutdown();
+    }
+
+    @Test
+    public void worker_runsTasksInOrder() throws InterruptedException {
+        Scheduler.Worker worker = mScheduler.createWorker();
+        List<Integer> order = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            worker.schedule(() -> order.add(value));
+        }
+        worker.schedule(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+        worker.dispose();
+    }
+
+    @Test
+    public void disposedDelayedTask_neverRuns() throws InterruptedException {
+        Scheduler.Worker worker = mScheduler.createWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+        worker.schedule(() -> ran.set(true), 50, TimeUnit.MILLISECONDS).dispose();
+
+        Thread.sleep(150);
+        assertFalse(ran.get());
+        worker.dispose();
+    }
+
+    @Test
+    public void observeOn_deliversEverything() {
+        Observable.range(0, 10_000)
+                .subscribeOn(mScheduler)
+                .map(value -> value * 2)
+                .observeOn(mScheduler)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValueCount(10_000)
+                .assertComplete();
+    }
+
+    @Test
+    public void scheduleAfterShutdown_reportsTheRejectionAndReturnsADisposedTask() {
+        List<Throwable> errors = new ArrayList<>();
+        RxJavaPlugins.setErrorHandler(errors::add);
+        try {
+            Scheduler.Worker worker = mScheduler.createWorker();
+            mScheduler.shutdown();
+
+            Disposable direct = mScheduler.scheduleDirect(() -> { });
+            Disposable delayed = mScheduler.scheduleDirect(() -> { }, 10, TimeUnit.MILLISECONDS);
+            Disposable queued = worker.schedule(() -> { });
+
+            assertTrue(direct.isDisposed());
+            assertTrue(delayed.isDisposed());
+            assertTrue(queued.isDisposed());
+            //the rejected worker gives up, later tasks are refused without going to the pool
+            assertTrue(worker.isDisposed());
+            assertEquals(3, errors.size());
+            for (Throwable error : errors) {
+                assertTrue(error.getCause() instanceof RejectedExecutionException);
+            }
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashedWheelSchedulerTest {
+
+    //8 buckets of 1ms, so 50ms delays need several rounds
+    private final HashedWheelScheduler mScheduler =
+            new HashedWheelScheduler(1, TimeUnit.MILLISECONDS, 8, Schedulers.computation());
+
+    @After
+    public void tearDown() {
+        mScheduler.shutdown();
+    }
+
+    @Test
+    public void delayedTask_neverRunsEarly() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] ranAfter = new long[1];
+        mScheduler.scheduleDirect(() -> {
+            ranAfter[0] = System.nanoTime() - start;
+            done.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(ranAfter[0] >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, mScheduler.pendingTimers());
+    }
+
+    @Test
+    public void disposedDelayedTask_neverRuns() throws InterruptedException {
+        Scheduler.Worker worker = mScheduler.createWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+        worker.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS).dispose();
+        assertEquals(0, mScheduler.pendingTimers());
+
+        Thread.sleep(100);
+        assertFalse(ran.get());
+        worker.dispose();
+    }
+
+    @Test
+    public void disposingWorker_cancelsItsTimers() throws InterruptedException {
+        Scheduler.Worker worker = mScheduler.createWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+        for (int i = 0; i < 100; i++) {
+            worker.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        }
+        worker.dispose();
+        assertEquals(0, mScheduler.pendingTimers());
+
+        Thread.sleep(100);
+        assertFalse(ran.get());
+    }
+
+    @Test
+    public void delaysComeOutInDueOrder() {
+        List<Integer> values = Observable.just(30, 10, 20)
+                .flatMap(delay -> Observable.just(delay).delay(delay * 3, TimeUnit.MILLISECONDS, mScheduler))
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList(10, 20, 30), values);
+    }
+
+    @Test
+    public void interval_ticksOnTheWheel() {
+        List<Long> ticks = Observable.interval(5, TimeUnit.MILLISECONDS, mScheduler)
+                .take(5)
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L), ticks);
+    }
+}
@@ -0,0 +1,107 @@
+package com.saket.rxjavasampleapp.Scheduler;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchedulerInstrumentationTest {
+
+    @After
+    public void tearDown() {
+        SchedulerInstrumentation.uninstall();
+    }
+
+    @Test
+    public void recordsTasksOfInstalledScheduler() {
+        SchedulerInstrumentation.install();
+
+        long count = Observable.range(0, 100)
+                .subscribeOn(Schedulers.computation())
+                .observeOn(Schedulers.computation())
+                .count()
+                .blockingGet();
+        assertEquals(100, count);
+
+        InstrumentedScheduler.Snapshot computation = find(SchedulerInstrumentation.snapshot(), "computation");
+        assertTrue(computation.submitted >= 2);
+        assertTrue(computation.peakActiveWorkers >= 1);
+        assertTrue(computation.executionTime.count > 0);
+    }
+
+    @Test
+    public void countsCancelledBeforeStart() {
+        InstrumentedScheduler scheduler = new InstrumentedScheduler("test", Schedulers.single());
+
+        scheduler.scheduleDirect(() -> { }, 1, TimeUnit.HOURS).dispose();
+
+        InstrumentedScheduler.Snapshot snapshot = scheduler.snapshot();
+        assertEquals(1, snapshot.submitted);
+        assertEquals(1, snapshot.cancelled);
+        assertEquals(0, snapshot.queued);
+        assertEquals(0, snapshot.completed);
+    }
+
+    @Test
+    public void disposingAWorkerCancelsItsPendingTasks() {
+        InstrumentedScheduler scheduler = new InstrumentedScheduler("test", Schedulers.single());
+        Scheduler.Worker worker = scheduler.createWorker();
+        for (int i = 0; i < 3; i++) {
+            worker.schedule(() -> { }, 1, TimeUnit.HOURS);
+        }
+        assertEquals(3, scheduler.snapshot().queued);
+
+        worker.dispose();
+
+        InstrumentedScheduler.Snapshot snapshot = scheduler.snapshot();
+        assertEquals(3, snapshot.submitted);
+        assertEquals(3, snapshot.cancelled);
+        assertEquals(0, snapshot.queued);
+        assertEquals(0, snapshot.activeWorkers);
+    }
+
+    @Test
+    public void countsEveryPeriodicRunAsSubmitted() {
+        TestScheduler clock = new TestScheduler();
+        InstrumentedScheduler scheduler = new InstrumentedScheduler("test", clock);
+
+        Disposable direct = scheduler.schedulePeriodicallyDirect(() -> { }, 10, 10, TimeUnit.MILLISECONDS);
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        direct.dispose();
+        InstrumentedScheduler.Snapshot snapshot = scheduler.snapshot();
+        assertEquals(5, snapshot.submitted);
+        assertEquals(5, snapshot.completed);
+
+        Scheduler.Worker worker = scheduler.createWorker();
+        worker.schedulePeriodically(() -> { }, 10, 10, TimeUnit.MILLISECONDS);
+        clock.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        snapshot = scheduler.snapshot();
+        //5 more runs, plus the next one waiting
+        assertEquals(11, snapshot.submitted);
+        assertEquals(10, snapshot.completed);
+        assertEquals(1, snapshot.queued);
+
+        worker.dispose();
+        assertEquals(0, scheduler.snapshot().queued);
+    }
+
+    private static InstrumentedScheduler.Snapshot find(List<InstrumentedScheduler.Snapshot> snapshots,
+                                                       String name) {
+        for (InstrumentedScheduler.Snapshot snapshot : snapshots) {
+            if (snapshot.name.equals(name)) {
+                return snapshot;
+            }
+        }
+        throw new AssertionError("no snapshot for " + name);
+    }
+}
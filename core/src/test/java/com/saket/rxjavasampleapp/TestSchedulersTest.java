@@ -0,0 +1,62 @@
+package com.saket.rxjavasampleapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestSchedulersTest {
+
+    private static final long SEED = 7;
+
+    @Test
+    public void useSchedulersio_innerSourcesCompleteInDelayOrder() {
+        RingBufferEventSink sink = new RingBufferEventSink(64);
+        try (VirtualTimeHarness harness = new VirtualTimeHarness()) {
+            new TestSchedulers(sink, new Random(SEED)).useSchedulersio();
+            harness.runUntilIdle();
+        }
+
+        Random random = new Random(SEED);
+        int[] delays = new int[11];
+        List<Integer> values = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            delays[i] = 1000 + random.nextInt(4000);
+            values.add(i);
+        }
+        values.sort(Comparator.<Integer>comparingInt(i -> delays[i]).thenComparingInt(i -> i));
+        List<String> expected = values.stream()
+                .map(i -> "Schedulers: onNext: " + i)
+                .collect(Collectors.toList());
+        List<String> actual = sink.snapshot().stream()
+                .filter(event -> event.startsWith("Schedulers: onNext: "))
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void runFlatMapWorkload_boundedModeNeverExceedsPoolSize() {
+        TestSchedulers.FlatMapReport report = new TestSchedulers(new RingBufferEventSink(8))
+                .runFlatMapWorkload(TestSchedulers.ExecutionMode.BOUNDED, 200, 1, 8, 4, 4);
+
+        assertEquals(200, report.emitted);
+        assertTrue(report.threadsCreated <= 4);
+        assertTrue(report.peakLiveThreads <= 4);
+    }
+
+    @Test
+    public void runFlatMapWorkload_virtualThreadsCompleteEveryElement() {
+        //Falls back to newThread() on runtimes without virtual threads
+        TestSchedulers.FlatMapReport report = new TestSchedulers(new RingBufferEventSink(8))
+                .runFlatMapWorkload(TestSchedulers.ExecutionMode.VIRTUAL_THREADS, 1000, 5, 0, 0, 0);
+
+        assertEquals(1000, report.emitted);
+        assertEquals(1000, report.threadsCreated);
+    }
+}
@@ -0,0 +1,72 @@
+package com.saket.rxjavasampleapp.Tracing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OperatorTracingTest {
+
+    @Before
+    public void setUp() {
+        OperatorTracing.reset();
+        OperatorTracing.install();
+    }
+
+    @After
+    public void tearDown() {
+        OperatorTracing.uninstall();
+        OperatorTracing.reset();
+    }
+
+    @Test
+    public void countsItemsPerObservableOperator() {
+        long count = Observable.range(0, 1000)
+                .map(value -> value * 2)
+                .filter(value -> value % 4 == 0)
+                .count()
+                .blockingGet();
+        assertEquals(500, count);
+
+        List<OperatorStats.Snapshot> report = OperatorTracing.report();
+        OperatorStats.Snapshot range = find(report, "ObservableRange");
+        OperatorStats.Snapshot map = find(report, "ObservableMap");
+        OperatorStats.Snapshot filter = find(report, "ObservableFilter");
+        assertEquals(1000, range.emitted);
+        assertEquals(1000, map.emitted);
+        assertEquals(500, filter.emitted);
+        //map and filter process every item range and map emit
+        assertEquals(1000, map.processing.count);
+        assertEquals(1000, filter.processing.count);
+        assertTrue(map.assemblySite, map.assemblySite.startsWith("OperatorTracingTest.countsItemsPerObservableOperator"));
+    }
+
+    @Test
+    public void countsItemsPerFlowableOperator() {
+        long count = Flowable.range(0, 1000)
+                .map(value -> value + 1)
+                .count()
+                .blockingGet();
+        assertEquals(1000, count);
+
+        OperatorStats.Snapshot map = find(OperatorTracing.report(), "FlowableMap");
+        assertEquals(1000, map.emitted);
+        assertEquals(1000, map.processing.count);
+    }
+
+    private static OperatorStats.Snapshot find(List<OperatorStats.Snapshot> report, String operator) {
+        for (OperatorStats.Snapshot snapshot : report) {
+            if (snapshot.operator.equals(operator)) {
+                return snapshot;
+            }
+        }
+        throw new AssertionError("no stats for " + operator + " in " + report);
+    }
+}